@@ -0,0 +1,56 @@
+package utils.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import utils.FieldAccessor;
+import utils.ReflectionUtils;
+import utils.data.Child;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All available threads share the same objects and hit the same cached metadata
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+
+    private Child child;
+    private FieldAccessor nameAccessor;
+
+    @Setup
+    public void setUp() {
+        child = new Child(1L, "name", new Date(), "childName", 22);
+        nameAccessor = ReflectionUtils.accessor(Child.class, "name");
+    }
+
+    @Benchmark
+    public Object directGet() {
+        return child.getName();
+    }
+
+    @Benchmark
+    public Object getFieldContent() {
+        return ReflectionUtils.getFieldContent(child, "name");
+    }
+
+    @Benchmark
+    public Object accessorGet() {
+        return nameAccessor.get(child);
+    }
+
+    @Benchmark
+    public Object callMethod() {
+        return ReflectionUtils.callMethod(child, "getName");
+    }
+
+    @Benchmark
+    public Object mapFieldNameAndValue() {
+        return ReflectionUtils.getMapFieldNameAndValue(child);
+    }
+}
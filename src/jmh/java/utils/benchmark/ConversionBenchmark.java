@@ -0,0 +1,59 @@
+package utils.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import utils.ReflectionUtils;
+import utils.data.Base;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting values: direct parsing and unboxing as baseline,
+ * {@link ReflectionUtils#castFieldValueByType(Class, Object)} and {@link ReflectionUtils#castFieldValueByClass(Class, String, Object)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+
+    private String text;
+    private Integer number;
+
+    @Setup
+    public void setUp() {
+        text = "12345";
+        number = 12345;
+    }
+
+    @Benchmark
+    public Object directParse() {
+        return Long.valueOf(text);
+    }
+
+    @Benchmark
+    public Object directWiden() {
+        return number.longValue();
+    }
+
+    @Benchmark
+    public Object castStringToLong() {
+        return ReflectionUtils.castFieldValueByType(Long.class, text);
+    }
+
+    @Benchmark
+    public Object castIntegerToLong() {
+        return ReflectionUtils.castFieldValueByType(Long.class, number);
+    }
+
+    @Benchmark
+    public Object castStringToBoolean() {
+        return ReflectionUtils.castFieldValueByType(Boolean.class, text);
+    }
+
+    @Benchmark
+    public Object castByClass() {
+        return ReflectionUtils.castFieldValueByClass(Base.class, "id", number);
+    }
+}
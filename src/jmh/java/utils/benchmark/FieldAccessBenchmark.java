@@ -0,0 +1,129 @@
+package utils.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import utils.FieldAccessor;
+import utils.ReflectionUtils;
+import utils.benchmark.data.DeepHierarchy;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.Numbers;
+
+import java.lang.reflect.Field;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing fields: direct access as baseline, plain reflection with a cached {@link Field},
+ * {@link ReflectionUtils} by name for shallow, inherited and deep fields, and {@link FieldAccessor}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessBenchmark {
+
+    private Base base;
+    private Child child;
+    private DeepHierarchy.Level7 deep;
+    private Numbers numbers;
+    private Field nameField;
+    private FieldAccessor nameAccessor;
+    private FieldAccessor amountAccessor;
+    private String value;
+
+    @Setup
+    public void setUp() throws Exception {
+        base = new Base(1L, "name", new Date());
+        child = new Child(1L, "name", new Date(), "childName", 22);
+        deep = new DeepHierarchy.Level7();
+        numbers = new Numbers();
+        numbers.setAmount(42L);
+        nameField = Base.class.getDeclaredField("name");
+        nameField.setAccessible(true);
+        nameAccessor = ReflectionUtils.accessor(Child.class, "name");
+        amountAccessor = ReflectionUtils.accessor(Numbers.class, "amount");
+        value = "value";
+    }
+
+    @Benchmark
+    public Object directGet() {
+        return child.getName();
+    }
+
+    @Benchmark
+    public Object cachedFieldGet() throws IllegalAccessException {
+        return nameField.get(child);
+    }
+
+    @Benchmark
+    public Object getFieldContentShallow() {
+        return ReflectionUtils.getFieldContent(base, "name");
+    }
+
+    @Benchmark
+    public Object getFieldContentInherited() {
+        return ReflectionUtils.getFieldContent(child, "name");
+    }
+
+    @Benchmark
+    public Object getFieldContentDeep() {
+        return ReflectionUtils.getFieldContent(deep, "rootName");
+    }
+
+    @Benchmark
+    public Object accessorGet() {
+        return nameAccessor.get(child);
+    }
+
+    @Benchmark
+    public long directGetLong() {
+        return numbers.getAmount();
+    }
+
+    @Benchmark
+    public Object getFieldContentLong() {
+        return ReflectionUtils.getFieldContent(numbers, "amount");
+    }
+
+    @Benchmark
+    public long getLong() {
+        return ReflectionUtils.getLong(numbers, "amount");
+    }
+
+    @Benchmark
+    public long accessorGetLong() {
+        return amountAccessor.getLong(numbers);
+    }
+
+    @Benchmark
+    public void directSet() {
+        child.setName(value);
+    }
+
+    @Benchmark
+    public void setFieldContent() {
+        ReflectionUtils.setFieldContent(child, "name", value);
+    }
+
+    @Benchmark
+    public void accessorSet() {
+        nameAccessor.set(child, value);
+    }
+
+    @Benchmark
+    public void directSetLong() {
+        numbers.setAmount(7L);
+    }
+
+    @Benchmark
+    public void setFieldContentLong() {
+        ReflectionUtils.setFieldContent(numbers, "amount", 7L);
+    }
+
+    @Benchmark
+    public void accessorSetLong() {
+        amountAccessor.setLong(numbers, 7L);
+    }
+}
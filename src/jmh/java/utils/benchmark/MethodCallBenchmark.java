@@ -0,0 +1,139 @@
+package utils.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import utils.MethodInvoker;
+import utils.ReflectionUtils;
+import utils.data.Child;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Calling methods: direct call as baseline, {@code callMethod} as it was before the cache of invokers,
+ * plain reflection with a cached {@link Method}, {@link ReflectionUtils#callMethod(Object, String, Object...)}
+ * and {@link MethodInvoker}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodCallBenchmark {
+
+    private Child child;
+    private Long id;
+    private Method getName;
+    private MethodInvoker getNameInvoker;
+    private MethodInvoker setIdInvoker;
+
+    @Setup
+    public void setUp() throws Exception {
+        child = new Child(1L, "name", new Date(), "childName", 22);
+        id = 1L;
+        getName = Child.class.getMethod("getName");
+        getName.setAccessible(true);
+        getNameInvoker = ReflectionUtils.invoker(Child.class, "getName");
+        setIdInvoker = ReflectionUtils.invoker(Child.class, "setId", Long.class);
+    }
+
+    @Benchmark
+    public Object directCall() {
+        return child.getName();
+    }
+
+    @Benchmark
+    public Object uncachedCallMethod() {
+        return Uncached.callMethod(child, "getName");
+    }
+
+    @Benchmark
+    public Object cachedMethodInvoke() throws Exception {
+        return getName.invoke(child);
+    }
+
+    @Benchmark
+    public Object callMethod() {
+        return ReflectionUtils.callMethod(child, "getName");
+    }
+
+    @Benchmark
+    public Object invoker0() {
+        return getNameInvoker.invoke0(child);
+    }
+
+    @Benchmark
+    public void directCallWithArg() {
+        child.setId(id);
+    }
+
+    @Benchmark
+    public Object uncachedCallMethodWithArg() {
+        return Uncached.callMethod(child, "setId", id);
+    }
+
+    @Benchmark
+    public Object callMethodWithArg() {
+        return ReflectionUtils.callMethod(child, "setId", id);
+    }
+
+    @Benchmark
+    public Object invoker1() {
+        return setIdInvoker.invoke1(child, id);
+    }
+
+    /**
+     * Lookup of {@code callMethod} before the cache of invokers, copied verbatim
+     */
+    static final class Uncached {
+
+        static Object callMethod(Object obj, String methodName, Object...params) {
+            if (!isValidParams(obj, methodName))
+                return null;
+
+            try {
+                Method method = getMethod(obj.getClass(), methodName)
+                        .orElseThrow(() -> new IllegalArgumentException(String.format("Cannot find method name: '%s'", methodName)));
+                method.setAccessible(true);
+                return method.invoke(obj, params);
+            } catch (Exception e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        static Method[] getAllMethodsInHierarchy(Class<?> objectClass) {
+            Set<Method> allMethods = new HashSet<>();
+            Method[] declaredMethods = objectClass.getDeclaredMethods();
+            Method[] methods = objectClass.getMethods();
+            if (objectClass.getSuperclass() != null) {
+                Class<?> superClass = objectClass.getSuperclass();
+                Method[] superClassMethods = getAllMethodsInHierarchy(superClass);
+                allMethods.addAll(asList(superClassMethods));
+            }
+            allMethods.addAll(asList(declaredMethods));
+            allMethods.addAll(asList(methods));
+            return allMethods.toArray(new Method[0]);
+        }
+
+        static Optional<Method> getMethod(Class<?> clazz, String name) {
+            return Arrays.stream(getAllMethodsInHierarchy(clazz))
+                    .filter(m -> m.getName().equals(name))
+                    .findFirst();
+        }
+
+        private static boolean isValidParams(Object obj, String param) {
+            return (obj != null && !isStringNullOrEmpty(param));
+        }
+
+        private static boolean isStringNullOrEmpty(String fieldName) {
+            return fieldName == null || fieldName.trim().length() == 0;
+        }
+    }
+}
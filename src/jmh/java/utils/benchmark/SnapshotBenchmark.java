@@ -0,0 +1,71 @@
+package utils.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import utils.ReflectionUtils;
+import utils.benchmark.data.WideEntity;
+import utils.data.Child;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dumping objects to maps: hand written map as baseline, {@link ReflectionUtils#getMapFieldNameAndValue(Object)},
+ * reusable target map and {@link ReflectionUtils#snapshot(Object)} for a small and a wide class
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    private Child child;
+    private WideEntity wide;
+    private Map<String, Object> target;
+
+    @Setup
+    public void setUp() {
+        child = new Child(1L, "name", new Date(), "childName", 22);
+        wide = new WideEntity();
+        target = new HashMap<>(512);
+    }
+
+    @Benchmark
+    public Map<String, Object> directMap() {
+        Map<String, Object> map = new HashMap<>(8);
+        map.put("chileName", child.getChileName());
+        map.put("age", child.getAge());
+        map.put("id", child.getId());
+        map.put("name", child.getName());
+        map.put("date", child.getDate());
+        return map;
+    }
+
+    @Benchmark
+    public Map<String, Object> mapFieldNameAndValue() {
+        return ReflectionUtils.getMapFieldNameAndValue(child);
+    }
+
+    @Benchmark
+    public Map<String, Object> snapshot() {
+        return ReflectionUtils.snapshot(child);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapFieldNameAndValueWide() {
+        return ReflectionUtils.getMapFieldNameAndValue(wide);
+    }
+
+    @Benchmark
+    public Map<String, Object> reusableMapWide() {
+        return ReflectionUtils.getMapFieldNameAndValue(wide, target);
+    }
+
+    @Benchmark
+    public Map<String, Object> snapshotWide() {
+        return ReflectionUtils.snapshot(wide);
+    }
+}
@@ -0,0 +1,46 @@
+package utils.benchmark.data;
+
+/**
+ * Hierarchy of 8 levels, the field of the root is found after scanning all levels
+ */
+public final class DeepHierarchy {
+
+    private DeepHierarchy() { }
+
+    public static class Level0 {
+        protected String rootName = "root";
+        protected long rootValue = 42L;
+
+        public String getRootName() {
+            return rootName;
+        }
+    }
+
+    public static class Level1 extends Level0 {
+        protected int value1 = 1;
+    }
+
+    public static class Level2 extends Level1 {
+        protected int value2 = 2;
+    }
+
+    public static class Level3 extends Level2 {
+        protected int value3 = 3;
+    }
+
+    public static class Level4 extends Level3 {
+        protected int value4 = 4;
+    }
+
+    public static class Level5 extends Level4 {
+        protected int value5 = 5;
+    }
+
+    public static class Level6 extends Level5 {
+        protected int value6 = 6;
+    }
+
+    public static class Level7 extends Level6 {
+        protected int value7 = 7;
+    }
+}
@@ -0,0 +1,207 @@
+package utils.benchmark.data;
+
+/**
+ * Entity with 200 fields of mixed types
+ */
+public class WideEntity {
+    private int field0 = 0;
+    private long field1 = 1L;
+    private double field2 = 2.5;
+    private String field3 = "value3";
+    private int field4 = 4;
+    private long field5 = 5L;
+    private double field6 = 6.5;
+    private String field7 = "value7";
+    private int field8 = 8;
+    private long field9 = 9L;
+    private double field10 = 10.5;
+    private String field11 = "value11";
+    private int field12 = 12;
+    private long field13 = 13L;
+    private double field14 = 14.5;
+    private String field15 = "value15";
+    private int field16 = 16;
+    private long field17 = 17L;
+    private double field18 = 18.5;
+    private String field19 = "value19";
+    private int field20 = 20;
+    private long field21 = 21L;
+    private double field22 = 22.5;
+    private String field23 = "value23";
+    private int field24 = 24;
+    private long field25 = 25L;
+    private double field26 = 26.5;
+    private String field27 = "value27";
+    private int field28 = 28;
+    private long field29 = 29L;
+    private double field30 = 30.5;
+    private String field31 = "value31";
+    private int field32 = 32;
+    private long field33 = 33L;
+    private double field34 = 34.5;
+    private String field35 = "value35";
+    private int field36 = 36;
+    private long field37 = 37L;
+    private double field38 = 38.5;
+    private String field39 = "value39";
+    private int field40 = 40;
+    private long field41 = 41L;
+    private double field42 = 42.5;
+    private String field43 = "value43";
+    private int field44 = 44;
+    private long field45 = 45L;
+    private double field46 = 46.5;
+    private String field47 = "value47";
+    private int field48 = 48;
+    private long field49 = 49L;
+    private double field50 = 50.5;
+    private String field51 = "value51";
+    private int field52 = 52;
+    private long field53 = 53L;
+    private double field54 = 54.5;
+    private String field55 = "value55";
+    private int field56 = 56;
+    private long field57 = 57L;
+    private double field58 = 58.5;
+    private String field59 = "value59";
+    private int field60 = 60;
+    private long field61 = 61L;
+    private double field62 = 62.5;
+    private String field63 = "value63";
+    private int field64 = 64;
+    private long field65 = 65L;
+    private double field66 = 66.5;
+    private String field67 = "value67";
+    private int field68 = 68;
+    private long field69 = 69L;
+    private double field70 = 70.5;
+    private String field71 = "value71";
+    private int field72 = 72;
+    private long field73 = 73L;
+    private double field74 = 74.5;
+    private String field75 = "value75";
+    private int field76 = 76;
+    private long field77 = 77L;
+    private double field78 = 78.5;
+    private String field79 = "value79";
+    private int field80 = 80;
+    private long field81 = 81L;
+    private double field82 = 82.5;
+    private String field83 = "value83";
+    private int field84 = 84;
+    private long field85 = 85L;
+    private double field86 = 86.5;
+    private String field87 = "value87";
+    private int field88 = 88;
+    private long field89 = 89L;
+    private double field90 = 90.5;
+    private String field91 = "value91";
+    private int field92 = 92;
+    private long field93 = 93L;
+    private double field94 = 94.5;
+    private String field95 = "value95";
+    private int field96 = 96;
+    private long field97 = 97L;
+    private double field98 = 98.5;
+    private String field99 = "value99";
+    private int field100 = 100;
+    private long field101 = 101L;
+    private double field102 = 102.5;
+    private String field103 = "value103";
+    private int field104 = 104;
+    private long field105 = 105L;
+    private double field106 = 106.5;
+    private String field107 = "value107";
+    private int field108 = 108;
+    private long field109 = 109L;
+    private double field110 = 110.5;
+    private String field111 = "value111";
+    private int field112 = 112;
+    private long field113 = 113L;
+    private double field114 = 114.5;
+    private String field115 = "value115";
+    private int field116 = 116;
+    private long field117 = 117L;
+    private double field118 = 118.5;
+    private String field119 = "value119";
+    private int field120 = 120;
+    private long field121 = 121L;
+    private double field122 = 122.5;
+    private String field123 = "value123";
+    private int field124 = 124;
+    private long field125 = 125L;
+    private double field126 = 126.5;
+    private String field127 = "value127";
+    private int field128 = 128;
+    private long field129 = 129L;
+    private double field130 = 130.5;
+    private String field131 = "value131";
+    private int field132 = 132;
+    private long field133 = 133L;
+    private double field134 = 134.5;
+    private String field135 = "value135";
+    private int field136 = 136;
+    private long field137 = 137L;
+    private double field138 = 138.5;
+    private String field139 = "value139";
+    private int field140 = 140;
+    private long field141 = 141L;
+    private double field142 = 142.5;
+    private String field143 = "value143";
+    private int field144 = 144;
+    private long field145 = 145L;
+    private double field146 = 146.5;
+    private String field147 = "value147";
+    private int field148 = 148;
+    private long field149 = 149L;
+    private double field150 = 150.5;
+    private String field151 = "value151";
+    private int field152 = 152;
+    private long field153 = 153L;
+    private double field154 = 154.5;
+    private String field155 = "value155";
+    private int field156 = 156;
+    private long field157 = 157L;
+    private double field158 = 158.5;
+    private String field159 = "value159";
+    private int field160 = 160;
+    private long field161 = 161L;
+    private double field162 = 162.5;
+    private String field163 = "value163";
+    private int field164 = 164;
+    private long field165 = 165L;
+    private double field166 = 166.5;
+    private String field167 = "value167";
+    private int field168 = 168;
+    private long field169 = 169L;
+    private double field170 = 170.5;
+    private String field171 = "value171";
+    private int field172 = 172;
+    private long field173 = 173L;
+    private double field174 = 174.5;
+    private String field175 = "value175";
+    private int field176 = 176;
+    private long field177 = 177L;
+    private double field178 = 178.5;
+    private String field179 = "value179";
+    private int field180 = 180;
+    private long field181 = 181L;
+    private double field182 = 182.5;
+    private String field183 = "value183";
+    private int field184 = 184;
+    private long field185 = 185L;
+    private double field186 = 186.5;
+    private String field187 = "value187";
+    private int field188 = 188;
+    private long field189 = 189L;
+    private double field190 = 190.5;
+    private String field191 = "value191";
+    private int field192 = 192;
+    private long field193 = 193L;
+    private double field194 = 194.5;
+    private String field195 = "value195";
+    private int field196 = 196;
+    private long field197 = 197L;
+    private double field198 = 198.5;
+    private String field199 = "value199";
+}
@@ -0,0 +1,382 @@
+package utils;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+
+/**
+ * Generates a {@link ClassAccessor} subclass per target class with ASM.
+ * Must not be loaded if ASM is not on the classpath.
+ *
+ * The class is defined in the loader and package of the target when possible, so it can link against
+ * package-private and protected members: with {@code MethodHandles.Lookup.defineClass} on JDK 9+,
+ * with {@link ClassLoader} {@code defineClass} on JDK 8. Otherwise it is defined in its own child loader
+ * and links only against public members of public classes. Members it cannot link against go to the reflective fallback.
+ */
+final class AccessorGenerator implements Opcodes {
+
+    private static final String SUFFIX = "$$ClassAccessor";
+    private static final String SUPER_NAME = Type.getInternalName(ClassAccessor.class);
+    private static final String OBJECT = "java/lang/Object";
+
+    private static final String GET_DESC = "(Ljava/lang/Object;I)Ljava/lang/Object;";
+    private static final String SET_DESC = "(Ljava/lang/Object;ILjava/lang/Object;)V";
+    private static final String INVOKE_DESC = "(Ljava/lang/Object;I[Ljava/lang/Object;)Ljava/lang/Object;";
+
+    // JDK 9+, called reflectively for the 1.8 target: null on JDK 8
+    private static final Method PRIVATE_LOOKUP_IN = publicMethod(MethodHandles.class, "privateLookupIn", Class.class, MethodHandles.Lookup.class);
+    private static final Method LOOKUP_DEFINE_CLASS = publicMethod(MethodHandles.Lookup.class, "defineClass", byte[].class);
+
+    private AccessorGenerator() { }
+
+    /**
+     * @param type type
+     * @return generated accessor or null if generation is not permitted
+     */
+    static ClassAccessor generate(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface())
+            return null;
+
+        Class<?> generated = defineInTargetPackage(type);
+        if (generated == null)
+            generated = defineInChildLoader(type);
+        if (generated == null)
+            return null;
+
+        try {
+            return (ClassAccessor) generated.getConstructor(Class.class).newInstance(type);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Class<?> defineInTargetPackage(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null || type.getName().startsWith("java.") || !sees(loader, ClassAccessor.class))
+            return null;
+
+        String name = type.getName() + SUFFIX;
+        try {
+            byte[] bytes = new Builder(type, name, true).build();
+            if (PRIVATE_LOOKUP_IN != null && LOOKUP_DEFINE_CLASS != null) {
+                Object lookup = PRIVATE_LOOKUP_IN.invoke(null, type, MethodHandles.lookup());
+                return (Class<?>) LOOKUP_DEFINE_CLASS.invoke(lookup, (Object) bytes);
+            }
+            Method defineClass = ClassLoader.class.getDeclaredMethod("defineClass",
+                    String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+            defineClass.setAccessible(true);
+            return (Class<?>) defineClass.invoke(loader, name, bytes, 0, bytes.length, type.getProtectionDomain());
+        } catch (Exception | LinkageError e) {
+            // not permitted: module system, security manager or the class is already defined
+            return loadExisting(name, loader);
+        }
+    }
+
+    private static Class<?> defineInChildLoader(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()))
+            return null;
+
+        String name = (type.getName().startsWith("java.") ? "utils.generated." : "") + type.getName() + SUFFIX;
+        try {
+            byte[] bytes = new Builder(type, name, false).build();
+            return new AccessorClassLoader(type.getClassLoader()).define(name, bytes);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Class<?> loadExisting(String name, ClassLoader loader) {
+        try {
+            Class<?> existing = Class.forName(name, false, loader);
+            return ClassAccessor.class.isAssignableFrom(existing) ? existing : null;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Method publicMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean sees(ClassLoader loader, Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, loader) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Bytecode of one accessor class
+     */
+    private static final class Builder {
+        private final Class<?> type;
+        private final String internalName;
+        private final boolean samePackage;
+        private final ClassMetadata metadata;
+
+        Builder(Class<?> type, String name, boolean samePackage) {
+            this.type = type;
+            this.internalName = name.replace('.', '/');
+            this.samePackage = samePackage;
+            this.metadata = ClassMetadata.of(type);
+        }
+
+        byte[] build() {
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+                @Override
+                protected String getCommonSuperClass(String type1, String type2) {
+                    return OBJECT;
+                }
+            };
+            cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, SUPER_NAME, null);
+
+            MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "(Ljava/lang/Class;)V", null, null);
+            init.visitCode();
+            init.visitVarInsn(ALOAD, 0);
+            init.visitVarInsn(ALOAD, 1);
+            init.visitMethodInsn(INVOKESPECIAL, SUPER_NAME, "<init>", "(Ljava/lang/Class;)V", false);
+            init.visitInsn(RETURN);
+            init.visitMaxs(0, 0);
+            init.visitEnd();
+
+            buildGet(cw);
+            buildSet(cw);
+            buildInvoke(cw);
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        private void buildGet(ClassWriter cw) {
+            MethodVisitor mv = cw.visitMethod(ACC_PROTECTED, "fastGet", GET_DESC, null, null);
+            mv.visitCode();
+            Field[] fields = metadata.visibleFields();
+            Label fallback = new Label();
+            Label[] labels = switchOver(mv, 2, fields.length, fallback);
+            for (int i = 0; i < fields.length; i++) {
+                mv.visitLabel(labels[i]);
+                Field field = fields[i];
+                if (!canLink(field)) {
+                    mv.visitJumpInsn(GOTO, fallback);
+                    continue;
+                }
+                String owner = Type.getInternalName(field.getDeclaringClass());
+                if (Modifier.isStatic(field.getModifiers())) {
+                    mv.visitFieldInsn(GETSTATIC, owner, field.getName(), Type.getDescriptor(field.getType()));
+                } else {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitTypeInsn(CHECKCAST, owner);
+                    mv.visitFieldInsn(GETFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+                }
+                box(mv, field.getType());
+                mv.visitInsn(ARETURN);
+            }
+            mv.visitLabel(fallback);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitMethodInsn(INVOKESPECIAL, SUPER_NAME, "fastGet", GET_DESC, false);
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private void buildSet(ClassWriter cw) {
+            MethodVisitor mv = cw.visitMethod(ACC_PROTECTED, "fastSet", SET_DESC, null, null);
+            mv.visitCode();
+            Field[] fields = metadata.visibleFields();
+            Label fallback = new Label();
+            Label[] labels = switchOver(mv, 2, fields.length, fallback);
+            for (int i = 0; i < fields.length; i++) {
+                mv.visitLabel(labels[i]);
+                Field field = fields[i];
+                if (!canLink(field) || Modifier.isFinal(field.getModifiers())) {
+                    mv.visitJumpInsn(GOTO, fallback);
+                    continue;
+                }
+                String owner = Type.getInternalName(field.getDeclaringClass());
+                boolean isStatic = Modifier.isStatic(field.getModifiers());
+                if (!isStatic) {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitTypeInsn(CHECKCAST, owner);
+                }
+                mv.visitVarInsn(ALOAD, 3);
+                unbox(mv, field.getType());
+                mv.visitFieldInsn(isStatic ? PUTSTATIC : PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+                mv.visitInsn(RETURN);
+            }
+            mv.visitLabel(fallback);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKESPECIAL, SUPER_NAME, "fastSet", SET_DESC, false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private void buildInvoke(ClassWriter cw) {
+            MethodVisitor mv = cw.visitMethod(ACC_PROTECTED, "fastInvoke", INVOKE_DESC, null, new String[] {"java/lang/Exception"});
+            mv.visitCode();
+            Method[] methods = metadata.distinctMethods();
+            Label fallback = new Label();
+            Label[] labels = switchOver(mv, 2, methods.length, fallback);
+            for (int i = 0; i < methods.length; i++) {
+                mv.visitLabel(labels[i]);
+                Method method = methods[i];
+                if (!canLink(method)) {
+                    mv.visitJumpInsn(GOTO, fallback);
+                    continue;
+                }
+                Class<?> declaringClass = method.getDeclaringClass();
+                String owner = Type.getInternalName(declaringClass);
+                boolean isStatic = Modifier.isStatic(method.getModifiers());
+                if (!isStatic) {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitTypeInsn(CHECKCAST, owner);
+                }
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int p = 0; p < parameterTypes.length; p++) {
+                    mv.visitVarInsn(ALOAD, 3);
+                    mv.visitLdcInsn(p);
+                    mv.visitInsn(AALOAD);
+                    unbox(mv, parameterTypes[p]);
+                }
+                int opcode = isStatic ? INVOKESTATIC : declaringClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL;
+                mv.visitMethodInsn(opcode, owner, method.getName(), Type.getMethodDescriptor(method), declaringClass.isInterface());
+                if (method.getReturnType() == void.class)
+                    mv.visitInsn(ACONST_NULL);
+                else
+                    box(mv, method.getReturnType());
+                mv.visitInsn(ARETURN);
+            }
+            mv.visitLabel(fallback);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKESPECIAL, SUPER_NAME, "fastInvoke", INVOKE_DESC, false);
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private static Label[] switchOver(MethodVisitor mv, int indexVar, int size, Label fallback) {
+            Label[] labels = new Label[size];
+            for (int i = 0; i < size; i++) {
+                labels[i] = new Label();
+            }
+            if (size > 0) {
+                mv.visitVarInsn(ILOAD, indexVar);
+                mv.visitTableSwitchInsn(0, size - 1, fallback, labels);
+            }
+            return labels;
+        }
+
+        private boolean canLink(Field field) {
+            return canLink((Member) field) && canLink(field.getType());
+        }
+
+        private boolean canLink(Method method) {
+            if (!canLink((Member) method) || !canLink(method.getReturnType()))
+                return false;
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                if (!canLink(parameterType))
+                    return false;
+            }
+            return true;
+        }
+
+        private boolean canLink(Member member) {
+            int modifiers = member.getModifiers();
+            if (Modifier.isPrivate(modifiers) || member.isSynthetic() || !canLink(member.getDeclaringClass()))
+                return false;
+            if (Modifier.isPublic(modifiers))
+                return true;
+            // package-private or protected: only from the same runtime package
+            return samePackage && isSamePackage(member.getDeclaringClass());
+        }
+
+        private boolean canLink(Class<?> clazz) {
+            while (clazz.isArray()) {
+                clazz = clazz.getComponentType();
+            }
+            if (clazz.isPrimitive())
+                return true;
+            for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+                boolean accessible = Modifier.isPublic(c.getModifiers()) || samePackage && isSamePackage(c);
+                if (!accessible || Modifier.isPrivate(c.getModifiers()))
+                    return false;
+            }
+            return true;
+        }
+
+        private boolean isSamePackage(Class<?> clazz) {
+            return clazz.getClassLoader() == type.getClassLoader()
+                    && packageName(clazz).equals(packageName(type));
+        }
+
+        private static String packageName(Class<?> clazz) {
+            String name = clazz.getName();
+            int dot = name.lastIndexOf('.');
+            return dot < 0 ? "" : name.substring(0, dot);
+        }
+
+        private static void box(MethodVisitor mv, Class<?> type) {
+            if (!type.isPrimitive())
+                return;
+
+            Type wrapper = Type.getType(Primitives.wrap(type));
+            mv.visitMethodInsn(INVOKESTATIC, wrapper.getInternalName(), "valueOf",
+                    Type.getMethodDescriptor(wrapper, Type.getType(type)), false);
+        }
+
+        private static void unbox(MethodVisitor mv, Class<?> type) {
+            if (!type.isPrimitive()) {
+                if (type != Object.class)
+                    mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+                return;
+            }
+
+            String wrapper = Type.getInternalName(Primitives.wrap(type));
+            mv.visitTypeInsn(CHECKCAST, wrapper);
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+                    Type.getMethodDescriptor(Type.getType(type)), false);
+        }
+    }
+
+    /**
+     * Loader of one accessor class: sees the target classes and {@link ClassAccessor}
+     */
+    private static final class AccessorClassLoader extends ClassLoader {
+
+        AccessorClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length, ClassAccessor.class.getProtectionDomain());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(ClassAccessor.class.getName()))
+                return ClassAccessor.class;
+            return super.loadClass(name, resolve);
+        }
+    }
+}
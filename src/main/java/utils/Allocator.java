@@ -0,0 +1,85 @@
+package utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creation of instances without running constructors of the class, as deserialization does.
+ *
+ * Uses {@code sun.reflect.ReflectionFactory}, looked up reflectively, to get a constructor that
+ * allocates the class but runs only the constructor of {@link Object}. When it is not available,
+ * falls back to the no-arg constructor of the class with any access modifier.
+ */
+final class Allocator {
+
+    private static final Object REFLECTION_FACTORY;
+    private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+    private static final Constructor<Object> OBJECT_CONSTRUCTOR;
+    static {
+        Object factory = null;
+        Method method = null;
+        Constructor<Object> objectConstructor = null;
+        try {
+            Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            objectConstructor = Object.class.getDeclaredConstructor();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            factory = null;
+            method = null;
+        }
+        REFLECTION_FACTORY = factory;
+        NEW_CONSTRUCTOR_FOR_SERIALIZATION = method;
+        OBJECT_CONSTRUCTOR = objectConstructor;
+    }
+
+    private Allocator() { }
+
+    /**
+     * @param type concrete class
+     * @return constructor to pass to {@link #allocate(Class, Constructor)}
+     * @throws IllegalArgumentException if class is abstract or cannot be instantiated without arguments
+     */
+    static Constructor<?> constructorFor(Class<?> type) {
+        if (type.isInterface() || type.isArray() || type.isPrimitive() || Modifier.isAbstract(type.getModifiers()))
+            throw new IllegalArgumentException("Cannot instantiate class: " + type);
+
+        if (NEW_CONSTRUCTOR_FOR_SERIALIZATION != null) {
+            try {
+                Constructor<?> constructor = (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION.invoke(REFLECTION_FACTORY, type, OBJECT_CONSTRUCTOR);
+                if (constructor != null) {
+                    constructor.setAccessible(true);
+                    return constructor;
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // fall back to the no-arg constructor
+            }
+        }
+
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot instantiate class without no-arg constructor: " + type, e);
+        }
+    }
+
+    /**
+     * @param type class, the serialization constructor is declared by {@link Object}
+     * @param constructor constructor from {@link #constructorFor(Class)}
+     * @return new instance
+     * @throws IllegalArgumentException if the no-arg constructor throws an exception
+     */
+    static Object allocate(Class<?> type, Constructor<?> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Cannot instantiate class: " + type, e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot instantiate class: " + type, e);
+        }
+    }
+}
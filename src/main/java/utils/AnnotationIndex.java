@@ -0,0 +1,88 @@
+package utils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fields and methods of a class hierarchy grouped by types of their annotations, computed once per class.
+ *
+ * Fields are those of {@link ClassMetadata#fields()}, methods those of {@link ClassMetadata#methods()} without
+ * bridge methods, so the index agrees with {@link ReflectionUtils#getAllFields(Class)} and
+ * {@link ReflectionUtils#getAllMethodsInHierarchy(Class)}. Only annotations declared directly on a member are indexed.
+ */
+final class AnnotationIndex {
+
+    private static final Comparator<Method> METHOD_ORDER = Comparator.comparing(Method::getName)
+            .thenComparing(method -> Arrays.toString(method.getParameterTypes()))
+            .thenComparing(method -> method.getDeclaringClass().getName());
+
+    private final Map<Class<? extends Annotation>, List<Field>> fields;
+    private final Map<Class<? extends Annotation>, List<Method>> methods;
+    private final List<Field> allFields;
+    private final List<Method> allMethods;
+
+    AnnotationIndex(ClassMetadata metadata) {
+        this.allFields = Collections.unmodifiableList(Arrays.asList(metadata.fields()));
+
+        List<Method> methods = new ArrayList<>();
+        for (Method method : metadata.methods()) {
+            if (!method.isBridge())
+                methods.add(method);
+        }
+        methods.sort(METHOD_ORDER);
+        this.allMethods = Collections.unmodifiableList(methods);
+
+        this.fields = index(allFields);
+        this.methods = index(allMethods);
+    }
+
+    /**
+     * @param annotationType annotationType
+     * @return fields with annotation, own fields first
+     */
+    List<Field> fields(Class<? extends Annotation> annotationType) {
+        return fields.getOrDefault(annotationType, Collections.emptyList());
+    }
+
+    /**
+     * @param annotationType annotationType
+     * @return methods with annotation, by name and parameter types
+     */
+    List<Method> methods(Class<? extends Annotation> annotationType) {
+        return methods.getOrDefault(annotationType, Collections.emptyList());
+    }
+
+    /**
+     * @return all indexed fields
+     */
+    List<Field> fields() {
+        return allFields;
+    }
+
+    /**
+     * @return all indexed methods
+     */
+    List<Method> methods() {
+        return allMethods;
+    }
+
+    private static <E extends AnnotatedElement> Map<Class<? extends Annotation>, List<E>> index(List<E> elements) {
+        Map<Class<? extends Annotation>, List<E>> index = new HashMap<>();
+        for (E element : elements) {
+            for (Annotation annotation : element.getDeclaredAnnotations()) {
+                index.computeIfAbsent(annotation.annotationType(), type -> new ArrayList<>(1)).add(element);
+            }
+        }
+        index.replaceAll((type, list) -> Collections.unmodifiableList(list));
+        return index;
+    }
+}
@@ -0,0 +1,121 @@
+package utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Property model of a class in the manner of {@link java.beans.BeanInfo}: every non-static field,
+ * including fields of parents, paired with its getter and setter. Fields declared by JDK classes
+ * are internals and are not properties.
+ *
+ * The getter of field {@code name} is {@code getName()}, or {@code isName()} for a primitive boolean field,
+ * returning the type of the field. The setter is {@code setName(value)} accepting the type of the field.
+ * Methods are looked up once in the cached methods of the class and compiled once.
+ *
+ * Obtain an instance with {@link ReflectionUtils#beanProperties(Class)}, it is cached per class.
+ */
+public final class BeanProperties {
+
+    private final Class<?> type;
+    private final List<BeanProperty> properties;
+    private final Map<String, BeanProperty> byName;
+
+    BeanProperties(ClassMetadata metadata) {
+        this.type = metadata.getType();
+        Field[] fields = metadata.visibleFields();
+        List<BeanProperty> list = new ArrayList<>(fields.length);
+        Map<String, BeanProperty> index = new HashMap<>(ClassMetadata.mapCapacity(fields.length));
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            if (Modifier.isStatic(field.getModifiers()) || JdkTypes.isJdkClass(field.getDeclaringClass()))
+                continue;
+
+            BeanProperty property = new BeanProperty(metadata.accessor(i), getter(metadata, field), setter(metadata, field));
+            list.add(property);
+            index.put(property.getName(), property);
+        }
+        this.properties = Collections.unmodifiableList(list);
+        this.byName = index;
+    }
+
+    /**
+     * @return class
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return properties in the order of {@link ReflectionUtils#getAllFields(Class)}, own fields first
+     */
+    public List<BeanProperty> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @param name name of field
+     * @return property
+     */
+    public Optional<BeanProperty> getProperty(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    /**
+     * @param name name of field
+     * @return property
+     * @throws IllegalArgumentException if property not exist
+     */
+    public BeanProperty getPropertyWithCheck(String name) {
+        BeanProperty property = byName.get(name);
+        if (property == null)
+            throw new IllegalArgumentException("Cannot find property name: " + name);
+        return property;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanProperties{" + type.getName() + ", " + properties + '}';
+    }
+
+    private static MethodInvoker getter(ClassMetadata metadata, Field field) {
+        Method getter = null;
+        if (field.getType() == boolean.class)
+            getter = findGetter(metadata, ReflectionUtils.booleanGetterByFieldName(field.getName()), field.getType());
+        if (getter == null)
+            getter = findGetter(metadata, ReflectionUtils.getterByFieldName(field.getName()), field.getType());
+        return getter == null ? null : ClassMetadata.of(getter.getDeclaringClass()).invoker(getter);
+    }
+
+    private static MethodInvoker setter(ClassMetadata metadata, Field field) {
+        Method setter = null;
+        for (Method method : metadata.overloads(ReflectionUtils.setterByFieldName(field.getName()))) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1)
+                continue;
+
+            Class<?> parameterType = method.getParameterTypes()[0];
+            if (parameterType == field.getType()) {
+                setter = method;
+                break;
+            }
+            if (setter == null && parameterType.isAssignableFrom(field.getType()))
+                setter = method;
+        }
+        return setter == null ? null : ClassMetadata.of(setter.getDeclaringClass()).invoker(setter);
+    }
+
+    private static Method findGetter(ClassMetadata metadata, String name, Class<?> fieldType) {
+        return Arrays.stream(metadata.overloads(name))
+                .filter(method -> !Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0)
+                .filter(method -> fieldType.isAssignableFrom(method.getReturnType()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,109 @@
+package utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static java.lang.String.format;
+
+/**
+ * A field paired with its getter and setter, both compiled once.
+ *
+ * {@link #get(Object)} and {@link #set(Object, Object)} go through the getter and the setter
+ * and fall back to the field when the method does not exist. Use {@link #getFieldAccessor()}
+ * for field based access that bypasses the methods.
+ *
+ * Obtain an instance with {@link ReflectionUtils#beanProperties(Class)}.
+ */
+public final class BeanProperty {
+
+    private final FieldAccessor field;
+    private final MethodInvoker getter;
+    private final MethodInvoker setter;
+
+    BeanProperty(FieldAccessor field, MethodInvoker getter, MethodInvoker setter) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * @return name of field
+     */
+    public String getName() {
+        return field.getName();
+    }
+
+    /**
+     * @return type of field
+     */
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * @return field
+     */
+    public Field getField() {
+        return field.getField();
+    }
+
+    /**
+     * @return compiled accessor of field
+     */
+    public FieldAccessor getFieldAccessor() {
+        return field;
+    }
+
+    /**
+     * @return getter or null
+     */
+    public Method getReadMethod() {
+        return getter == null ? null : getter.getMethod();
+    }
+
+    /**
+     * @return setter or null
+     */
+    public Method getWriteMethod() {
+        return setter == null ? null : setter.getMethod();
+    }
+
+    /**
+     * @return true if getter exists
+     */
+    public boolean hasGetter() {
+        return getter != null;
+    }
+
+    /**
+     * @return true if setter exists
+     */
+    public boolean hasSetter() {
+        return setter != null;
+    }
+
+    /**
+     * @param obj obj
+     * @return result of getter or content of field if getter not exist
+     */
+    public Object get(Object obj) {
+        return getter != null ? getter.invoke0(obj) : field.get(obj);
+    }
+
+    /**
+     * @param obj obj
+     * @param value value
+     */
+    public void set(Object obj, Object value) {
+        if (setter != null)
+            setter.invoke1(obj, value);
+        else
+            field.set(obj, value);
+    }
+
+    @Override
+    public String toString() {
+        return format("BeanProperty{%s, getter=%s, setter=%s}", getName(),
+                getter == null ? null : getter.getMethod().getName(), setter == null ? null : setter.getMethod().getName());
+    }
+}
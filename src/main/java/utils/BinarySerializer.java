@@ -0,0 +1,717 @@
+package utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * Compact binary format of object graphs, written to and read from a {@link ByteBuffer}
+ * of any kind: heap, direct or memory-mapped.
+ *
+ * The schema of a class is derived once from its non-transient, non-static fields, see {@link FieldPlan}.
+ * Primitive fields are written directly in the byte order of the buffer without boxing and read back
+ * through the compiled setters of {@link FieldAccessor}. Instances are created without running constructors.
+ *
+ * The first occurrence of a class in a stream carries its name and the fingerprint of its schema:
+ * a hash of the class name and names and types of fields. Reading fails fast if the fingerprint
+ * of the local class differs. Repeated objects are written once and then referenced by index,
+ * so shared references and cycles are preserved.
+ *
+ * Strings, boxed primitives, enums, {@link Date}, {@link BigDecimal}, {@link BigInteger}, arrays,
+ * collections and maps have dedicated encodings. {@link UUID}, {@link URI}, {@link Locale}, {@link Currency}
+ * and java.time value types are written as text. Collections and maps are recreated with the no-arg constructor
+ * of their class, or as {@link ArrayList}, {@link LinkedHashSet} or {@link LinkedHashMap} if it does not exist.
+ * Other JDK classes are rejected: their fields are internals that differ between JDK versions
+ * and cannot be accessed on JDK 9+. For the same reason only classes outside the JDK carry a schema fingerprint,
+ * and classes that inherit non-transient fields from a JDK class, such as exceptions, are rejected too.
+ *
+ * Read only trusted input: classes named in the stream are loaded and instantiated.
+ */
+final class BinarySerializer {
+
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte REFERENCE = 1;
+    private static final byte OBJECT = 2;
+    private static final byte STRING = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte BYTE = 5;
+    private static final byte CHAR = 6;
+    private static final byte SHORT = 7;
+    private static final byte INT = 8;
+    private static final byte LONG = 9;
+    private static final byte FLOAT = 10;
+    private static final byte DOUBLE = 11;
+    private static final byte ENUM = 12;
+    private static final byte DATE = 13;
+    private static final byte BIG_DECIMAL = 14;
+    private static final byte BIG_INTEGER = 15;
+    private static final byte COLLECTION = 16;
+    private static final byte MAP = 17;
+    private static final byte OBJECT_ARRAY = 18;
+    private static final byte BOOLEAN_ARRAY = 19;
+    private static final byte BYTE_ARRAY = 20;
+    private static final byte CHAR_ARRAY = 21;
+    private static final byte SHORT_ARRAY = 22;
+    private static final byte INT_ARRAY = 23;
+    private static final byte LONG_ARRAY = 24;
+    private static final byte FLOAT_ARRAY = 25;
+    private static final byte DOUBLE_ARRAY = 26;
+    private static final byte TEXT = 27;
+
+    /**
+     * Parsers of JDK value types written as text, by exact class
+     */
+    private static final Map<Class<?>, Function<String, Object>> TEXT_PARSERS = new HashMap<>();
+    static {
+        TEXT_PARSERS.put(UUID.class, UUID::fromString);
+        TEXT_PARSERS.put(URI.class, URI::create);
+        TEXT_PARSERS.put(Locale.class, Locale::forLanguageTag);
+        TEXT_PARSERS.put(Currency.class, Currency::getInstance);
+        TEXT_PARSERS.put(Instant.class, Instant::parse);
+        TEXT_PARSERS.put(Duration.class, Duration::parse);
+        TEXT_PARSERS.put(Period.class, Period::parse);
+        TEXT_PARSERS.put(LocalDate.class, LocalDate::parse);
+        TEXT_PARSERS.put(LocalTime.class, LocalTime::parse);
+        TEXT_PARSERS.put(LocalDateTime.class, LocalDateTime::parse);
+        TEXT_PARSERS.put(OffsetDateTime.class, OffsetDateTime::parse);
+        TEXT_PARSERS.put(ZonedDateTime.class, ZonedDateTime::parse);
+        TEXT_PARSERS.put(ZoneOffset.class, ZoneOffset::of);
+    }
+
+    private BinarySerializer() { }
+
+    /**
+     * @param value value
+     * @param buffer buffer, written from its position
+     * @throws java.nio.BufferOverflowException if buffer has not enough space
+     * @throws IllegalArgumentException if a field cannot be read or a JDK class has no dedicated encoding
+     */
+    static void write(Object value, ByteBuffer buffer) {
+        buffer.put(VERSION);
+        new Writer(buffer).writeValue(value);
+    }
+
+    /**
+     * @param buffer buffer, read from its position
+     * @param type expected type of value
+     * @param <T> type of value
+     * @return value
+     * @throws java.nio.BufferUnderflowException if buffer ends before value
+     * @throws IllegalArgumentException if stream is malformed, a class is not found, its schema differs
+     *                                  or the value is not of the expected type
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T read(ByteBuffer buffer, Class<T> type) {
+        byte version = buffer.get();
+        if (version != VERSION)
+            throw new IllegalArgumentException(format("Unsupported format version: %d, expected: %d", version, VERSION));
+
+        ClassLoader loader = type.getClassLoader() != null ? type.getClassLoader() : Thread.currentThread().getContextClassLoader();
+        Object value = new Reader(buffer, loader).readValue();
+        if (value != null && !Primitives.wrap(type).isInstance(value))
+            throw new IllegalArgumentException(format("Expected value of type: '%s', but was: '%s'", type.getName(), value.getClass().getName()));
+        return (T) value;
+    }
+
+    /**
+     * Fields of a class in the order they are written, with kinds by exact field type
+     */
+    static final class Schema {
+        final FieldAccessor[] accessors;
+        final byte[] kinds;
+        final long fingerprint;
+
+        // JDK parent with fields that would be written, such classes are rejected; null if none
+        final Class<?> jdkParent;
+
+        private Schema(FieldAccessor[] accessors, byte[] kinds, long fingerprint, Class<?> jdkParent) {
+            this.accessors = accessors;
+            this.kinds = kinds;
+            this.fingerprint = fingerprint;
+            this.jdkParent = jdkParent;
+        }
+
+        static Schema of(ClassMetadata metadata) {
+            Class<?> jdkParent = null;
+            for (Field field : metadata.fields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && JdkTypes.isJdkClass(field.getDeclaringClass())) {
+                    jdkParent = field.getDeclaringClass();
+                    break;
+                }
+            }
+
+            FieldAccessor[] accessors = metadata.fieldPlan(0).accessors;
+            byte[] kinds = new byte[accessors.length];
+            long fingerprint = fnv(FNV_OFFSET, metadata.getType().getName());
+            for (int i = 0; i < accessors.length; i++) {
+                kinds[i] = kindOf(accessors[i].getType());
+                fingerprint = fnv(fingerprint, accessors[i].getName());
+                fingerprint = fnv(fingerprint, accessors[i].getType().getName());
+            }
+            return new Schema(accessors, kinds, fingerprint, jdkParent);
+        }
+
+        private static byte kindOf(Class<?> type) {
+            if (type == boolean.class) return BOOLEAN;
+            if (type == byte.class) return BYTE;
+            if (type == char.class) return CHAR;
+            if (type == short.class) return SHORT;
+            if (type == int.class) return INT;
+            if (type == long.class) return LONG;
+            if (type == float.class) return FLOAT;
+            if (type == double.class) return DOUBLE;
+            return OBJECT;
+        }
+
+        private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        private static long fnv(long hash, String value) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+            // separator, so "ab" + "c" differs from "a" + "bc"
+            return (hash ^ 0xffff) * FNV_PRIME;
+        }
+    }
+
+    private static final class Writer {
+        private final ByteBuffer buffer;
+        private final Map<Object, Integer> references = new IdentityHashMap<>();
+        private final Map<Class<?>, Integer> classes = new IdentityHashMap<>();
+
+        Writer(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void writeValue(Object value) {
+            if (value == null) {
+                buffer.put(NULL);
+                return;
+            }
+
+            Class<?> type = value.getClass();
+            if (type == String.class) {
+                buffer.put(STRING);
+                writeString((String) value);
+            } else if (Primitives.primitiveOf(type) != null) {
+                writeBoxed(value);
+            } else if (value instanceof Enum) {
+                buffer.put(ENUM);
+                writeClass(((Enum<?>) value).getDeclaringClass());
+                writeString(((Enum<?>) value).name());
+            } else if (type == Date.class) {
+                buffer.put(DATE);
+                buffer.putLong(((Date) value).getTime());
+            } else if (type == BigDecimal.class) {
+                buffer.put(BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (type == BigInteger.class) {
+                buffer.put(BIG_INTEGER);
+                writeString(value.toString());
+            } else if (TEXT_PARSERS.containsKey(type)) {
+                buffer.put(TEXT);
+                writeClass(type);
+                writeString(type == Locale.class ? ((Locale) value).toLanguageTag() : value.toString());
+            } else {
+                Integer index = references.get(value);
+                if (index != null) {
+                    buffer.put(REFERENCE);
+                    writeVarint(index);
+                    return;
+                }
+                references.put(value, references.size());
+                writeReferenced(value, type);
+            }
+        }
+
+        private void writeReferenced(Object value, Class<?> type) {
+            if (type.isArray()) {
+                writeArray(value, type);
+            } else if (value instanceof Collection) {
+                buffer.put(COLLECTION);
+                writeClass(type);
+                Collection<?> collection = (Collection<?>) value;
+                writeVarint(collection.size());
+                for (Object element : collection) {
+                    writeValue(element);
+                }
+            } else if (value instanceof Map) {
+                buffer.put(MAP);
+                writeClass(type);
+                Map<?, ?> map = (Map<?, ?>) value;
+                writeVarint(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else {
+                if (JdkTypes.isJdkClass(type))
+                    throw new IllegalArgumentException("Cannot serialize JDK class without dedicated encoding: " + type.getName());
+                Schema schema = ClassMetadata.of(type).binarySchema();
+                if (schema.jdkParent != null)
+                    throw new IllegalArgumentException(format("Cannot serialize class: '%s' with fields of JDK class: '%s'", type.getName(), schema.jdkParent.getName()));
+                buffer.put(OBJECT);
+                writeClass(type);
+                writeFields(value, schema);
+            }
+        }
+
+        private void writeFields(Object value, Schema schema) {
+            FieldAccessor[] accessors = schema.accessors;
+            byte[] kinds = schema.kinds;
+            for (int i = 0; i < accessors.length; i++) {
+                FieldAccessor accessor = accessors[i];
+                switch (kinds[i]) {
+                    case BOOLEAN: buffer.put(accessor.getBoolean(value) ? (byte) 1 : 0); break;
+                    case BYTE: buffer.put((byte) accessor.getInt(value)); break;
+                    case CHAR: buffer.putChar((char) accessor.getInt(value)); break;
+                    case SHORT: buffer.putShort((short) accessor.getInt(value)); break;
+                    case INT: buffer.putInt(accessor.getInt(value)); break;
+                    case LONG: buffer.putLong(accessor.getLong(value)); break;
+                    case FLOAT: buffer.putFloat((float) accessor.getDouble(value)); break;
+                    case DOUBLE: buffer.putDouble(accessor.getDouble(value)); break;
+                    default: writeValue(accessor.get(value));
+                }
+            }
+        }
+
+        private void writeBoxed(Object value) {
+            if (value instanceof Integer) {
+                buffer.put(INT).putInt((Integer) value);
+            } else if (value instanceof Long) {
+                buffer.put(LONG).putLong((Long) value);
+            } else if (value instanceof Double) {
+                buffer.put(DOUBLE).putDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                buffer.put(BOOLEAN).put((Boolean) value ? (byte) 1 : 0);
+            } else if (value instanceof Float) {
+                buffer.put(FLOAT).putFloat((Float) value);
+            } else if (value instanceof Short) {
+                buffer.put(SHORT).putShort((Short) value);
+            } else if (value instanceof Byte) {
+                buffer.put(BYTE).put((Byte) value);
+            } else {
+                buffer.put(CHAR).putChar((Character) value);
+            }
+        }
+
+        private void writeArray(Object array, Class<?> type) {
+            if (array instanceof Object[]) {
+                Object[] elements = (Object[]) array;
+                buffer.put(OBJECT_ARRAY);
+                writeClass(type.getComponentType());
+                writeVarint(elements.length);
+                for (Object element : elements) {
+                    writeValue(element);
+                }
+            } else if (array instanceof byte[]) {
+                byte[] values = (byte[]) array;
+                buffer.put(BYTE_ARRAY);
+                writeVarint(values.length);
+                buffer.put(values);
+            } else if (array instanceof int[]) {
+                int[] values = (int[]) array;
+                buffer.put(INT_ARRAY);
+                writeVarint(values.length);
+                buffer.asIntBuffer().put(values);
+                skip(values.length * Integer.BYTES);
+            } else if (array instanceof long[]) {
+                long[] values = (long[]) array;
+                buffer.put(LONG_ARRAY);
+                writeVarint(values.length);
+                buffer.asLongBuffer().put(values);
+                skip(values.length * Long.BYTES);
+            } else if (array instanceof double[]) {
+                double[] values = (double[]) array;
+                buffer.put(DOUBLE_ARRAY);
+                writeVarint(values.length);
+                buffer.asDoubleBuffer().put(values);
+                skip(values.length * Double.BYTES);
+            } else if (array instanceof float[]) {
+                float[] values = (float[]) array;
+                buffer.put(FLOAT_ARRAY);
+                writeVarint(values.length);
+                buffer.asFloatBuffer().put(values);
+                skip(values.length * Float.BYTES);
+            } else if (array instanceof char[]) {
+                char[] values = (char[]) array;
+                buffer.put(CHAR_ARRAY);
+                writeVarint(values.length);
+                buffer.asCharBuffer().put(values);
+                skip(values.length * Character.BYTES);
+            } else if (array instanceof short[]) {
+                short[] values = (short[]) array;
+                buffer.put(SHORT_ARRAY);
+                writeVarint(values.length);
+                buffer.asShortBuffer().put(values);
+                skip(values.length * Short.BYTES);
+            } else {
+                boolean[] values = (boolean[]) array;
+                buffer.put(BOOLEAN_ARRAY);
+                writeVarint(values.length);
+                for (boolean value : values) {
+                    buffer.put(value ? (byte) 1 : 0);
+                }
+            }
+        }
+
+        /**
+         * A class is written once per stream with its fingerprint, then by index
+         */
+        private void writeClass(Class<?> type) {
+            Integer index = classes.get(type);
+            if (index != null) {
+                writeVarint(index + 1);
+                return;
+            }
+            classes.put(type, classes.size());
+            writeVarint(0);
+            writeString(type.getName());
+            buffer.putLong(fingerprint(type));
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void writeVarint(int value) {
+            while ((value & ~0x7f) != 0) {
+                buffer.put((byte) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        /**
+         * Advance position after a bulk put through a view buffer, views do not move the position of the buffer
+         */
+        private void skip(int bytes) {
+            buffer.position(buffer.position() + bytes);
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private final ClassLoader loader;
+        private final List<Object> references = new ArrayList<>();
+        private final List<Class<?>> classes = new ArrayList<>();
+
+        Reader(ByteBuffer buffer, ClassLoader loader) {
+            this.buffer = buffer;
+            this.loader = loader;
+        }
+
+        Object readValue() {
+            byte tag = buffer.get();
+            switch (tag) {
+                case NULL: return null;
+                case REFERENCE: return reference(readVarint());
+                case STRING: return readString();
+                case BOOLEAN: return buffer.get() != 0;
+                case BYTE: return buffer.get();
+                case CHAR: return buffer.getChar();
+                case SHORT: return buffer.getShort();
+                case INT: return buffer.getInt();
+                case LONG: return buffer.getLong();
+                case FLOAT: return buffer.getFloat();
+                case DOUBLE: return buffer.getDouble();
+                case ENUM: return readEnum();
+                case DATE: return new Date(buffer.getLong());
+                case BIG_DECIMAL: return new BigDecimal(readString());
+                case BIG_INTEGER: return new BigInteger(readString());
+                case TEXT: return readText();
+                case COLLECTION: return readCollection();
+                case MAP: return readMap();
+                case OBJECT: return readObject();
+                case OBJECT_ARRAY: return readObjectArray();
+                default: return readPrimitiveArray(tag);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readEnum() {
+            Class<?> type = readClass();
+            if (!type.isEnum())
+                throw new IllegalArgumentException("Class is not enum: " + type.getName());
+            return Enum.valueOf((Class) type, readString());
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readCollection() {
+            Class<?> type = readClass();
+            Collection<Object> collection = (Collection<Object>) newContainer(type);
+            references.add(collection);
+            int size = readVarint();
+            for (int i = 0; i < size; i++) {
+                collection.add(readValue());
+            }
+            return collection;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readMap() {
+            Class<?> type = readClass();
+            Map<Object, Object> map = (Map<Object, Object>) newContainer(type);
+            references.add(map);
+            int size = readVarint();
+            for (int i = 0; i < size; i++) {
+                Object key = readValue();
+                map.put(key, readValue());
+            }
+            return map;
+        }
+
+        private Object readText() {
+            Class<?> type = readClass();
+            Function<String, Object> parser = TEXT_PARSERS.get(type);
+            if (parser == null)
+                throw new IllegalArgumentException("Class is not written as text: " + type.getName());
+            String text = readString();
+            try {
+                return parser.apply(text);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(format("Cannot parse value of class: '%s' from: '%s'", type.getName(), text), e);
+            }
+        }
+
+        private Object readObject() {
+            Class<?> type = readClass();
+            if (JdkTypes.isJdkClass(type))
+                throw new IllegalArgumentException("Cannot deserialize JDK class without dedicated encoding: " + type.getName());
+            ClassMetadata metadata = ClassMetadata.of(type);
+            Schema schema = metadata.binarySchema();
+            if (schema.jdkParent != null)
+                throw new IllegalArgumentException(format("Cannot deserialize class: '%s' with fields of JDK class: '%s'", type.getName(), schema.jdkParent.getName()));
+            Object value = metadata.allocate();
+            references.add(value);
+            readFields(value, schema);
+            return value;
+        }
+
+        private void readFields(Object value, Schema schema) {
+            FieldAccessor[] accessors = schema.accessors;
+            byte[] kinds = schema.kinds;
+            for (int i = 0; i < accessors.length; i++) {
+                FieldAccessor accessor = accessors[i];
+                switch (kinds[i]) {
+                    case BOOLEAN: accessor.setBoolean(value, buffer.get() != 0); break;
+                    case INT: accessor.setInt(value, buffer.getInt()); break;
+                    case LONG: accessor.setLong(value, buffer.getLong()); break;
+                    case DOUBLE: accessor.setDouble(value, buffer.getDouble()); break;
+                    case BYTE:
+                    case CHAR:
+                    case SHORT:
+                    case FLOAT: readNarrow(value, accessor, kinds[i]); break;
+                    default: accessor.set(value, readValue());
+                }
+            }
+        }
+
+        /**
+         * Types narrower than the primitive accessors are set through the exact setter, without boxing
+         */
+        private void readNarrow(Object value, FieldAccessor accessor, byte kind) {
+            MethodHandle setter = accessor.exactSetter();
+            if (setter == null)
+                throw new IllegalArgumentException("Cannot set final field name: " + accessor.getName());
+            try {
+                switch (kind) {
+                    case BYTE: setter.invokeExact(value, buffer.get()); break;
+                    case CHAR: setter.invokeExact(value, buffer.getChar()); break;
+                    case SHORT: setter.invokeExact(value, buffer.getShort()); break;
+                    default: setter.invokeExact(value, buffer.getFloat());
+                }
+            } catch (Throwable e) {
+                throw FieldAccessor.failure("Cannot set field content for field name: " + accessor.getName(), e);
+            }
+        }
+
+        private Object readObjectArray() {
+            Class<?> componentType = readClass();
+            Object[] array = (Object[]) Array.newInstance(componentType, readVarint());
+            references.add(array);
+            for (int i = 0; i < array.length; i++) {
+                array[i] = readValue();
+            }
+            return array;
+        }
+
+        private Object readPrimitiveArray(byte tag) {
+            int length = readVarint();
+            Object array;
+            switch (tag) {
+                case BYTE_ARRAY: {
+                    byte[] values = new byte[length];
+                    buffer.get(values);
+                    array = values;
+                    break;
+                }
+                case INT_ARRAY: {
+                    int[] values = new int[length];
+                    buffer.asIntBuffer().get(values);
+                    skip(length * Integer.BYTES);
+                    array = values;
+                    break;
+                }
+                case LONG_ARRAY: {
+                    long[] values = new long[length];
+                    buffer.asLongBuffer().get(values);
+                    skip(length * Long.BYTES);
+                    array = values;
+                    break;
+                }
+                case DOUBLE_ARRAY: {
+                    double[] values = new double[length];
+                    buffer.asDoubleBuffer().get(values);
+                    skip(length * Double.BYTES);
+                    array = values;
+                    break;
+                }
+                case FLOAT_ARRAY: {
+                    float[] values = new float[length];
+                    buffer.asFloatBuffer().get(values);
+                    skip(length * Float.BYTES);
+                    array = values;
+                    break;
+                }
+                case CHAR_ARRAY: {
+                    char[] values = new char[length];
+                    buffer.asCharBuffer().get(values);
+                    skip(length * Character.BYTES);
+                    array = values;
+                    break;
+                }
+                case SHORT_ARRAY: {
+                    short[] values = new short[length];
+                    buffer.asShortBuffer().get(values);
+                    skip(length * Short.BYTES);
+                    array = values;
+                    break;
+                }
+                case BOOLEAN_ARRAY: {
+                    boolean[] values = new boolean[length];
+                    for (int i = 0; i < length; i++) {
+                        values[i] = buffer.get() != 0;
+                    }
+                    array = values;
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown tag: " + tag);
+            }
+            references.add(array);
+            return array;
+        }
+
+        private Object reference(int index) {
+            if (index >= references.size())
+                throw new IllegalArgumentException("Reference to unknown object: " + index);
+            return references.get(index);
+        }
+
+        private Class<?> readClass() {
+            int index = readVarint();
+            if (index > 0) {
+                if (index > classes.size())
+                    throw new IllegalArgumentException("Reference to unknown class: " + index);
+                return classes.get(index - 1);
+            }
+
+            String name = readString();
+            long fingerprint = buffer.getLong();
+            Class<?> type;
+            try {
+                type = Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Cannot find class: " + name, e);
+            }
+            long expected = fingerprint(type);
+            // classes without schema are not checked
+            if (expected != 0 && fingerprint != expected) {
+                String msg = format("Schema of class: '%s' differs from written one, fingerprint: %x, written: %x", name, expected, fingerprint);
+                throw new IllegalArgumentException(msg);
+            }
+            classes.add(type);
+            return type;
+        }
+
+        private String readString() {
+            int length = readVarint();
+            if (buffer.hasArray()) {
+                String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                skip(length);
+                return value;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = buffer.get();
+                value |= (b & 0x7f) << shift;
+                if (b >= 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        private void skip(int bytes) {
+            buffer.position(buffer.position() + bytes);
+        }
+    }
+
+    /**
+     * @return fingerprint of schema for classes written field by field, 0 for JDK classes, containers and others
+     * @throws IllegalArgumentException if a field of class cannot be accessed
+     */
+    private static long fingerprint(Class<?> type) {
+        if (type.isArray() || type.isInterface() || type.isEnum() || type.isPrimitive() || JdkTypes.isJdkClass(type)
+                || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type))
+            return 0;
+        return ClassMetadata.of(type).binarySchema().fingerprint;
+    }
+
+    private static Object newContainer(Class<?> type) {
+        Object container = JdkTypes.newContainer(type);
+        return container != null ? container : JdkTypes.newGenericContainer(type);
+    }
+}
@@ -0,0 +1,387 @@
+package utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static java.lang.String.format;
+
+/**
+ * Access to all fields and methods of a class by index, similar to ReflectASM.
+ *
+ * Fields are indexed as in {@link ReflectionUtils#getAllFields(Class)} without hidden fields of parents,
+ * methods are all overloads of all names, sorted by name and parameter types.
+ *
+ * If bytecode generation is available (ASM on the classpath) and permitted, the accessor is a class generated
+ * at runtime with a {@code switch} over indexes and direct field access and method calls for every member
+ * it is allowed to link against. Other members, for example private ones, and all members when generation
+ * is not possible, are accessed through cached {@link FieldAccessor}s and {@link MethodInvoker}s.
+ * Generation can be disabled with the system property {@value #GENERATION_PROPERTY}{@code =false}.
+ *
+ * Classes annotated with {@link Reflective} get their accessor generated at compile time
+ * by {@link ReflectiveProcessor}, it is preferred over the runtime generation.
+ *
+ * Obtain an instance with {@link ReflectionUtils#classAccessor(Class)} and keep it.
+ */
+public abstract class ClassAccessor {
+
+    /**
+     * System property to disable bytecode generation
+     */
+    public static final String GENERATION_PROPERTY = "utils.reflection.generateAccessors";
+
+    static final String PRECOMPILED_SUFFIX = "$$Reflective";
+
+    private static final boolean ASM_PRESENT = isAsmPresent();
+
+    private final Class<?> type;
+    private final ClassMetadata metadata;
+
+    // index of field to the case of precompiled switch, null if not precompiled
+    private final int[] fieldSlots;
+
+    // methods are indexed on the first method access: most callers only need fields
+    private final String[] methodKeys;
+    private volatile MethodTable methodTable;
+
+    /**
+     * @param type type
+     */
+    protected ClassAccessor(Class<?> type) {
+        this(type, null, null);
+    }
+
+    /**
+     * Constructor of accessors generated at compile time. Members are matched to slots by keys,
+     * not by order, because the order of reflected members is not specified
+     *
+     * @param type type
+     * @param fieldKeys keys of fields in slot order, see {@link #fieldKey(Field)}
+     * @param methodKeys keys of methods in slot order, see {@link #methodKey(Method)}
+     */
+    protected ClassAccessor(Class<?> type, String[] fieldKeys, String[] methodKeys) {
+        this.type = type;
+        this.metadata = ClassMetadata.of(type);
+        this.methodKeys = methodKeys;
+
+        Field[] fields = metadata.visibleFields();
+        String[] fieldKeysByIndex = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            fieldKeysByIndex[i] = fieldKey(fields[i]);
+        }
+        this.fieldSlots = fieldKeys == null ? null : slots(fieldKeysByIndex, fieldKeys);
+    }
+
+    static ClassAccessor create(Class<?> type) {
+        if (ASM_PRESENT && Boolean.parseBoolean(System.getProperty(GENERATION_PROPERTY, "true"))) {
+            try {
+                ClassAccessor generated = AccessorGenerator.generate(type);
+                if (generated != null)
+                    return generated;
+            } catch (LinkageError e) {
+                // fall back to reflection
+            }
+        }
+        return new Reflective(type);
+    }
+
+    /**
+     * @param type type
+     * @return accessor generated at compile time for {@link Reflective} class or null
+     */
+    static ClassAccessor precompiled(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null || !type.isAnnotationPresent(utils.Reflective.class))
+            return null;
+
+        try {
+            Class<?> precompiled = Class.forName(type.getName() + PRECOMPILED_SUFFIX, true, loader);
+            if (!ClassAccessor.class.isAssignableFrom(precompiled))
+                return null;
+            ClassAccessor accessor = (ClassAccessor) precompiled.getConstructor().newInstance();
+            return accessor.getType() == type ? accessor : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static boolean isAsmPresent() {
+        try {
+            Class.forName("org.objectweb.asm.ClassWriter", false, ClassAccessor.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return class
+     */
+    public final Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return true if the accessor is generated bytecode
+     */
+    public boolean isGenerated() {
+        return true;
+    }
+
+    /**
+     * @return number of fields
+     */
+    public final int getFieldCount() {
+        return metadata.visibleFields().length;
+    }
+
+    /**
+     * @param fieldIndex fieldIndex
+     * @return field
+     */
+    public final Field getField(int fieldIndex) {
+        return metadata.visibleFields()[fieldIndex];
+    }
+
+    /**
+     * @param fieldName fieldName
+     * @return index of field
+     * @throws IllegalArgumentException if not exist fieldName
+     */
+    public final int fieldIndex(String fieldName) {
+        int index = fieldName == null ? -1 : metadata.fieldIndex(fieldName);
+        if (index < 0) {
+            String msg = format("Cannot find field name: '%s' from class: '%s'", fieldName, type);
+            throw new IllegalArgumentException(msg);
+        }
+        return index;
+    }
+
+    /**
+     * @return number of methods
+     */
+    public final int getMethodCount() {
+        return methodTable().methods.length;
+    }
+
+    /**
+     * @param methodIndex methodIndex
+     * @return method
+     */
+    public final Method getMethod(int methodIndex) {
+        return methodTable().methods[methodIndex];
+    }
+
+    /**
+     * @param methodName methodName
+     * @param argTypes types of arguments, null for null argument
+     * @return index of the most specific method applicable to arguments of given types
+     * @throws IllegalArgumentException if not exist methodName applicable to argTypes or the choice is ambiguous
+     */
+    public final int methodIndex(String methodName, Class<?>... argTypes) {
+        MethodInvoker invoker = ReflectionUtils.invoker(type, methodName, argTypes);
+        Integer index = methodTable().indexes.get(invoker.getMethod());
+        if (index == null)
+            throw new IllegalArgumentException(format("Cannot find method name: '%s'", methodName));
+        return index;
+    }
+
+    /**
+     * Get the contents of the field
+     *
+     * @param obj obj, ignored for static field
+     * @param fieldIndex fieldIndex
+     * @return content of field
+     * @throws IllegalArgumentException if obj is not instance of declaring class
+     */
+    public final Object get(Object obj, int fieldIndex) {
+        try {
+            return fastGet(obj, fieldIndex);
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalArgumentException("Cannot get field content for field name: " + getField(fieldIndex).getName(), e);
+        }
+    }
+
+    /**
+     * Set the contents to the field
+     *
+     * @param obj obj, ignored for static field
+     * @param fieldIndex fieldIndex
+     * @param value value
+     * @throws IllegalArgumentException if obj is not instance of declaring class,
+     *                                  value has wrong type or field cannot be written
+     */
+    public final void set(Object obj, int fieldIndex, Object value) {
+        try {
+            fastSet(obj, fieldIndex, value);
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalArgumentException("Cannot set field content for field name: " + getField(fieldIndex).getName(), e);
+        }
+    }
+
+    /**
+     * Call the method. Exceptions thrown by the method are not wrapped, as in {@link MethodInvoker}
+     *
+     * @param obj obj, ignored for static method
+     * @param methodIndex methodIndex
+     * @param args args
+     * @return result of method, null for void method
+     * @throws IllegalArgumentException if method has other number of parameters
+     */
+    public final Object invoke(Object obj, int methodIndex, Object... args) {
+        Object[] arguments = args == null ? new Object[0] : args;
+        Method method = methodTable().methods[methodIndex];
+        int parameterCount = method.getParameterCount();
+        if (arguments.length != parameterCount) {
+            String msg = format("Method '%s' expects %d arguments, but passed: %d", method.getName(), parameterCount, arguments.length);
+            throw new IllegalArgumentException(msg);
+        }
+
+        try {
+            return fastInvoke(obj, methodIndex, arguments);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    /**
+     * @param fieldIndex fieldIndex
+     * @return case of precompiled switch for the field or -1
+     */
+    protected final int fieldSlot(int fieldIndex) {
+        return fieldSlots == null ? -1 : fieldSlots[fieldIndex];
+    }
+
+    /**
+     * @param methodIndex methodIndex
+     * @return case of precompiled switch for the method or -1
+     */
+    protected final int methodSlot(int methodIndex) {
+        int[] methodSlots = methodTable().slots;
+        return methodSlots == null ? -1 : methodSlots[methodIndex];
+    }
+
+    /**
+     * Generated accessors override it for fields they can access directly
+     *
+     * @param obj obj
+     * @param fieldIndex fieldIndex
+     * @return content of field
+     */
+    protected Object fastGet(Object obj, int fieldIndex) {
+        return metadata.accessor(fieldIndex).get(obj);
+    }
+
+    /**
+     * Generated accessors override it for fields they can access directly
+     *
+     * @param obj obj
+     * @param fieldIndex fieldIndex
+     * @param value value
+     */
+    protected void fastSet(Object obj, int fieldIndex, Object value) {
+        metadata.accessor(fieldIndex).set(obj, value);
+    }
+
+    /**
+     * Generated accessors override it for methods they can call directly
+     *
+     * @param obj obj
+     * @param methodIndex methodIndex
+     * @param args args, length is checked
+     * @return result of method
+     * @throws Exception thrown by the method
+     */
+    protected Object fastInvoke(Object obj, int methodIndex, Object[] args) throws Exception {
+        return ReflectionUtils.invoker(methodTable().methods[methodIndex]).invoke(obj, args);
+    }
+
+    @Override
+    public String toString() {
+        return format("ClassAccessor{%s, generated: %s}", type.getName(), isGenerated());
+    }
+
+    /**
+     * @param field field
+     * @return key of field: binary name of declaring class and name of field, {@code pkg.Outer$Inner#name}
+     */
+    static String fieldKey(Field field) {
+        return field.getDeclaringClass().getName() + '#' + field.getName();
+    }
+
+    /**
+     * @param method method
+     * @return key of method: name and type names of parameters, {@code name(int,pkg.Outer$Inner[])}
+     */
+    static String methodKey(Method method) {
+        StringJoiner key = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            key.add(parameterType.getTypeName());
+        }
+        return key.toString();
+    }
+
+    private MethodTable methodTable() {
+        // benign race: the table is immutable, at worst it is computed twice
+        MethodTable table = methodTable;
+        if (table == null) {
+            table = new MethodTable(metadata.distinctMethods(), methodKeys);
+            methodTable = table;
+        }
+        return table;
+    }
+
+    private static int[] slots(String[] keysByIndex, String[] slotKeys) {
+        Map<String, Integer> slotByKey = new HashMap<>(ClassMetadata.mapCapacity(slotKeys.length));
+        for (int slot = 0; slot < slotKeys.length; slot++) {
+            slotByKey.put(slotKeys[slot], slot);
+        }
+        int[] slots = new int[keysByIndex.length];
+        for (int i = 0; i < keysByIndex.length; i++) {
+            slots[i] = slotByKey.getOrDefault(keysByIndex[i], -1);
+        }
+        return slots;
+    }
+
+    /**
+     * Methods by index, their indexes and cases of precompiled switch
+     */
+    private static final class MethodTable {
+        final Method[] methods;
+        final Map<Method, Integer> indexes;
+
+        // index of method to the case of precompiled switch, null if not precompiled
+        final int[] slots;
+
+        MethodTable(Method[] methods, String[] methodKeys) {
+            this.methods = methods;
+            this.indexes = new HashMap<>(ClassMetadata.mapCapacity(methods.length));
+            String[] methodKeysByIndex = new String[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                indexes.put(methods[i], i);
+                methodKeysByIndex[i] = methodKey(methods[i]);
+            }
+            this.slots = methodKeys == null ? null : slots(methodKeysByIndex, methodKeys);
+        }
+    }
+
+    /**
+     * Fallback when bytecode generation is not available or not permitted
+     */
+    static final class Reflective extends ClassAccessor {
+
+        Reflective(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        public boolean isGenerated() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * Cache of values computed per class, bounded by the number of classes with approximate LRU eviction.
+ *
+ * Keys do not pin classes or class loaders: a value is attached to its class through {@link ClassValue},
+ * and the eviction bookkeeping holds classes only weakly. Values may reference their class.
+ *
+ * Reads are lock-free and do not write shared state in the common case. Values are populated by CAS
+ * without locks, so the value of a class may be computed more than once under contention, but only one
+ * is published. Eviction runs on the thread that exceeds the bound, other threads never wait for it.
+ *
+ * @param <V> type of value
+ */
+public final class ClassCache<V> {
+
+    /**
+     * Unbounded cache, values live as long as their classes
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final Function<Class<?>, ? extends V> loader;
+    private final int maxSize;
+    private final ClassValue<Node<V>> nodes = new ClassValue<Node<V>>() {
+        @Override
+        protected Node<V> computeValue(Class<?> type) {
+            return new Node<>();
+        }
+    };
+
+    private final Queue<NodeRef<V>> populated = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    // advanced on population only, so reads stamp nodes without contended writes
+    private volatile long epoch;
+
+    /**
+     * @param loader loader of value by class, must not return null
+     * @param maxSize maximal number of classes with cached values, {@link #UNBOUNDED} for unbounded cache
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    public ClassCache(Function<Class<?>, ? extends V> loader, int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Max size should be positive, but was: " + maxSize);
+        this.loader = Objects.requireNonNull(loader, "loader");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param type type
+     * @return cached value or value computed by loader
+     */
+    public V get(Class<?> type) {
+        Node<V> node = nodes.get(type);
+        V value = node.value;
+        if (value != null) {
+            long current = epoch;
+            if (node.epoch != current)
+                node.epoch = current;
+            return value;
+        }
+        return populate(type, node);
+    }
+
+    /**
+     * @param type type
+     * @return cached value or null, the loader is not called
+     */
+    public V getIfPresent(Class<?> type) {
+        return nodes.get(type).value;
+    }
+
+    /**
+     * Drop the value of the class, it is computed again on next access
+     *
+     * @param type type
+     */
+    public void invalidate(Class<?> type) {
+        Node<V> node = nodes.get(type);
+        V value = node.value;
+        if (value != null && Node.VALUE.compareAndSet(node, value, null))
+            forget(node);
+    }
+
+    /**
+     * Drop values of all classes
+     */
+    public void invalidateAll() {
+        for (NodeRef<V> ref : populated) {
+            Node<V> node = ref.get();
+            if (node == null) {
+                if (populated.remove(ref))
+                    size.decrementAndGet();
+                continue;
+            }
+            V value = node.value;
+            if (value != null)
+                Node.VALUE.compareAndSet(node, value, null);
+            forget(node);
+        }
+    }
+
+    /**
+     * @return approximate number of classes with cached values
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return maximal number of classes with cached values
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return format("ClassCache{size: %d, maxSize: %d}", size(), maxSize);
+    }
+
+    /**
+     * A value of owner may reference type without pinning a foreign class loader
+     * only if type lives as long as owner
+     *
+     * @param type type
+     * @param owner owner
+     * @return true if type is loaded by the class loader of owner or its parents
+     */
+    static boolean isVisible(Class<?> type, Class<?> owner) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null)
+            return true;
+        for (ClassLoader ownerLoader = owner.getClassLoader(); ownerLoader != null; ownerLoader = ownerLoader.getParent()) {
+            if (ownerLoader == loader)
+                return true;
+        }
+        return false;
+    }
+
+    private V populate(Class<?> type, Node<V> node) {
+        V value = Objects.requireNonNull(loader.apply(type), "loader returned null");
+        if (!Node.VALUE.compareAndSet(node, null, value)) {
+            V winner = node.value;
+            if (winner != null)
+                return winner;
+            // evicted meanwhile, publish ours
+            if (!Node.VALUE.compareAndSet(node, null, value))
+                return node.value;
+        }
+
+        // reads after this population are stamped newer than it
+        long current = epoch;
+        epoch = current + 1;
+        node.epoch = current;
+        if (Node.QUEUED.compareAndSet(node, 0, 1)) {
+            populated.add(node.ref);
+            if (size.incrementAndGet() > maxSize)
+                evict();
+        }
+        return value;
+    }
+
+    private void forget(Node<V> node) {
+        if (Node.QUEUED.compareAndSet(node, 1, 0)) {
+            populated.remove(node.ref);
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Drop the least recently used values until the size is within the bound
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true))
+            return;
+
+        try {
+            List<Node<V>> candidates = new ArrayList<>();
+            for (NodeRef<V> ref : populated) {
+                Node<V> node = ref.get();
+                if (node == null) {
+                    // class is unloaded
+                    if (populated.remove(ref))
+                        size.decrementAndGet();
+                } else if (node.value == null) {
+                    // invalidated concurrently with population
+                    forget(node);
+                } else {
+                    candidates.add(node);
+                }
+            }
+
+            int excess = size.get() - maxSize;
+            if (excess <= 0)
+                return;
+
+            candidates.sort(Comparator.comparingLong(node -> node.epoch));
+            for (int i = 0; i < candidates.size() && excess > 0; i++) {
+                Node<V> node = candidates.get(i);
+                V value = node.value;
+                if (value != null && Node.VALUE.compareAndSet(node, value, null)) {
+                    forget(node);
+                    excess--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Value slot of one class, lives as long as the class
+     */
+    private static final class Node<V> {
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<Node, Object> VALUE =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "value");
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<Node> QUEUED =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "queued");
+
+        final NodeRef<V> ref = new NodeRef<>(this);
+        volatile V value;
+        volatile long epoch;
+        // 1 if ref is in the eviction queue and counted in size
+        volatile int queued;
+    }
+
+    /**
+     * Weak reference to the node, so the eviction queue does not pin the class
+     */
+    private static final class NodeRef<V> extends WeakReference<Node<V>> {
+        NodeRef(Node<V> node) {
+            super(node);
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Flattened reflection metadata of a single class, computed once and cached per class.
+ * Backed by {@link ClassCache}, so the cache does not pin class loaders. The number of cached classes
+ * is unbounded by default and can be bounded with the system property {@value #MAX_CLASSES_PROPERTY}.
+ */
+final class ClassMetadata {
+
+    static final String MAX_CLASSES_PROPERTY = "utils.reflection.cache.maxClasses";
+
+    private static final ClassCache<ClassMetadata> CACHE =
+            new ClassCache<>(ClassMetadata::new, Integer.getInteger(MAX_CLASSES_PROPERTY, ClassCache.UNBOUNDED));
+
+    private static final AtomicReferenceFieldUpdater<ClassMetadata, ClassAccessor> CLASS_ACCESSOR =
+            AtomicReferenceFieldUpdater.newUpdater(ClassMetadata.class, ClassAccessor.class, "classAccessor");
+
+    private final Class<?> type;
+
+    /**
+     * Without synthetic fields, own fields first, then fields of parents
+     */
+    private final Field[] fields;
+
+    /**
+     * One field per name, the field of the child hides the field of the parent
+     */
+    private final Field[] visibleFields;
+    private final Map<String, Integer> fieldIndex;
+    private final FieldAccessor[] accessors;
+
+    // methods are resolved lazily: most callers only need fields
+    private volatile Method[] methods;
+    private volatile Map<String, Method> methodsByName;
+    private volatile Map<String, Method[]> overloadsByName;
+    private volatile Method[] distinctMethods;
+    private volatile ClassAccessor classAccessor;
+    private volatile Optional<ClassAccessor> precompiledAccessor;
+    private final ConcurrentMap<Overloads.Signature, MethodInvoker> resolvedMethods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, MethodInvoker> invokers = new ConcurrentHashMap<>();
+    private volatile BeanProperties beanProperties;
+    private final FieldPlan[] fieldPlans = new FieldPlan[4];
+    private volatile Constructor<?> allocator;
+    private volatile BinarySerializer.Schema binarySchema;
+    private volatile JsonWriter.Plan jsonPlan;
+    private volatile AnnotationIndex annotationIndex;
+    private volatile Constructor<?>[] constructors;
+    private final ConcurrentMap<Overloads.Signature, Instantiator<?>> resolvedConstructors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Constructor<?>, Instantiator<?>> instantiators = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PropertyPath> propertyPaths = new ConcurrentHashMap<>();
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+        this.fields = collectFields(type);
+        this.visibleFields = hideShadowedFields(fields);
+        this.fieldIndex = indexFields(visibleFields);
+        this.accessors = new FieldAccessor[visibleFields.length];
+    }
+
+    /**
+     * @param clazz clazz
+     * @return cached metadata of class
+     */
+    static ClassMetadata of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * @param clazz clazz
+     * @return true if metadata of class is cached, the metadata is not computed
+     */
+    static boolean isCached(Class<?> clazz) {
+        return CACHE.getIfPresent(clazz) != null;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return shared array, must not be modified or leaked
+     */
+    Field[] fields() {
+        return fields;
+    }
+
+    /**
+     * @param name name
+     * @return field or null, the field of the child hides the field of the parent
+     */
+    Field field(String name) {
+        Integer index = fieldIndex.get(name);
+        return index == null ? null : visibleFields[index];
+    }
+
+    /**
+     * @param name name
+     * @return index of field in {@link #visibleFields()} or -1
+     */
+    int fieldIndex(String name) {
+        Integer index = fieldIndex.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param name name
+     * @return compiled accessor or null if field not exist
+     */
+    FieldAccessor accessor(String name) {
+        Integer index = fieldIndex.get(name);
+        return index == null ? null : accessor(index);
+    }
+
+    /**
+     * @param index index of field in {@link #visibleFields()}
+     * @return compiled accessor
+     */
+    FieldAccessor accessor(int index) {
+        // benign race: accessor is immutable, at worst it is compiled twice
+        FieldAccessor accessor = accessors[index];
+        if (accessor == null) {
+            accessor = new FieldAccessor(visibleFields[index]);
+            accessors[index] = accessor;
+        }
+        return accessor;
+    }
+
+    /**
+     * @param index index of field in {@link #visibleFields()}
+     * @return true if the accessor is already compiled, the accessor is not compiled
+     */
+    boolean isAccessorCompiled(int index) {
+        return accessors[index] != null;
+    }
+
+    /**
+     * @return shared array, must not be modified or leaked
+     */
+    Field[] visibleFields() {
+        return visibleFields;
+    }
+
+    /**
+     * @return shared array, must not be modified or leaked
+     */
+    Method[] methods() {
+        Method[] result = methods;
+        if (result == null) {
+            result = collectMethods(type);
+            methods = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param name name
+     * @return first method with name or null
+     */
+    Method method(String name) {
+        Map<String, Method> index = methodsByName;
+        if (index == null) {
+            index = indexMethods(methods());
+            methodsByName = index;
+        }
+        return index.get(name);
+    }
+
+    /**
+     * @param name name
+     * @return overloads with name, one method per parameter types, without bridge methods
+     */
+    Method[] overloads(String name) {
+        Map<String, Method[]> index = overloadsByName;
+        if (index == null) {
+            index = indexOverloads(methods());
+            overloadsByName = index;
+        }
+        Method[] overloads = index.get(name);
+        return overloads == null ? new Method[0] : overloads;
+    }
+
+    /**
+     * @return all overloads of all names in stable order: by name, then by parameter types
+     */
+    Method[] distinctMethods() {
+        Method[] result = distinctMethods;
+        if (result == null) {
+            if (overloadsByName == null)
+                overloads("");
+            result = overloadsByName.values().stream()
+                    .flatMap(Arrays::stream)
+                    .sorted(Comparator.comparing(Method::getName)
+                            .thenComparing(method -> Arrays.toString(method.getParameterTypes())))
+                    .toArray(Method[]::new);
+            distinctMethods = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the contents of the field through the precompiled accessor if any
+     *
+     * @param obj obj
+     * @param index index of field in {@link #visibleFields()}
+     * @return content of field
+     */
+    Object get(Object obj, int index) {
+        ClassAccessor precompiled = precompiledAccessor();
+        return precompiled != null ? precompiled.get(obj, index) : accessor(index).get(obj);
+    }
+
+    /**
+     * Set the contents to the field through the precompiled accessor if any
+     *
+     * @param obj obj
+     * @param index index of field in {@link #visibleFields()}
+     * @param value value
+     */
+    void set(Object obj, int index, Object value) {
+        ClassAccessor precompiled = precompiledAccessor();
+        if (precompiled != null)
+            precompiled.set(obj, index, value);
+        else
+            accessor(index).set(obj, value);
+    }
+
+    /**
+     * @return accessor generated at compile time for {@link Reflective} class or null, looked up once
+     */
+    ClassAccessor precompiledAccessor() {
+        Optional<ClassAccessor> result = precompiledAccessor;
+        if (result == null) {
+            result = Optional.ofNullable(ClassAccessor.precompiled(type));
+            precompiledAccessor = result;
+        }
+        return result.orElse(null);
+    }
+
+    /**
+     * @return accessor by index of fields and methods: precompiled, generated or reflective
+     */
+    ClassAccessor classAccessor() {
+        ClassAccessor result = classAccessor;
+        if (result == null) {
+            // no lock: under contention the accessor may be created twice, only one is published
+            result = precompiledAccessor();
+            if (result == null)
+                result = ClassAccessor.create(type);
+            if (!CLASS_ACCESSOR.compareAndSet(this, null, result))
+                result = classAccessor;
+        }
+        return result;
+    }
+
+    /**
+     * @param name name
+     * @param argTypes runtime types of args, null for null arg
+     * @return invoker of the most specific method applicable to args or null, resolved once per argument types
+     *         loaded by the class loader of this class or its parents, resolved on each call for other argument types
+     * @throws IllegalArgumentException if the choice is ambiguous
+     */
+    MethodInvoker resolveMethod(String name, Class<?>[] argTypes) {
+        Overloads.Signature signature = new Overloads.Signature(name, argTypes);
+        MethodInvoker invoker = resolvedMethods.get(signature);
+        if (invoker == null) {
+            Method method = Overloads.resolve(overloads(name), argTypes);
+            if (method == null)
+                return null;
+
+            invoker = of(method.getDeclaringClass()).invoker(method);
+            if (isVisible(argTypes))
+                resolvedMethods.putIfAbsent(signature, invoker);
+        }
+        return invoker;
+    }
+
+    /**
+     * @return true if the classes may be cached with this class without pinning foreign class loaders
+     */
+    private boolean isVisible(Class<?>[] argTypes) {
+        for (Class<?> argType : argTypes) {
+            if (argType != null && !ClassCache.isVisible(argType, type))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param method method declared by this class
+     * @return compiled invoker
+     */
+    MethodInvoker invoker(Method method) {
+        MethodInvoker invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = invokers.computeIfAbsent(method, MethodInvoker::new);
+        }
+        return invoker;
+    }
+
+    /**
+     * @param flags flags of {@link ObjectMethods}, only selection of transient and static fields is used
+     * @return plan of reflective equals, hashCode and toString, computed once per selection
+     */
+    FieldPlan fieldPlan(int flags) {
+        int selection = flags & (ObjectMethods.INCLUDE_TRANSIENT | ObjectMethods.INCLUDE_STATIC);
+        // benign race: plan is immutable, at worst it is computed twice
+        FieldPlan plan = fieldPlans[selection];
+        if (plan == null) {
+            plan = FieldPlan.of(this, (selection & ObjectMethods.INCLUDE_TRANSIENT) != 0, (selection & ObjectMethods.INCLUDE_STATIC) != 0);
+            fieldPlans[selection] = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * @return fields paired with their getters and setters, computed once
+     */
+    BeanProperties beanProperties() {
+        BeanProperties result = beanProperties;
+        if (result == null) {
+            result = new BeanProperties(this);
+            beanProperties = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return schema of {@link BinarySerializer}, computed once
+     */
+    BinarySerializer.Schema binarySchema() {
+        BinarySerializer.Schema result = binarySchema;
+        if (result == null) {
+            result = BinarySerializer.Schema.of(this);
+            binarySchema = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return plan of {@link JsonWriter}, computed once
+     */
+    JsonWriter.Plan jsonPlan() {
+        JsonWriter.Plan result = jsonPlan;
+        if (result == null) {
+            result = JsonWriter.Plan.of(this);
+            jsonPlan = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return fields and methods by annotation type, computed once
+     */
+    AnnotationIndex annotationIndex() {
+        AnnotationIndex result = annotationIndex;
+        if (result == null) {
+            result = new AnnotationIndex(this);
+            annotationIndex = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return new instance created without running constructors of the class where possible
+     * @throws IllegalArgumentException if class cannot be instantiated
+     */
+    Object allocate() {
+        Constructor<?> constructor = allocator;
+        if (constructor == null) {
+            constructor = Allocator.constructorFor(type);
+            allocator = constructor;
+        }
+        return Allocator.allocate(type, constructor);
+    }
+
+    /**
+     * @return shared array of declared constructors, must not be modified or leaked
+     */
+    Constructor<?>[] constructors() {
+        Constructor<?>[] result = constructors;
+        if (result == null) {
+            result = type.getDeclaredConstructors();
+            constructors = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param argTypes runtime types of args, null for null arg
+     * @return instantiator of the most specific constructor applicable to args or null, resolved once per argument types
+     *         loaded by the class loader of this class or its parents, resolved on each call for other argument types
+     * @throws IllegalArgumentException if the choice is ambiguous or class is abstract
+     */
+    Instantiator<?> resolveConstructor(Class<?>[] argTypes) {
+        Overloads.Signature signature = new Overloads.Signature("<init>", argTypes);
+        Instantiator<?> instantiator = resolvedConstructors.get(signature);
+        if (instantiator == null) {
+            Constructor<?> constructor = Overloads.resolve(constructors(), argTypes);
+            if (constructor == null)
+                return null;
+
+            instantiator = instantiator(constructor);
+            if (isVisible(argTypes))
+                resolvedConstructors.putIfAbsent(signature, instantiator);
+        }
+        return instantiator;
+    }
+
+    /**
+     * @param path path
+     * @return compiled path from objects of this class, cached for a bounded number of distinct paths
+     * @throws IllegalArgumentException if path is malformed
+     */
+    PropertyPath propertyPath(String path) {
+        PropertyPath compiled = propertyPaths.get(path);
+        if (compiled == null) {
+            compiled = PropertyPath.compile(path, type);
+            if (propertyPaths.size() < PropertyPath.MAX_CACHED_PATHS)
+                propertyPaths.putIfAbsent(path, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * @param constructor constructor declared by this class
+     * @return compiled instantiator
+     * @throws IllegalArgumentException if class is abstract
+     */
+    Instantiator<?> instantiator(Constructor<?> constructor) {
+        Instantiator<?> instantiator = instantiators.get(constructor);
+        if (instantiator == null) {
+            instantiator = instantiators.computeIfAbsent(constructor, Instantiator::new);
+        }
+        return instantiator;
+    }
+
+    private static Field[] collectFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (!field.isSynthetic())
+                fields.add(field);
+        }
+
+        if (clazz.getSuperclass() != null) {
+            fields.addAll(asList(of(clazz.getSuperclass()).fields()));
+        }
+        return fields.toArray(new Field[0]);
+    }
+
+    private static Field[] hideShadowedFields(Field[] fields) {
+        Set<String> names = new HashSet<>(mapCapacity(fields.length));
+        List<Field> visible = new ArrayList<>(fields.length);
+        for (Field field : fields) {
+            if (names.add(field.getName()))
+                visible.add(field);
+        }
+        return visible.size() == fields.length ? fields : visible.toArray(new Field[0]);
+    }
+
+    private static Map<String, Integer> indexFields(Field[] fields) {
+        Map<String, Integer> index = new HashMap<>(mapCapacity(fields.length));
+        for (int i = 0; i < fields.length; i++) {
+            index.put(fields[i].getName(), i);
+        }
+        return index;
+    }
+
+    private static Method[] collectMethods(Class<?> clazz) {
+        Set<Method> allMethods = new HashSet<>();
+        if (clazz.getSuperclass() != null) {
+            allMethods.addAll(asList(of(clazz.getSuperclass()).methods()));
+        }
+        allMethods.addAll(asList(clazz.getDeclaredMethods()));
+        allMethods.addAll(asList(clazz.getMethods()));
+        return allMethods.toArray(new Method[0]);
+    }
+
+    private static Map<String, Method> indexMethods(Method[] methods) {
+        Map<String, Method> index = new HashMap<>(mapCapacity(methods.length));
+        for (Method method : methods) {
+            index.putIfAbsent(method.getName(), method);
+        }
+        return index;
+    }
+
+    private static Map<String, Method[]> indexOverloads(Method[] methods) {
+        Map<String, List<Method>> overloads = new HashMap<>();
+        for (Method method : methods) {
+            if (method.isBridge())
+                continue;
+
+            List<Method> sameName = overloads.computeIfAbsent(method.getName(), name -> new ArrayList<>(1));
+            addMostDerived(sameName, method);
+        }
+
+        Map<String, Method[]> index = new HashMap<>(mapCapacity(overloads.size()));
+        overloads.forEach((name, list) -> index.put(name, list.toArray(new Method[0])));
+        return index;
+    }
+
+    /**
+     * Keep one method per parameter types: the overriding one
+     */
+    private static void addMostDerived(List<Method> sameName, Method method) {
+        for (int i = 0; i < sameName.size(); i++) {
+            Method other = sameName.get(i);
+            if (Arrays.equals(other.getParameterTypes(), method.getParameterTypes())) {
+                if (overrides(method, other))
+                    sameName.set(i, method);
+                return;
+            }
+        }
+        sameName.add(method);
+    }
+
+    private static boolean overrides(Method method, Method other) {
+        Class<?> declaring = method.getDeclaringClass();
+        Class<?> otherDeclaring = other.getDeclaringClass();
+        if (otherDeclaring.isInterface() && !declaring.isInterface())
+            return true;
+        return declaring != otherDeclaring && otherDeclaring.isAssignableFrom(declaring);
+    }
+
+    static int mapCapacity(int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
+}
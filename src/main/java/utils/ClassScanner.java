@@ -0,0 +1,93 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Finds classes of a package and its subpackages in directories and jar files of a class loader.
+ * Classes are loaded without initialization, classes that fail to load are skipped.
+ */
+final class ClassScanner {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private ClassScanner() { }
+
+    /**
+     * @param packageName package name, for example "utils.data"
+     * @param loader loader
+     * @return classes sorted by name
+     * @throws UncheckedIOException if a directory or jar file cannot be read
+     */
+    static List<Class<?>> scan(String packageName, ClassLoader loader) {
+        String path = packageName.replace('.', '/');
+        Set<String> names = new TreeSet<>();
+        try {
+            Enumeration<URL> roots = loader.getResources(path);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol()))
+                    scanDirectory(Paths.get(root.toURI()), packageName, names);
+                else if ("jar".equals(root.getProtocol()))
+                    scanJar(root, path, names);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot scan package: " + packageName, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Cannot scan package: " + packageName, e);
+        }
+
+        List<Class<?>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                classes.add(Class.forName(name, false, loader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // optional dependency of the class is missing, nothing to warm up
+            }
+        }
+        return classes;
+    }
+
+    private static void scanDirectory(Path directory, String packageName, Set<String> names) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.toString().endsWith(CLASS_SUFFIX)).forEach(file -> {
+                String relative = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+                String name = relative.substring(0, relative.length() - CLASS_SUFFIX.length());
+                addClassName(packageName.isEmpty() ? name : packageName + '.' + name, names);
+            });
+        }
+    }
+
+    private static void scanJar(URL root, String path, Set<String> names) throws IOException {
+        JarURLConnection connection = (JarURLConnection) root.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jar = connection.getJarFile()) {
+            String prefix = path.isEmpty() ? "" : path + '/';
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String entry = entries.nextElement().getName();
+                if (entry.startsWith(prefix) && entry.endsWith(CLASS_SUFFIX))
+                    addClassName(entry.substring(0, entry.length() - CLASS_SUFFIX.length()).replace('/', '.'), names);
+            }
+        }
+    }
+
+    private static void addClassName(String name, Set<String> names) {
+        if (!name.endsWith("package-info") && !name.endsWith("module-info"))
+            names.add(name);
+    }
+}
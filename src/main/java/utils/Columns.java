@@ -0,0 +1,219 @@
+package utils;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Reading and writing one field across many objects. The field is resolved once per concrete class in a row,
+ * primitive fields are read into and written from primitive arrays without boxing.
+ */
+final class Columns {
+
+    private static final int MIN_CHUNK_SIZE = 4096;
+
+    private Columns() { }
+
+    /**
+     * @param objects objects, null elements give default values
+     * @param fieldName fieldName
+     * @param parallel split in chunks over the common fork-join pool
+     * @return primitive array if the field of the first non-null object is primitive, otherwise {@code Object[]}
+     */
+    static Object extract(Collection<?> objects, String fieldName, boolean parallel) {
+        Object[] rows = objects.toArray();
+        Class<?> type = columnType(rows, fieldName);
+        Object column = newColumn(type, rows.length);
+        forEachChunk(rows.length, parallel, (from, to) -> fill(rows, fieldName, column, from, to));
+        return column;
+    }
+
+    /**
+     * @param objects objects, null elements give default values
+     * @param fieldName fieldName
+     * @param type int, long, double or Object
+     * @return column of given type
+     */
+    static Object extract(Collection<?> objects, String fieldName, Class<?> type) {
+        Object[] rows = objects.toArray();
+        Object column = newColumn(type, rows.length);
+        fill(rows, fieldName, column, 0, rows.length);
+        return column;
+    }
+
+    /**
+     * @param targets targets, null elements are skipped
+     * @param fieldName fieldName
+     * @param values primitive array or {@code Object[]} with the same length as targets
+     * @param parallel split in chunks over the common fork-join pool
+     */
+    static void scatter(Collection<?> targets, String fieldName, Object values, boolean parallel) {
+        Object[] rows = targets.toArray();
+        int length = values == null || !values.getClass().isArray() ? -1 : Array.getLength(values);
+        if (length != rows.length) {
+            String msg = String.format("Values must be an array of the same length as targets: %d", rows.length);
+            throw new IllegalArgumentException(msg);
+        }
+        forEachChunk(rows.length, parallel, (from, to) -> write(rows, fieldName, values, from, to));
+    }
+
+    static void forEachChunk(int size, boolean parallel, Chunk chunk) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (!parallel || size < 2 * MIN_CHUNK_SIZE || parallelism < 2) {
+            chunk.run(0, size);
+            return;
+        }
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4) + 1);
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        IntStream.range(0, chunks).parallel()
+                .forEach(i -> chunk.run(i * chunkSize, Math.min(size, (i + 1) * chunkSize)));
+    }
+
+    private static Class<?> columnType(Object[] rows, String fieldName) {
+        for (Object row : rows) {
+            if (row != null)
+                return accessor(row.getClass(), fieldName).getType();
+        }
+        return Object.class;
+    }
+
+    private static Object newColumn(Class<?> type, int size) {
+        if (type == int.class) return new int[size];
+        if (type == long.class) return new long[size];
+        if (type == double.class) return new double[size];
+        if (type == boolean.class) return new boolean[size];
+        if (type == float.class) return new float[size];
+        if (type == short.class) return new short[size];
+        if (type == byte.class) return new byte[size];
+        if (type == char.class) return new char[size];
+        return new Object[size];
+    }
+
+    private static void fill(Object[] rows, String fieldName, Object column, int from, int to) {
+        Resolver resolver = new Resolver(fieldName);
+        if (column instanceof int[]) {
+            int[] values = (int[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = resolver.of(rows[i]).getInt(rows[i]);
+            }
+        } else if (column instanceof long[]) {
+            long[] values = (long[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = resolver.of(rows[i]).getLong(rows[i]);
+            }
+        } else if (column instanceof double[]) {
+            double[] values = (double[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = resolver.of(rows[i]).getDouble(rows[i]);
+            }
+        } else if (column instanceof boolean[]) {
+            boolean[] values = (boolean[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = resolver.of(rows[i]).getBoolean(rows[i]);
+            }
+        } else if (column instanceof float[]) {
+            float[] values = (float[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = (float) resolver.of(rows[i]).getDouble(rows[i]);
+            }
+        } else if (column instanceof short[]) {
+            short[] values = (short[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = (short) resolver.of(rows[i]).getInt(rows[i]);
+            }
+        } else if (column instanceof byte[]) {
+            byte[] values = (byte[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = (byte) resolver.of(rows[i]).getInt(rows[i]);
+            }
+        } else if (column instanceof char[]) {
+            char[] values = (char[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = (char) resolver.of(rows[i]).getInt(rows[i]);
+            }
+        } else {
+            Object[] values = (Object[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) values[i] = resolver.of(rows[i]).get(rows[i]);
+            }
+        }
+    }
+
+    /**
+     * int, long, double and boolean are written without boxing, other primitives are boxed
+     */
+    private static void write(Object[] rows, String fieldName, Object column, int from, int to) {
+        Resolver resolver = new Resolver(fieldName);
+        if (column instanceof int[]) {
+            int[] values = (int[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) resolver.of(rows[i]).setInt(rows[i], values[i]);
+            }
+        } else if (column instanceof long[]) {
+            long[] values = (long[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) resolver.of(rows[i]).setLong(rows[i], values[i]);
+            }
+        } else if (column instanceof double[]) {
+            double[] values = (double[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) resolver.of(rows[i]).setDouble(rows[i], values[i]);
+            }
+        } else if (column instanceof boolean[]) {
+            boolean[] values = (boolean[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) resolver.of(rows[i]).setBoolean(rows[i], values[i]);
+            }
+        } else if (column instanceof Object[]) {
+            Object[] values = (Object[]) column;
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) resolver.of(rows[i]).set(rows[i], values[i]);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                if (rows[i] != null) resolver.of(rows[i]).set(rows[i], Array.get(column, i));
+            }
+        }
+    }
+
+    private static FieldAccessor accessor(Class<?> clazz, String fieldName) {
+        FieldAccessor accessor = ClassMetadata.of(clazz).accessor(fieldName);
+        if (accessor == null) {
+            String msg = String.format("Cannot find field name: '%s' from class: '%s'", fieldName, clazz);
+            throw new IllegalArgumentException(msg);
+        }
+        return accessor;
+    }
+
+    /**
+     * Range of indexes [from, to)
+     */
+    @FunctionalInterface
+    interface Chunk {
+        void run(int from, int to);
+    }
+
+    /**
+     * Accessor of the last seen class, rows of the same class usually go in a row
+     */
+    static final class Resolver {
+        private final String fieldName;
+        private Class<?> type;
+        private FieldAccessor accessor;
+
+        Resolver(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        FieldAccessor of(Object row) {
+            Class<?> rowType = row.getClass();
+            if (rowType != type) {
+                accessor = accessor(rowType, fieldName);
+                type = rowType;
+            }
+            return accessor;
+        }
+    }
+}
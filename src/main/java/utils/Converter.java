@@ -0,0 +1,18 @@
+package utils;
+
+/**
+ * Converts a non-null value to another type
+ *
+ * @param <S> type of source value
+ * @param <T> type of result
+ * @see ConverterRegistry
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    /**
+     * @param value value, never null
+     * @return converted value
+     */
+    T convert(S value);
+}
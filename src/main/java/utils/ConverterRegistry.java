@@ -0,0 +1,262 @@
+package utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * Registry of {@link Converter}s keyed by source type and target type.
+ *
+ * The converter for a pair of types is resolved once and cached, so a conversion costs two hash lookups.
+ * The cache entry lives with the class whose class loader sees the other class, so it does not pin class loaders;
+ * pairs of classes from unrelated class loaders are resolved on each call. Resolution order:
+ * <ol>
+ *     <li>primitive target types are replaced by their wrappers</li>
+ *     <li>if the value is already an instance of the target type, it is returned as is</li>
+ *     <li>a converter registered for the source type or the nearest of its superclasses and interfaces</li>
+ *     <li>enum target types are converted from names and ordinals</li>
+ *     <li>otherwise the value is returned as is</li>
+ * </ol>
+ *
+ * {@link #getDefault()} supports boxed primitives, {@link BigDecimal}, {@link BigInteger}, enums,
+ * {@link UUID}, {@link Date} and java.time types, it is used by {@link ReflectionUtils#castFieldValueByType(Class, Object)}.
+ */
+public final class ConverterRegistry {
+
+    private static final Converter<Object, Object> IDENTITY = value -> value;
+
+    private static final ConverterRegistry DEFAULT = withDefaults();
+
+    private final ConcurrentMap<Class<?>, Map<Class<?>, Converter<Object, Object>>> registered = new ConcurrentHashMap<>();
+
+    // source type -> target type -> converter, for targets loaded by the loader of source or its parents
+    private volatile ClassValue<ConcurrentMap<Class<?>, Converter<Object, Object>>> resolvedBySource = newCache();
+
+    // target type -> source type -> converter, for sources loaded by the loader of target or its parents
+    private volatile ClassValue<ConcurrentMap<Class<?>, Converter<Object, Object>>> resolvedByTarget = newCache();
+
+    /**
+     * Empty registry
+     */
+    public ConverterRegistry() { }
+
+    /**
+     * @return shared registry with default converters
+     */
+    public static ConverterRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return new registry with default converters
+     */
+    public static ConverterRegistry withDefaults() {
+        ConverterRegistry registry = new ConverterRegistry();
+        registerDefaults(registry);
+        return registry;
+    }
+
+    /**
+     * Register converter, it also applies to subtypes of source type
+     *
+     * @param sourceType sourceType
+     * @param targetType targetType
+     * @param converter converter
+     * @param <S> type of source value
+     * @param <T> type of result
+     * @return this registry
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> ConverterRegistry register(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter) {
+        Objects.requireNonNull(converter, "converter");
+        registered.computeIfAbsent(Primitives.wrap(targetType), type -> new ConcurrentHashMap<>())
+                .put(Primitives.wrap(sourceType), (Converter<Object, Object>) converter);
+        resolvedBySource = newCache();
+        resolvedByTarget = newCache();
+        return this;
+    }
+
+    /**
+     * @param sourceType sourceType
+     * @param targetType targetType
+     * @return cached converter, identity if no conversion is needed or known
+     */
+    public Converter<Object, Object> find(Class<?> sourceType, Class<?> targetType) {
+        Class<?> key;
+        ConcurrentMap<Class<?>, Converter<Object, Object>> cache;
+        if (ClassCache.isVisible(targetType, sourceType)) {
+            key = targetType;
+            cache = resolvedBySource.get(sourceType);
+        } else if (ClassCache.isVisible(sourceType, targetType)) {
+            key = sourceType;
+            cache = resolvedByTarget.get(targetType);
+        } else {
+            return resolve(sourceType, Primitives.wrap(targetType));
+        }
+
+        Converter<Object, Object> converter = cache.get(key);
+        if (converter == null) {
+            converter = resolve(sourceType, Primitives.wrap(targetType));
+            cache.putIfAbsent(key, converter);
+        }
+        return converter;
+    }
+
+    /**
+     * @param sourceType sourceType
+     * @param targetType targetType
+     * @return true if the converter is already resolved and cached
+     */
+    boolean isResolved(Class<?> sourceType, Class<?> targetType) {
+        if (ClassCache.isVisible(targetType, sourceType))
+            return resolvedBySource.get(sourceType).containsKey(targetType);
+        return ClassCache.isVisible(sourceType, targetType) && resolvedByTarget.get(targetType).containsKey(sourceType);
+    }
+
+    /**
+     * @param value value
+     * @param targetType targetType
+     * @return converted value, null for null
+     */
+    public Object convert(Object value, Class<?> targetType) {
+        if (value == null)
+            return null;
+
+        return find(value.getClass(), targetType).convert(value);
+    }
+
+    private Converter<Object, Object> resolve(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(Primitives.wrap(sourceType)))
+            return IDENTITY;
+
+        Map<Class<?>, Converter<Object, Object>> byTarget = registered.get(targetType);
+        if (byTarget != null) {
+            Converter<Object, Object> converter = findBySupertypes(byTarget, Primitives.wrap(sourceType));
+            if (converter != null)
+                return converter;
+        }
+
+        if (targetType.isEnum())
+            return enumConverter(targetType);
+
+        return IDENTITY;
+    }
+
+    /**
+     * Breadth-first: the class, its interfaces, then the superclass and its interfaces
+     */
+    private static Converter<Object, Object> findBySupertypes(Map<Class<?>, Converter<Object, Object>> bySource, Class<?> sourceType) {
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        queue.add(sourceType);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!visited.add(type))
+                continue;
+
+            Converter<Object, Object> converter = bySource.get(type);
+            if (converter != null)
+                return converter;
+
+            queue.addAll(Arrays.asList(type.getInterfaces()));
+            if (type.getSuperclass() != null)
+                queue.add(type.getSuperclass());
+        }
+        // interfaces do not extend Object
+        return sourceType.isInterface() ? bySource.get(Object.class) : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Converter<Object, Object> enumConverter(Class<?> enumType) {
+        Object[] constants = enumType.getEnumConstants();
+        return value -> {
+            if (value instanceof Number) {
+                int ordinal = ((Number) value).intValue();
+                if (ordinal < 0 || ordinal >= constants.length)
+                    throw new IllegalArgumentException(format("Ordinal %d out of range of enum %s", ordinal, enumType.getName()));
+                return constants[ordinal];
+            }
+            return Enum.valueOf((Class<? extends Enum>) enumType, value.toString().trim());
+        };
+    }
+
+    private static ClassValue<ConcurrentMap<Class<?>, Converter<Object, Object>>> newCache() {
+        return new ClassValue<ConcurrentMap<Class<?>, Converter<Object, Object>>>() {
+            @Override
+            protected ConcurrentMap<Class<?>, Converter<Object, Object>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    private static void registerDefaults(ConverterRegistry registry) {
+        registry.register(String.class, Boolean.class, ConverterRegistry::convertStringToBoolean);
+        registry.register(Number.class, Boolean.class, number -> number.doubleValue() != 0);
+
+        registerNumber(registry, Double.class, Double::valueOf, Number::doubleValue);
+        registerNumber(registry, Float.class, Float::valueOf, Number::floatValue);
+        registerNumber(registry, Long.class, Long::valueOf, Number::longValue);
+        registerNumber(registry, Integer.class, Integer::valueOf, Number::intValue);
+        registerNumber(registry, Short.class, Short::valueOf, Number::shortValue);
+        registerNumber(registry, Byte.class, Byte::valueOf, Number::byteValue);
+        registerNumber(registry, BigDecimal.class, BigDecimal::new, ConverterRegistry::toBigDecimal);
+        registerNumber(registry, BigInteger.class, BigInteger::new, ConverterRegistry::toBigInteger);
+
+        registry.register(String.class, Character.class, ConverterRegistry::toCharacter);
+        registry.register(String.class, UUID.class, UUID::fromString);
+
+        registry.register(CharSequence.class, LocalDate.class, LocalDate::parse);
+        registry.register(CharSequence.class, LocalDateTime.class, LocalDateTime::parse);
+        registry.register(CharSequence.class, LocalTime.class, LocalTime::parse);
+        registry.register(CharSequence.class, OffsetDateTime.class, OffsetDateTime::parse);
+        registry.register(CharSequence.class, ZonedDateTime.class, ZonedDateTime::parse);
+        registry.register(CharSequence.class, Instant.class, Instant::parse);
+        registry.register(CharSequence.class, Duration.class, Duration::parse);
+        registry.register(CharSequence.class, Period.class, Period::parse);
+        registry.register(Number.class, Instant.class, millis -> Instant.ofEpochMilli(millis.longValue()));
+        registry.register(Date.class, Instant.class, Date::toInstant);
+        registry.register(Instant.class, Date.class, Date::from);
+        registry.register(Number.class, Date.class, millis -> new Date(millis.longValue()));
+    }
+
+    private static <T> void registerNumber(ConverterRegistry registry, Class<T> type,
+                                           Function<String, T> fromString, Function<Number, T> fromNumber) {
+        registry.register(String.class, type, fromString::apply);
+        registry.register(Number.class, type, fromNumber::apply);
+    }
+
+    private static boolean convertStringToBoolean(String s) {
+        String trim = s.trim();
+        return !trim.equals("") && !trim.equals("0") && !trim.toLowerCase().equals("false");
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal)
+            return (BigDecimal) number;
+        if (number instanceof BigInteger)
+            return new BigDecimal((BigInteger) number);
+        if (number instanceof Double || number instanceof Float)
+            return BigDecimal.valueOf(number.doubleValue());
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    private static BigInteger toBigInteger(Number number) {
+        if (number instanceof BigInteger)
+            return (BigInteger) number;
+        if (number instanceof BigDecimal)
+            return ((BigDecimal) number).toBigInteger();
+        return BigInteger.valueOf(number.longValue());
+    }
+
+    private static Character toCharacter(String s) {
+        if (s.length() != 1)
+            throw new IllegalArgumentException(format("Cannot convert '%s' to character", s));
+        return s.charAt(0);
+    }
+}
@@ -0,0 +1,420 @@
+package utils;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Deep copy of object graphs driven by the cached field plans of classes.
+ *
+ * <ul>
+ *     <li>copies are created without running constructors where possible, see {@link ReflectionUtils#newInstance(Class, Object...)}
+ *     for creation with constructors</li>
+ *     <li>all instance fields of the class and parents are copied, transient fields too; primitive fields without boxing</li>
+ *     <li>arrays are copied in bulk with {@link System#arraycopy(Object, int, Object, int, int)},
+ *     then elements of reference arrays are copied deeply</li>
+ *     <li>instances of immutable types and enums are shared, not copied</li>
+ *     <li>an object referenced several times is copied once, so shared references and cycles are preserved</li>
+ * </ul>
+ *
+ * The graph is walked with a work queue instead of recursion, so long chains do not overflow the stack.
+ *
+ * JDK classes are never copied field by field. JDK collections and maps, and subclasses of them, are recreated
+ * empty and refilled with copies of their elements once the whole graph is copied, so hash-based containers
+ * place keys by the hash codes of the copies. Comparators of sorted collections are shared. JDK containers
+ * without a public no-arg constructor, such as unmodifiable views, are recreated as {@link ArrayList},
+ * {@link LinkedHashSet} or {@link LinkedHashMap}. Other JDK classes are copied with their public {@code clone()}
+ * if they are {@link Cloneable}, otherwise they must be registered as immutable. Fields declared by JDK parents
+ * of other classes, such as the message of an exception, are not copied: the copy is created by its no-arg
+ * constructor if it exists, so this part of the copy is in its initial state.
+ *
+ * {@link #getDefault()} shares strings, boxed primitives, {@link BigDecimal}, {@link BigInteger}, {@link UUID}
+ * and java.time value types, it is used by {@link ReflectionUtils#deepClone(Object)}.
+ */
+public final class DeepCloner {
+
+    private static final DeepCloner DEFAULT = withDefaults();
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<Layout>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    private static final ClassValue<Method> CLONE_METHODS = new ClassValue<Method>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            return publicClone(type);
+        }
+    };
+
+    private final Set<Class<?>> immutables = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Cloner without immutable types except enums
+     */
+    public DeepCloner() { }
+
+    /**
+     * @return shared cloner with default immutable types
+     */
+    public static DeepCloner getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return new cloner with default immutable types
+     */
+    public static DeepCloner withDefaults() {
+        DeepCloner cloner = new DeepCloner();
+        registerDefaults(cloner);
+        return cloner;
+    }
+
+    /**
+     * Register immutable type, its instances are shared instead of copied. It does not apply to subtypes
+     *
+     * @param type type
+     * @return this cloner
+     */
+    public DeepCloner registerImmutable(Class<?> type) {
+        immutables.add(Objects.requireNonNull(type, "type"));
+        return this;
+    }
+
+    /**
+     * @param type type
+     * @return true if instances of type are shared instead of copied
+     */
+    public boolean isImmutable(Class<?> type) {
+        return immutables.contains(type) || type.isEnum() || Enum.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @param source source
+     * @param <T> type of source
+     * @return deep copy of source, null for null
+     * @throws IllegalArgumentException if some class of the graph cannot be instantiated, its field cannot be written
+     *                                  or it is a JDK class that can be neither copied nor shared
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T deepClone(T source) {
+        if (source == null)
+            return null;
+
+        Copy copy = new Copy();
+        T result = (T) copy.copyOf(source);
+        copy.drain();
+        return result;
+    }
+
+    private static void registerDefaults(DeepCloner cloner) {
+        Class<?>[] types = {
+                String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+                Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class, Class.class,
+                Locale.class, Currency.class, Pattern.class, URI.class, File.class,
+                Instant.class, Duration.class, Period.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+                OffsetDateTime.class, ZonedDateTime.class, ZoneOffset.class
+        };
+        for (Class<?> type : types) {
+            cloner.registerImmutable(type);
+        }
+    }
+
+    /**
+     * @return public {@code clone()} of a public JDK class or null
+     */
+    private static Method publicClone(Class<?> type) {
+        if (!Cloneable.class.isAssignableFrom(type) || !Modifier.isPublic(type.getModifiers()))
+            return null;
+        try {
+            Method clone = type.getMethod("clone");
+            return Modifier.isPublic(clone.getDeclaringClass().getModifiers()) ? clone : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * How instances of a class are copied: the fields to copy and whether elements are re-added
+     */
+    private static final class Layout {
+        final FieldPlan plan;
+        final boolean rebuild;
+        final boolean construct;
+
+        private Layout(FieldPlan plan, boolean rebuild, boolean construct) {
+            this.plan = plan;
+            this.rebuild = rebuild;
+            this.construct = construct;
+        }
+
+        /**
+         * Fields of JDK parents are internals and are skipped, the plan has only fields of other classes.
+         * A collection or map with a concrete JDK parent keeps its elements there, so it is rebuilt,
+         * one with an abstract JDK parent like {@link java.util.AbstractList} keeps them in own fields.
+         * Other classes with a JDK parent are constructed, so the JDK part is initialized
+         */
+        static Layout of(Class<?> type) {
+            FieldPlan plan = ClassMetadata.of(type).fieldPlan(ObjectMethods.INCLUDE_TRANSIENT);
+            Class<?> jdkParent = type;
+            while (!JdkTypes.isJdkClass(jdkParent)) {
+                jdkParent = jdkParent.getSuperclass();
+            }
+            if (!Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type))
+                return new Layout(plan, false, jdkParent != Object.class);
+            return new Layout(plan, jdkParent != Object.class && !Modifier.isAbstract(jdkParent.getModifiers()), false);
+        }
+    }
+
+    /**
+     * State of one deep copy: copies by identity of their sources and objects whose fields are not yet copied
+     */
+    private final class Copy {
+        private final Map<Object, Object> copies = new IdentityHashMap<>();
+        private final ArrayDeque<Object> pending = new ArrayDeque<>();
+        private final ArrayDeque<Object> containers = new ArrayDeque<>();
+
+        // copies of collections and maps followed by copies of their elements, refilled after all fields are copied
+        private final List<Object> fills = new ArrayList<>();
+
+        /**
+         * @return shared value, existing copy or new copy whose fields or elements are copied later
+         */
+        Object copyOf(Object value) {
+            if (value == null)
+                return null;
+            Class<?> type = value.getClass();
+            if (isImmutable(type))
+                return value;
+
+            Object copy = copies.get(value);
+            if (copy != null)
+                return copy;
+
+            if (type.isArray()) {
+                int length = Array.getLength(value);
+                copy = Array.newInstance(type.getComponentType(), length);
+                System.arraycopy(value, 0, copy, 0, length);
+                copies.put(value, copy);
+                Class<?> componentType = type.getComponentType();
+                if (!componentType.isPrimitive() && !isImmutable(componentType))
+                    enqueue(pending, value, copy);
+                return copy;
+            }
+
+            if (value instanceof Collection || value instanceof Map) {
+                if (LAYOUTS.get(type).rebuild) {
+                    copy = newContainer(value, type);
+                    copies.put(value, copy);
+                    // elements of enum sets are shared, the clone is complete
+                    if (!(value instanceof EnumSet))
+                        enqueue(containers, value, copy);
+                    return copy;
+                }
+            } else if (JdkTypes.isJdkClass(type)) {
+                copy = copyJdkValue(value, type);
+                copies.put(value, copy);
+                return copy;
+            }
+
+            copy = LAYOUTS.get(type).construct ? construct(type) : ClassMetadata.of(type).allocate();
+            copies.put(value, copy);
+            enqueue(pending, value, copy);
+            return copy;
+        }
+
+        /**
+         * @return new instance created by the no-arg constructor, allocated if it does not exist
+         */
+        private Object construct(Class<?> type) {
+            ClassMetadata metadata = ClassMetadata.of(type);
+            Instantiator<?> instantiator = metadata.resolveConstructor(new Class<?>[0]);
+            return instantiator == null ? metadata.allocate() : instantiator.newInstance0();
+        }
+
+        void drain() {
+            while (true) {
+                Object source = pending.poll();
+                if (source != null) {
+                    Object copy = pending.poll();
+                    if (source instanceof Object[])
+                        copyElements((Object[]) source, (Object[]) copy);
+                    else
+                        copyFields(source, copy, LAYOUTS.get(source.getClass()).plan);
+                } else if ((source = containers.poll()) != null) {
+                    Object copy = containers.poll();
+                    copyFields(source, copy, LAYOUTS.get(source.getClass()).plan);
+                    copyContainerElements(source, copy);
+                } else {
+                    break;
+                }
+            }
+
+            // containers found later are nested deeper, they are filled before the containers holding them
+            for (int i = fills.size() - 2; i >= 0; i -= 2) {
+                fill(fills.get(i), (Object[]) fills.get(i + 1));
+            }
+        }
+
+        private void enqueue(ArrayDeque<Object> queue, Object source, Object copy) {
+            queue.add(source);
+            queue.add(copy);
+        }
+
+        private void copyElements(Object[] source, Object[] copy) {
+            for (int i = 0; i < source.length; i++) {
+                copy[i] = copyOf(source[i]);
+            }
+        }
+
+        private void copyFields(Object source, Object copy, FieldPlan plan) {
+            FieldAccessor[] accessors = plan.accessors;
+            byte[] kinds = plan.kinds;
+            for (int i = 0; i < accessors.length; i++) {
+                FieldAccessor accessor = accessors[i];
+                if (kinds[i] == FieldPlan.OBJECT)
+                    accessor.set(copy, copyOf(accessor.get(source)));
+                else
+                    accessor.copy(source, copy);
+            }
+        }
+
+        private void copyContainerElements(Object source, Object copy) {
+            Object[] elements;
+            if (source instanceof Map) {
+                List<Object> entries = new ArrayList<>();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+                    entries.add(copyOf(entry.getKey()));
+                    entries.add(copyOf(entry.getValue()));
+                }
+                elements = entries.toArray();
+            } else {
+                elements = ((Collection<?>) source).toArray();
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = copyOf(elements[i]);
+                }
+            }
+            fills.add(copy);
+            fills.add(elements);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fill(Object container, Object[] elements) {
+            if (container instanceof Map) {
+                Map<Object, Object> map = (Map<Object, Object>) container;
+                for (int i = 0; i < elements.length; i += 2) {
+                    map.put(elements[i], elements[i + 1]);
+                }
+            } else {
+                Collection<Object> collection = (Collection<Object>) container;
+                for (Object element : elements) {
+                    collection.add(element);
+                }
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object newContainer(Object value, Class<?> type) {
+            if (value instanceof EnumSet)
+                return ((EnumSet<?>) value).clone();
+            if (type == EnumMap.class) {
+                EnumMap<?, ?> copy = new EnumMap<>((EnumMap) value);
+                copy.clear();
+                return copy;
+            }
+
+            boolean jdkClass = JdkTypes.isJdkClass(type);
+            Comparator<Object> comparator = (Comparator<Object>) comparatorOf(value);
+            if (comparator != null && jdkClass) {
+                if (value instanceof ConcurrentSkipListMap)
+                    return new ConcurrentSkipListMap<>(comparator);
+                if (value instanceof SortedMap)
+                    return new TreeMap<>(comparator);
+                if (value instanceof ConcurrentSkipListSet)
+                    return new ConcurrentSkipListSet<>(comparator);
+                if (value instanceof SortedSet)
+                    return new TreeSet<>(comparator);
+                if (value instanceof PriorityBlockingQueue)
+                    return new PriorityBlockingQueue<>(11, comparator);
+                return new PriorityQueue<>(comparator);
+            }
+
+            Object copy = JdkTypes.newContainer(type);
+            if (copy != null)
+                return copy;
+            if (!jdkClass)
+                throw new IllegalArgumentException("Cannot copy collection or map without no-arg constructor: " + type);
+            return JdkTypes.newGenericContainer(type);
+        }
+
+        private Comparator<?> comparatorOf(Object value) {
+            if (value instanceof SortedMap)
+                return ((SortedMap<?, ?>) value).comparator();
+            if (value instanceof SortedSet)
+                return ((SortedSet<?>) value).comparator();
+            if (value instanceof PriorityQueue)
+                return ((PriorityQueue<?>) value).comparator();
+            if (value instanceof PriorityBlockingQueue)
+                return ((PriorityBlockingQueue<?>) value).comparator();
+            return null;
+        }
+
+        private Object copyJdkValue(Object value, Class<?> type) {
+            if (type == Object.class)
+                return new Object();
+
+            Method clone = CLONE_METHODS.get(type);
+            if (clone == null)
+                throw new IllegalArgumentException("Cannot copy JDK class without public clone(), register it as immutable: " + type);
+            try {
+                return clone.invoke(value);
+            } catch (InvocationTargetException e) {
+                throw new IllegalArgumentException("Cannot copy JDK class: " + type, e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot copy JDK class without public clone(), register it as immutable: " + type, e);
+            }
+        }
+    }
+}
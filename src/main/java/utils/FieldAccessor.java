@@ -0,0 +1,367 @@
+package utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static java.lang.String.format;
+
+/**
+ * Read and write access to a single field with any access modifier.
+ * The field is resolved and compiled to {@link MethodHandle}s once,
+ * so repeated calls skip lookup and access checks.
+ *
+ * Primitive accessors like {@link #getInt(Object)} read and write primitive fields without boxing,
+ * wrapper fields are unboxed and boxed on the fly.
+ *
+ * Obtain an instance with {@link ReflectionUtils#accessor(Class, String)} and keep it.
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    // typed by field type: (Object)T and (Object, T)void
+    private final MethodHandle exactGetter;
+    private final MethodHandle exactSetter;
+
+    // primitive-specialized handles, null if the field type cannot be converted
+    private final MethodHandle intGetter;
+    private final MethodHandle longGetter;
+    private final MethodHandle doubleGetter;
+    private final MethodHandle booleanGetter;
+    private final MethodHandle intSetter;
+    private final MethodHandle longSetter;
+    private final MethodHandle doubleSetter;
+    private final MethodHandle booleanSetter;
+
+    // (Object target, Object source)void, created on first copy
+    private MethodHandle copier;
+
+    FieldAccessor(Field field) {
+        this.field = field;
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            // InaccessibleObjectException on JDK 9+ for fields of modules that are not open
+            throw new IllegalArgumentException(format("Cannot access field name: '%s' of %s", field.getName(), field.getDeclaringClass()), e);
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle rawGetter = unreflectGetter(lookup, field);
+        MethodHandle rawSetter = unreflectSetter(lookup, field);
+        this.exactGetter = rawGetter.asType(rawGetter.type().changeParameterType(0, Object.class));
+        this.exactSetter = rawSetter == null ? null : rawSetter.asType(rawSetter.type().changeParameterType(0, Object.class));
+        this.getter = rawGetter.asType(GETTER_TYPE);
+        this.setter = rawSetter == null ? null : rawSetter.asType(SETTER_TYPE);
+
+        boolean numeric = Primitives.isPrimitiveOrWrapper(field.getType());
+        this.intGetter = numeric ? getterAs(rawGetter, int.class) : null;
+        this.longGetter = numeric ? getterAs(rawGetter, long.class) : null;
+        this.doubleGetter = numeric ? getterAs(rawGetter, double.class) : null;
+        this.booleanGetter = numeric ? getterAs(rawGetter, boolean.class) : null;
+        this.intSetter = numeric ? setterAs(rawSetter, int.class) : null;
+        this.longSetter = numeric ? setterAs(rawSetter, long.class) : null;
+        this.doubleSetter = numeric ? setterAs(rawSetter, double.class) : null;
+        this.booleanSetter = numeric ? setterAs(rawSetter, boolean.class) : null;
+    }
+
+    /**
+     * @return field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return name of field
+     */
+    public String getName() {
+        return field.getName();
+    }
+
+    /**
+     * @return type of field
+     */
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * @return true if field is static
+     */
+    public boolean isStatic() {
+        return Modifier.isStatic(field.getModifiers());
+    }
+
+    /**
+     * Get the contents of the field
+     *
+     * @param obj obj, ignored for static field
+     * @return content of field
+     * @throws IllegalArgumentException if obj is not instance of declaring class
+     */
+    public Object get(Object obj) {
+        try {
+            return getter.invokeExact(obj);
+        } catch (Throwable e) {
+            throw failure("Cannot get field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Set the contents to the field
+     *
+     * @param obj obj, ignored for static field
+     * @param value value
+     * @throws IllegalArgumentException if obj is not instance of declaring class,
+     *                                  value has wrong type or field cannot be written
+     */
+    public void set(Object obj, Object value) {
+        if (setter == null)
+            throw new IllegalArgumentException("Cannot set final field name: " + getName());
+
+        try {
+            setter.invokeExact(obj, value);
+        } catch (Throwable e) {
+            throw failure("Cannot set field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Get the contents of the field without boxing.
+     * Allowed for {@code int} fields and fields of narrower primitive types
+     *
+     * @param obj obj, ignored for static field
+     * @return content of field
+     * @throws IllegalArgumentException if field cannot be read as {@code int}
+     */
+    public int getInt(Object obj) {
+        try {
+            return (int) typed(intGetter, int.class).invokeExact(obj);
+        } catch (Throwable e) {
+            throw failure("Cannot get field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Get the contents of the field without boxing.
+     * Allowed for {@code long} fields and fields of narrower primitive types
+     *
+     * @param obj obj, ignored for static field
+     * @return content of field
+     * @throws IllegalArgumentException if field cannot be read as {@code long}
+     */
+    public long getLong(Object obj) {
+        try {
+            return (long) typed(longGetter, long.class).invokeExact(obj);
+        } catch (Throwable e) {
+            throw failure("Cannot get field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Get the contents of the field without boxing.
+     * Allowed for {@code double} fields and fields of narrower primitive types
+     *
+     * @param obj obj, ignored for static field
+     * @return content of field
+     * @throws IllegalArgumentException if field cannot be read as {@code double}
+     */
+    public double getDouble(Object obj) {
+        try {
+            return (double) typed(doubleGetter, double.class).invokeExact(obj);
+        } catch (Throwable e) {
+            throw failure("Cannot get field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Get the contents of the {@code boolean} field without boxing
+     *
+     * @param obj obj, ignored for static field
+     * @return content of field
+     * @throws IllegalArgumentException if field cannot be read as {@code boolean}
+     */
+    public boolean getBoolean(Object obj) {
+        try {
+            return (boolean) typed(booleanGetter, boolean.class).invokeExact(obj);
+        } catch (Throwable e) {
+            throw failure("Cannot get field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Set the contents to the field without boxing.
+     * Allowed for {@code int} fields and fields of wider primitive types
+     *
+     * @param obj obj, ignored for static field
+     * @param value value
+     * @throws IllegalArgumentException if field cannot be written as {@code int}
+     */
+    public void setInt(Object obj, int value) {
+        try {
+            typed(intSetter, int.class).invokeExact(obj, value);
+        } catch (Throwable e) {
+            throw failure("Cannot set field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Set the contents to the field without boxing.
+     * Allowed for {@code long} fields and fields of wider primitive types
+     *
+     * @param obj obj, ignored for static field
+     * @param value value
+     * @throws IllegalArgumentException if field cannot be written as {@code long}
+     */
+    public void setLong(Object obj, long value) {
+        try {
+            typed(longSetter, long.class).invokeExact(obj, value);
+        } catch (Throwable e) {
+            throw failure("Cannot set field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Set the contents to the {@code double} field without boxing
+     *
+     * @param obj obj, ignored for static field
+     * @param value value
+     * @throws IllegalArgumentException if field cannot be written as {@code double}
+     */
+    public void setDouble(Object obj, double value) {
+        try {
+            typed(doubleSetter, double.class).invokeExact(obj, value);
+        } catch (Throwable e) {
+            throw failure("Cannot set field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Set the contents to the {@code boolean} field without boxing
+     *
+     * @param obj obj, ignored for static field
+     * @param value value
+     * @throws IllegalArgumentException if field cannot be written as {@code boolean}
+     */
+    public void setBoolean(Object obj, boolean value) {
+        try {
+            typed(booleanSetter, boolean.class).invokeExact(obj, value);
+        } catch (Throwable e) {
+            throw failure("Cannot set field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * Copy the contents of the field from source to target without boxing
+     *
+     * @param source source
+     * @param target target
+     * @throws IllegalArgumentException if objects are not instances of declaring class or field cannot be written
+     */
+    void copy(Object source, Object target) {
+        // benign race: handle is immutable, at worst it is created twice
+        MethodHandle handle = copier;
+        if (handle == null) {
+            if (exactSetter == null)
+                throw new IllegalArgumentException("Cannot set final field name: " + getName());
+            handle = MethodHandles.collectArguments(exactSetter, 1, exactGetter);
+            copier = handle;
+        }
+
+        try {
+            handle.invokeExact(target, source);
+        } catch (Throwable e) {
+            throw failure("Cannot copy field content for field name: " + getName(), e);
+        }
+    }
+
+    /**
+     * @return getter handle of type (Object)T, where T is type of field
+     */
+    MethodHandle exactGetter() {
+        return exactGetter;
+    }
+
+    /**
+     * @return setter handle of type (Object, T)void, where T is type of field, or null if field cannot be written
+     */
+    MethodHandle exactSetter() {
+        return exactSetter;
+    }
+
+    @Override
+    public String toString() {
+        return format("FieldAccessor{%s.%s}", field.getDeclaringClass().getName(), getName());
+    }
+
+    static RuntimeException failure(String msg, Throwable e) {
+        if (e instanceof Error)
+            throw (Error) e;
+        return new IllegalArgumentException(msg, e);
+    }
+
+    private MethodHandle typed(MethodHandle handle, Class<?> type) {
+        if (handle == null) {
+            String msg = format("Field name: '%s' of type '%s' cannot be accessed as %s", getName(), getType().getName(), type);
+            throw new IllegalArgumentException(msg);
+        }
+        return handle;
+    }
+
+    private static MethodHandle getterAs(MethodHandle rawGetter, Class<?> type) {
+        try {
+            return rawGetter.asType(MethodType.methodType(type, Object.class));
+        } catch (WrongMethodTypeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle setterAs(MethodHandle rawSetter, Class<?> type) {
+        if (rawSetter == null)
+            return null;
+
+        try {
+            return rawSetter.asType(MethodType.methodType(void.class, Object.class, type));
+        } catch (WrongMethodTypeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflectGetter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            MethodHandle handle = lookup.unreflectGetter(field);
+            return Modifier.isStatic(field.getModifiers())
+                    ? MethodHandles.dropArguments(handle, 0, Object.class)
+                    : handle;
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access field name: " + field.getName(), e);
+        }
+    }
+
+    /**
+     * @return setter or null if field cannot be written
+     */
+    private static MethodHandle unreflectSetter(MethodHandles.Lookup lookup, Field field) {
+        int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers))
+            return null;
+
+        try {
+            MethodHandle handle = lookup.unreflectSetter(field);
+            return Modifier.isStatic(modifiers)
+                    ? MethodHandles.dropArguments(handle, 0, Object.class)
+                    : handle;
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
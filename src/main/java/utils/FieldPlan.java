@@ -0,0 +1,88 @@
+package utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Fields of a class selected for reflective equals, hashCode and toString, with compiled accessors
+ * and a kind per field, so primitive fields are read without boxing. Computed once per class and selection.
+ *
+ * Fields declared by JDK classes are never selected: they are internals, see {@link JdkTypes}.
+ */
+final class FieldPlan {
+
+    static final byte BOOLEAN = 0;
+    static final byte CHAR = 1;
+    static final byte INT = 2;
+    static final byte LONG = 3;
+    static final byte FLOAT = 4;
+    static final byte DOUBLE = 5;
+    static final byte OBJECT = 6;
+
+    final String name;
+    final FieldAccessor[] accessors;
+    final byte[] kinds;
+
+    private FieldPlan(String name, FieldAccessor[] accessors, byte[] kinds) {
+        this.name = name;
+        this.accessors = accessors;
+        this.kinds = kinds;
+    }
+
+    /**
+     * @param metadata metadata of class
+     * @param includeTransient include transient fields
+     * @param includeStatic include static fields
+     * @return plan with fields of class and parents not declared by JDK classes, in the order of {@link ClassMetadata#fields()}
+     */
+    static FieldPlan of(ClassMetadata metadata, boolean includeTransient, boolean includeStatic) {
+        return of(metadata, includeTransient, includeStatic, field -> true);
+    }
+
+    /**
+     * @param metadata metadata of class
+     * @param includeTransient include transient fields
+     * @param includeStatic include static fields
+     * @param filter selection of fields not declared by JDK classes, applied before accessors are compiled
+     * @return plan with selected fields of class and parents, in the order of {@link ClassMetadata#fields()}
+     */
+    static FieldPlan of(ClassMetadata metadata, boolean includeTransient, boolean includeStatic, Predicate<Field> filter) {
+        List<FieldAccessor> accessors = new ArrayList<>();
+        for (Field field : metadata.fields()) {
+            int modifiers = field.getModifiers();
+            if (!includeTransient && Modifier.isTransient(modifiers) || !includeStatic && Modifier.isStatic(modifiers)
+                    || JdkTypes.isJdkClass(field.getDeclaringClass()) || !filter.test(field))
+                continue;
+
+            // the field is visible in its declaring class, so its accessor is shared with the declaring class
+            accessors.add(ClassMetadata.of(field.getDeclaringClass()).accessor(field.getName()));
+        }
+
+        byte[] kinds = new byte[accessors.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = kindOf(accessors.get(i).getType());
+        }
+        Class<?> type = metadata.getType();
+        String name = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        return new FieldPlan(name, accessors.toArray(new FieldAccessor[0]), kinds);
+    }
+
+    private static byte kindOf(Class<?> type) {
+        if (type == boolean.class)
+            return BOOLEAN;
+        if (type == char.class)
+            return CHAR;
+        if (type == byte.class || type == short.class || type == int.class)
+            return INT;
+        if (type == long.class)
+            return LONG;
+        if (type == float.class)
+            return FLOAT;
+        if (type == double.class)
+            return DOUBLE;
+        return OBJECT;
+    }
+}
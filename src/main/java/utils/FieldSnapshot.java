@@ -0,0 +1,100 @@
+package utils;
+
+import java.util.*;
+
+/**
+ * Immutable map of field name to field value, backed by an array of values.
+ * The field names and their indexes are shared by all snapshots of the same class,
+ * so a snapshot costs a single array of values.
+ *
+ * Fields are ordered as in {@link ReflectionUtils#getAllFields(Class)}:
+ * own fields first, then fields of parents, the field of the child hides the field of the parent.
+ */
+public final class FieldSnapshot extends AbstractMap<String, Object> {
+
+    private final ClassMetadata metadata;
+    private final Object[] values;
+
+    FieldSnapshot(ClassMetadata metadata, Object[] values) {
+        this.metadata = metadata;
+        this.values = values;
+    }
+
+    /**
+     * @return class of snapshot object
+     */
+    public Class<?> getType() {
+        return metadata.getType();
+    }
+
+    /**
+     * @param fieldName fieldName
+     * @return index of field or -1 if not exist
+     */
+    public int indexOf(String fieldName) {
+        return fieldName == null ? -1 : metadata.fieldIndex(fieldName);
+    }
+
+    /**
+     * @param index index
+     * @return name of field
+     */
+    public String nameAt(int index) {
+        return metadata.visibleFields()[index].getName();
+    }
+
+    /**
+     * @param index index
+     * @return value of field
+     */
+    public Object valueAt(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && indexOf((String) key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = key instanceof String ? indexOf((String) key) : -1;
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+
+                        int current = index++;
+                        return new SimpleImmutableEntry<>(nameAt(current), values[current]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Builds objects of a class from (name, value) rows: maps or {@link PropertySource}s.
+ *
+ * The table from name to (field setter, target type) is computed once per class over non-static, non-final fields,
+ * fields of parents too. Values are converted to the field type with {@link ConverterRegistry#find(Class, Class)},
+ * resolved once per pair of types. Unknown names are skipped, null values leave primitive fields untouched.
+ *
+ * New instances are created with the no-arg constructor with any access modifier,
+ * or without running constructors if it does not exist.
+ *
+ * @param <T> type of objects
+ */
+public final class Hydrator<T> {
+
+    private static final ClassValue<Hydrator<?>> HYDRATORS = new ClassValue<Hydrator<?>>() {
+        @Override
+        protected Hydrator<?> computeValue(Class<?> type) {
+            return new Hydrator<>(type, ConverterRegistry.getDefault());
+        }
+    };
+
+    private final Class<T> type;
+    private final ConverterRegistry converters;
+    private final Map<String, Slot> slots;
+    private final Instantiator<?> instantiator;
+
+    Hydrator(Class<T> type, ConverterRegistry converters) {
+        this.type = type;
+        this.converters = converters;
+
+        ClassMetadata metadata = ClassMetadata.of(type);
+        Field[] fields = metadata.visibleFields();
+        Map<String, Slot> table = new HashMap<>(ClassMetadata.mapCapacity(fields.length));
+        for (int i = 0; i < fields.length; i++) {
+            int modifiers = fields[i].getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers))
+                continue;
+
+            FieldAccessor accessor = metadata.accessor(i);
+            table.put(accessor.getName(), new Slot(accessor));
+        }
+        this.slots = table;
+        this.instantiator = Modifier.isAbstract(type.getModifiers()) ? null : metadata.resolveConstructor(new Class<?>[0]);
+    }
+
+    /**
+     * @param type type
+     * @param <T> type of objects
+     * @return cached hydrator with {@link ConverterRegistry#getDefault()}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Hydrator<T> of(Class<T> type) {
+        return (Hydrator<T>) HYDRATORS.get(type);
+    }
+
+    /**
+     * @return class of objects
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @param name name
+     * @return true if a value with name is written to a field
+     */
+    public boolean hasProperty(String name) {
+        return slots.containsKey(name);
+    }
+
+    /**
+     * @return new instance with no properties set
+     * @throws IllegalArgumentException if class cannot be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance() {
+        return (T) (instantiator != null ? instantiator.newInstance0() : ClassMetadata.of(type).allocate());
+    }
+
+    /**
+     * @param row values by names of fields
+     * @return new instance with values of row
+     * @throws IllegalArgumentException if class cannot be instantiated or a value cannot be set
+     */
+    public T hydrate(Map<String, ?> row) {
+        return populate(newInstance(), row);
+    }
+
+    /**
+     * @param target target
+     * @param row values by names of fields
+     * @return target
+     * @throws IllegalArgumentException if a value cannot be set
+     */
+    public T populate(T target, Map<String, ?> row) {
+        for (Map.Entry<String, ?> entry : row.entrySet()) {
+            Slot slot = slots.get(entry.getKey());
+            if (slot != null)
+                slot.set(target, entry.getValue(), converters);
+        }
+        return target;
+    }
+
+    /**
+     * Consume one row of source
+     *
+     * @param source source
+     * @return new instance with values of row
+     * @throws IllegalArgumentException if class cannot be instantiated or a value cannot be set
+     */
+    public T hydrate(PropertySource source) {
+        return populate(newInstance(), source);
+    }
+
+    /**
+     * Consume one row of source
+     *
+     * @param target target
+     * @param source source
+     * @return target
+     * @throws IllegalArgumentException if a value cannot be set
+     */
+    public T populate(T target, PropertySource source) {
+        String name;
+        while ((name = source.nextName()) != null) {
+            Slot slot = slots.get(name);
+            if (slot != null)
+                slot.set(target, source.nextValue(), converters);
+            else
+                source.skipValue();
+        }
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return format("Hydrator{%s, properties: %d}", type.getName(), slots.size());
+    }
+
+    /**
+     * Setter of one field with its target type
+     */
+    private static final class Slot {
+        final FieldAccessor accessor;
+        final Class<?> targetType;
+        final boolean primitive;
+
+        Slot(FieldAccessor accessor) {
+            this.accessor = accessor;
+            this.targetType = Primitives.wrap(accessor.getType());
+            this.primitive = accessor.getType().isPrimitive();
+        }
+
+        void set(Object target, Object value, ConverterRegistry converters) {
+            if (value == null) {
+                if (!primitive)
+                    accessor.set(target, null);
+                return;
+            }
+            if (!targetType.isInstance(value))
+                value = converters.find(value.getClass(), targetType).convert(value);
+            accessor.set(target, value);
+        }
+    }
+}
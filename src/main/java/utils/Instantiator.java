@@ -0,0 +1,180 @@
+package utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import static java.lang.String.format;
+
+/**
+ * Creation of instances by a single constructor with any access modifier, compiled to {@link MethodHandle}s once.
+ *
+ * Fixed arity entry points {@link #newInstance0()} .. {@link #newInstance3(Object, Object, Object)}
+ * do not allocate an array of arguments. Exceptions thrown by the constructor are not wrapped:
+ * unchecked exceptions propagate as is, checked exceptions are wrapped in {@link UndeclaredThrowableException}.
+ * Arguments of wrong types fail as a direct call would: with {@link ClassCastException}
+ * or {@link NullPointerException} for null primitive.
+ *
+ * Obtain an instance with {@link ReflectionUtils#instantiator(Class, Class[])} and keep it.
+ *
+ * @param <T> type of created instances
+ */
+public final class Instantiator<T> {
+
+    private final Constructor<T> constructor;
+    private final int parameterCount;
+    private final MethodHandle fixed;
+    private final MethodHandle spreader;
+
+    Instantiator(Constructor<T> constructor) {
+        if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers()))
+            throw new IllegalArgumentException("Cannot instantiate abstract class: " + constructor.getDeclaringClass());
+
+        this.constructor = constructor;
+        this.parameterCount = constructor.getParameterCount();
+        constructor.setAccessible(true);
+
+        MethodHandle handle = unreflect(constructor);
+        this.fixed = handle.asType(MethodType.genericMethodType(parameterCount));
+        this.spreader = fixed.asSpreader(Object[].class, parameterCount);
+    }
+
+    /**
+     * @return constructor
+     */
+    public Constructor<T> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * @return class of created instances
+     */
+    public Class<T> getType() {
+        return constructor.getDeclaringClass();
+    }
+
+    /**
+     * @return number of parameters
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @return new instance
+     * @throws IllegalArgumentException if constructor has parameters
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance0() {
+        checkArity(0);
+        try {
+            return (T) fixed.invokeExact();
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * @param arg arg
+     * @return new instance
+     * @throws IllegalArgumentException if constructor has other number of parameters
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance1(Object arg) {
+        checkArity(1);
+        try {
+            return (T) fixed.invokeExact(arg);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * @param arg1 arg1
+     * @param arg2 arg2
+     * @return new instance
+     * @throws IllegalArgumentException if constructor has other number of parameters
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance2(Object arg1, Object arg2) {
+        checkArity(2);
+        try {
+            return (T) fixed.invokeExact(arg1, arg2);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * @param arg1 arg1
+     * @param arg2 arg2
+     * @param arg3 arg3
+     * @return new instance
+     * @throws IllegalArgumentException if constructor has other number of parameters
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance3(Object arg1, Object arg2, Object arg3) {
+        checkArity(3);
+        try {
+            return (T) fixed.invokeExact(arg1, arg2, arg3);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * Constructors with up to 3 parameters are dispatched to fixed arity entry points
+     *
+     * @param args args
+     * @return new instance
+     * @throws IllegalArgumentException if constructor has other number of parameters
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance(Object... args) {
+        int length = args == null ? 0 : args.length;
+        switch (length) {
+            case 0: return newInstance0();
+            case 1: return newInstance1(args[0]);
+            case 2: return newInstance2(args[0], args[1]);
+            case 3: return newInstance3(args[0], args[1], args[2]);
+            default:
+                checkArity(length);
+                try {
+                    return (T) spreader.invokeExact(args);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format("Instantiator{%s}", constructor);
+    }
+
+    private void checkArity(int arity) {
+        if (arity != parameterCount) {
+            String msg = format("Constructor of '%s' expects %d arguments, but passed: %d", getType().getName(), parameterCount, arity);
+            throw new IllegalArgumentException(msg);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+        if (e instanceof Error)
+            throw (Error) e;
+        if (e instanceof RuntimeException)
+            return (RuntimeException) e;
+        return new UndeclaredThrowableException(e);
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity();
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access constructor: " + constructor, e);
+        }
+    }
+}
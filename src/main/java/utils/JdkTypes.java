@@ -0,0 +1,85 @@
+package utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Classes of the JDK and creation of empty collections and maps.
+ *
+ * Fields of JDK classes are internals: their layout differs between JDK versions and since JDK 9
+ * they cannot be made accessible. JDK classes are therefore handled through their public API only.
+ */
+final class JdkTypes {
+
+    private static final ClassLoader PLATFORM_LOADER = platformLoader();
+
+    private JdkTypes() { }
+
+    /**
+     * @param type type
+     * @return true if class is loaded by the bootstrap or platform class loader
+     */
+    static boolean isJdkClass(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        return loader == null || loader == PLATFORM_LOADER;
+    }
+
+    /**
+     * @param type concrete class of collection or map
+     * @return empty instance created by the no-arg constructor or null if the class has no accessible one.
+     *         Only public constructors of public classes are used for JDK classes
+     */
+    static Object newContainer(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()))
+            return null;
+
+        ClassMetadata metadata = ClassMetadata.of(type);
+        if (!isJdkClass(type)) {
+            Instantiator<?> instantiator = metadata.resolveConstructor(new Class<?>[0]);
+            return instantiator == null ? null : instantiator.newInstance0();
+        }
+
+        if (!Modifier.isPublic(type.getModifiers()))
+            return null;
+        for (Constructor<?> constructor : metadata.constructors()) {
+            if (constructor.getParameterCount() == 0 && Modifier.isPublic(constructor.getModifiers())) {
+                try {
+                    return metadata.instantiator(constructor).newInstance0();
+                } catch (SecurityException e) {
+                    return null;
+                } catch (RuntimeException e) {
+                    // InaccessibleObjectException on JDK 9+: public class of a package that is not exported
+                    if (e.getClass().getName().equals("java.lang.reflect.InaccessibleObjectException"))
+                        return null;
+                    throw e;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param type class of collection or map
+     * @return empty {@link LinkedHashSet}, {@link ArrayList} or {@link LinkedHashMap}, by the interface of type
+     */
+    static Object newGenericContainer(Class<?> type) {
+        if (Set.class.isAssignableFrom(type))
+            return new LinkedHashSet<>();
+        if (Collection.class.isAssignableFrom(type))
+            return new ArrayList<>();
+        return new LinkedHashMap<>();
+    }
+
+    private static ClassLoader platformLoader() {
+        try {
+            return ClassLoader.getSystemClassLoader().getParent();
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming JSON output of objects, driven by cached per-class plans.
+ *
+ * Objects are written as JSON objects of their non-transient, non-static fields, see {@link FieldPlan}.
+ * A field hidden by a field of the same name in a subclass is not written, so names are unique.
+ * Fields declared by JDK parents, such as the message of an exception, are internals and are not written.
+ * Field names are encoded once per class, as chars and as UTF-8 bytes, and copied to the output in bulk.
+ * Primitive fields are read and printed without boxing.
+ *
+ * Strings, characters, {@code char[]} and enums are written as strings, numbers and booleans as themselves,
+ * {@link Date} as milliseconds since epoch, other arrays, collections and {@link Iterable}s outside the JDK
+ * as arrays, maps as objects keyed by {@link String#valueOf(Object)} of keys, other JDK classes as strings
+ * of their {@code toString()}. So a {@link java.nio.file.Path}, an iterable of new paths, is written as a string.
+ * Non-finite floating point values are written as null.
+ *
+ * Output goes through a fixed size buffer and an {@link Iterable} is consumed element by element,
+ * so a huge iterable is written with constant memory. Cyclic references are rejected.
+ */
+final class JsonWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Sink sink;
+    private final Set<Object> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private JsonWriter(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @param value value
+     * @param writer writer, flushed but not closed
+     */
+    static void write(Object value, Writer writer) {
+        JsonWriter json = new JsonWriter(new CharSink(writer));
+        json.writeValue(value);
+        json.sink.flush();
+    }
+
+    /**
+     * @param value value
+     * @param out output stream, written in UTF-8, flushed but not closed
+     */
+    static void write(Object value, OutputStream out) {
+        JsonWriter json = new JsonWriter(new ByteSink(out));
+        json.writeValue(value);
+        json.sink.flush();
+    }
+
+    private void writeValue(Object value) {
+        if (value == null) {
+            sink.writeAscii("null");
+            return;
+        }
+
+        Class<?> type = value.getClass();
+        if (value instanceof CharSequence || value instanceof Character) {
+            sink.writeString(value.toString());
+        } else if (value instanceof char[]) {
+            sink.writeString(new String((char[]) value));
+        } else if (value instanceof Number) {
+            writeNumber((Number) value);
+        } else if (value instanceof Boolean) {
+            sink.writeAscii((Boolean) value ? "true" : "false");
+        } else if (value instanceof Enum) {
+            sink.writeString(((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            sink.writeLong(((Date) value).getTime());
+        } else if (type.isArray() || value instanceof Collection || value instanceof Map
+                || value instanceof Iterable && !JdkTypes.isJdkClass(type)) {
+            enter(value);
+            if (type.isArray())
+                writeArray(value);
+            else if (value instanceof Iterable)
+                writeIterable((Iterable<?>) value);
+            else
+                writeMap((Map<?, ?>) value);
+            inProgress.remove(value);
+        } else if (JdkTypes.isJdkClass(type)) {
+            sink.writeString(value.toString());
+        } else {
+            enter(value);
+            writeObject(value, ClassMetadata.of(type).jsonPlan());
+            inProgress.remove(value);
+        }
+    }
+
+    private void writeObject(Object value, Plan plan) {
+        FieldAccessor[] accessors = plan.accessors;
+        byte[] kinds = plan.kinds;
+        sink.writeAscii('{');
+        for (int i = 0; i < accessors.length; i++) {
+            if (i > 0)
+                sink.writeAscii(',');
+            sink.writeName(plan, i);
+            FieldAccessor accessor = accessors[i];
+            switch (kinds[i]) {
+                case FieldPlan.BOOLEAN:
+                    sink.writeAscii(accessor.getBoolean(value) ? "true" : "false");
+                    break;
+                case FieldPlan.CHAR:
+                    sink.writeString(String.valueOf((char) accessor.getInt(value)));
+                    break;
+                case FieldPlan.INT:
+                    sink.writeLong(accessor.getInt(value));
+                    break;
+                case FieldPlan.LONG:
+                    sink.writeLong(accessor.getLong(value));
+                    break;
+                case FieldPlan.FLOAT:
+                    writeFloat((float) accessor.getDouble(value));
+                    break;
+                case FieldPlan.DOUBLE:
+                    writeDouble(accessor.getDouble(value));
+                    break;
+                default:
+                    writeValue(accessor.get(value));
+            }
+        }
+        sink.writeAscii('}');
+    }
+
+    private void writeNumber(Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+            sink.writeLong(value.longValue());
+        else if (value instanceof Double)
+            writeDouble(value.doubleValue());
+        else if (value instanceof Float)
+            writeFloat(value.floatValue());
+        else if (value instanceof BigDecimal || value instanceof BigInteger)
+            sink.writeAscii(value.toString());
+        else
+            writeDouble(value.doubleValue());
+    }
+
+    private void writeDouble(double value) {
+        sink.writeAscii(Double.isFinite(value) ? Double.toString(value) : "null");
+    }
+
+    private void writeFloat(float value) {
+        sink.writeAscii(Float.isFinite(value) ? Float.toString(value) : "null");
+    }
+
+    private void writeIterable(Iterable<?> values) {
+        sink.writeAscii('[');
+        boolean first = true;
+        for (Object element : values) {
+            if (!first)
+                sink.writeAscii(',');
+            first = false;
+            writeValue(element);
+        }
+        sink.writeAscii(']');
+    }
+
+    private void writeMap(Map<?, ?> map) {
+        sink.writeAscii('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first)
+                sink.writeAscii(',');
+            first = false;
+            sink.writeString(String.valueOf(entry.getKey()));
+            sink.writeAscii(':');
+            writeValue(entry.getValue());
+        }
+        sink.writeAscii('}');
+    }
+
+    private void writeArray(Object array) {
+        sink.writeAscii('[');
+        if (array instanceof Object[]) {
+            Object[] values = (Object[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    sink.writeAscii(',');
+                writeValue(values[i]);
+            }
+        } else if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    sink.writeAscii(',');
+                sink.writeLong(values[i]);
+            }
+        } else if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    sink.writeAscii(',');
+                sink.writeLong(values[i]);
+            }
+        } else if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    sink.writeAscii(',');
+                writeDouble(values[i]);
+            }
+        } else {
+            // remaining primitive arrays are rare, boxing is acceptable
+            int length = Array.getLength(array);
+            for (int i = 0; i < length; i++) {
+                if (i > 0)
+                    sink.writeAscii(',');
+                writeValue(Array.get(array, i));
+            }
+        }
+        sink.writeAscii(']');
+    }
+
+    private void enter(Object value) {
+        if (!inProgress.add(value))
+            throw new IllegalArgumentException("Cannot write cyclic reference to JSON, class: " + value.getClass().getName());
+    }
+
+    /**
+     * Fields of a class with names encoded as {@code "name":} in chars and UTF-8 bytes
+     */
+    static final class Plan {
+        final FieldAccessor[] accessors;
+        final byte[] kinds;
+        final char[][] names;
+        final byte[][] nameBytes;
+
+        private Plan(FieldAccessor[] accessors, byte[] kinds, char[][] names, byte[][] nameBytes) {
+            this.accessors = accessors;
+            this.kinds = kinds;
+            this.names = names;
+            this.nameBytes = nameBytes;
+        }
+
+        static Plan of(ClassMetadata metadata) {
+            FieldPlan plan = metadata.fieldPlan(0);
+            // own fields come first, so a field of the child hides the field of the parent with the same name
+            Set<String> written = new HashSet<>();
+            List<Integer> visible = new ArrayList<>(plan.accessors.length);
+            for (int i = 0; i < plan.accessors.length; i++) {
+                if (written.add(plan.accessors[i].getName()))
+                    visible.add(i);
+            }
+
+            FieldAccessor[] accessors = new FieldAccessor[visible.size()];
+            byte[] kinds = new byte[visible.size()];
+            char[][] names = new char[visible.size()][];
+            byte[][] nameBytes = new byte[visible.size()][];
+            for (int i = 0; i < accessors.length; i++) {
+                accessors[i] = plan.accessors[visible.get(i)];
+                kinds[i] = plan.kinds[visible.get(i)];
+                // names of fields are Java identifiers, they need no escaping
+                String name = '"' + accessors[i].getName() + "\":";
+                names[i] = name.toCharArray();
+                nameBytes[i] = name.getBytes(StandardCharsets.UTF_8);
+            }
+            return new Plan(accessors, kinds, names, nameBytes);
+        }
+    }
+
+    /**
+     * Buffered output of JSON tokens
+     */
+    private abstract static class Sink {
+        private final char[] digits = new char[20];
+
+        abstract void writeAscii(char c);
+
+        abstract void writeName(Plan plan, int index);
+
+        /**
+         * Write char at index of value, not ASCII
+         *
+         * @return index of the next char to write
+         */
+        abstract int writeNonAscii(String value, int index);
+
+        abstract void flush();
+
+        void writeAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                writeAscii(value.charAt(i));
+            }
+        }
+
+        void writeLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                writeAscii(Long.toString(value));
+                return;
+            }
+            if (value < 0) {
+                writeAscii('-');
+                value = -value;
+            }
+            int start = digits.length;
+            do {
+                digits[--start] = (char) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            for (int i = start; i < digits.length; i++) {
+                writeAscii(digits[i]);
+            }
+        }
+
+        void writeString(String value) {
+            writeAscii('"');
+            for (int i = 0; i < value.length(); ) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    i = writeNonAscii(value, i);
+                    continue;
+                }
+                if (c == '"' || c == '\\') {
+                    writeAscii('\\');
+                    writeAscii(c);
+                } else if (c < 0x20) {
+                    writeControl(c);
+                } else {
+                    writeAscii(c);
+                }
+                i++;
+            }
+            writeAscii('"');
+        }
+
+        private void writeControl(char c) {
+            writeAscii('\\');
+            switch (c) {
+                case '\n': writeAscii('n'); break;
+                case '\r': writeAscii('r'); break;
+                case '\t': writeAscii('t'); break;
+                case '\b': writeAscii('b'); break;
+                case '\f': writeAscii('f'); break;
+                default:
+                    writeAscii("u00");
+                    writeAscii(Character.forDigit(c >> 4, 16));
+                    writeAscii(Character.forDigit(c & 0xf, 16));
+            }
+        }
+    }
+
+    private static final class CharSink extends Sink {
+        private final Writer writer;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+
+        CharSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        void writeAscii(char c) {
+            if (position == buffer.length)
+                drain();
+            buffer[position++] = c;
+        }
+
+        @Override
+        void writeName(Plan plan, int index) {
+            char[] name = plan.names[index];
+            if (buffer.length - position < name.length)
+                drain();
+            if (name.length > buffer.length) {
+                write(name, name.length);
+                return;
+            }
+            System.arraycopy(name, 0, buffer, position, name.length);
+            position += name.length;
+        }
+
+        @Override
+        int writeNonAscii(String value, int index) {
+            writeAscii(value.charAt(index));
+            return index + 1;
+        }
+
+        @Override
+        void flush() {
+            drain();
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void drain() {
+            write(buffer, position);
+            position = 0;
+        }
+
+        private void write(char[] chars, int length) {
+            try {
+                writer.write(chars, 0, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class ByteSink extends Sink {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        ByteSink(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        void writeAscii(char c) {
+            if (position == buffer.length)
+                drain();
+            buffer[position++] = (byte) c;
+        }
+
+        @Override
+        void writeName(Plan plan, int index) {
+            byte[] name = plan.nameBytes[index];
+            if (buffer.length - position < name.length)
+                drain();
+            if (name.length > buffer.length) {
+                write(name, name.length);
+                return;
+            }
+            System.arraycopy(name, 0, buffer, position, name.length);
+            position += name.length;
+        }
+
+        @Override
+        int writeNonAscii(String value, int index) {
+            char c = value.charAt(index);
+            if (c < 0x800) {
+                writeByte(0xc0 | c >> 6);
+                writeByte(0x80 | c & 0x3f);
+                return index + 1;
+            }
+            if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+                writeByte(0xf0 | codePoint >> 18);
+                writeByte(0x80 | codePoint >> 12 & 0x3f);
+                writeByte(0x80 | codePoint >> 6 & 0x3f);
+                writeByte(0x80 | codePoint & 0x3f);
+                return index + 2;
+            }
+            if (Character.isSurrogate(c)) {
+                writeAscii('?');
+                return index + 1;
+            }
+            writeByte(0xe0 | c >> 12);
+            writeByte(0x80 | c >> 6 & 0x3f);
+            writeByte(0x80 | c & 0x3f);
+            return index + 1;
+        }
+
+        @Override
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeByte(int b) {
+            if (position == buffer.length)
+                drain();
+            buffer[position++] = (byte) b;
+        }
+
+        private void drain() {
+            write(buffer, position);
+            position = 0;
+        }
+
+        private void write(byte[] bytes, int length) {
+            try {
+                out.write(bytes, 0, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+
+/**
+ * Copies fields with the same name from source to target, even from parents, with any access modifier.
+ * Static fields and final fields of target are skipped.
+ *
+ * The plan is computed once per pair of classes and cached with the class whose class loader sees the other class,
+ * so the cache does not pin class loaders; a mapper between classes of unrelated loaders is not cached.
+ * Each step reads the source field and writes the target field through {@link java.lang.invoke.MethodHandle}s,
+ * primitives are copied without boxing.
+ * If types of fields differ, the value is converted by {@link ReflectionUtils#castFieldValueByType(Class, Object)}.
+ *
+ * @param <S> type of source
+ * @param <T> type of target
+ */
+public final class Mapper<S, T> {
+
+    private static final MethodType STEP_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle CAST_BY_TYPE;
+    static {
+        try {
+            CAST_BY_TYPE = MethodHandles.lookup().findStatic(ReflectionUtils.class, "castFieldValueByType",
+                    MethodType.methodType(Object.class, Class.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // source type -> target type -> mapper, for targets loaded by the loader of source or its parents
+    private static final ClassValue<ConcurrentMap<Class<?>, Mapper<?, ?>>> BY_SOURCE = newCache();
+
+    // target type -> source type -> mapper, for sources loaded by the loader of target or its parents
+    private static final ClassValue<ConcurrentMap<Class<?>, Mapper<?, ?>>> BY_TARGET = newCache();
+
+    private final Class<S> sourceType;
+    private final Class<T> targetType;
+    private final String[] names;
+
+    // (Object source, Object target)void
+    private final MethodHandle[] steps;
+
+    private Mapper(Class<S> sourceType, Class<T> targetType) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+
+        ClassMetadata source = ClassMetadata.of(sourceType);
+        ClassMetadata target = ClassMetadata.of(targetType);
+        List<String> names = new ArrayList<>();
+        List<MethodHandle> steps = new ArrayList<>();
+        Field[] targetFields = target.visibleFields();
+        for (int i = 0; i < targetFields.length; i++) {
+            Field targetField = targetFields[i];
+            int sourceIndex = source.fieldIndex(targetField.getName());
+            if (sourceIndex < 0 || isStatic(targetField) || Modifier.isFinal(targetField.getModifiers())
+                    || isStatic(source.visibleFields()[sourceIndex]))
+                continue;
+
+            names.add(targetField.getName());
+            steps.add(step(source.accessor(sourceIndex).exactGetter(), target.accessor(i).exactSetter()));
+        }
+        this.names = names.toArray(new String[0]);
+        this.steps = steps.toArray(new MethodHandle[0]);
+    }
+
+    /**
+     * @param sourceType sourceType
+     * @param targetType targetType
+     * @param <S> type of source
+     * @param <T> type of target
+     * @return cached mapper
+     */
+    @SuppressWarnings("unchecked")
+    static <S, T> Mapper<S, T> of(Class<S> sourceType, Class<T> targetType) {
+        Class<?> key;
+        ConcurrentMap<Class<?>, Mapper<?, ?>> cache;
+        if (ClassCache.isVisible(targetType, sourceType)) {
+            key = targetType;
+            cache = BY_SOURCE.get(sourceType);
+        } else if (ClassCache.isVisible(sourceType, targetType)) {
+            key = sourceType;
+            cache = BY_TARGET.get(targetType);
+        } else {
+            return new Mapper<>(sourceType, targetType);
+        }
+
+        Mapper<?, ?> mapper = cache.get(key);
+        if (mapper == null) {
+            mapper = new Mapper<>(sourceType, targetType);
+            Mapper<?, ?> existing = cache.putIfAbsent(key, mapper);
+            if (existing != null)
+                mapper = existing;
+        }
+        return (Mapper<S, T>) mapper;
+    }
+
+    /**
+     * @return class of source
+     */
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * @return class of target
+     */
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Copy fields from source to target
+     *
+     * @param source source
+     * @param target target
+     * @return target
+     * @throws IllegalArgumentException if a value cannot be converted to the type of the target field
+     */
+    public T map(S source, T target) {
+        for (int i = 0; i < steps.length; i++) {
+            try {
+                steps[i].invokeExact((Object) source, (Object) target);
+            } catch (Throwable e) {
+                throw FieldAccessor.failure("Cannot copy field name: " + names[i], e);
+            }
+        }
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return format("Mapper{%s -> %s, fields: %d}", sourceType.getName(), targetType.getName(), steps.length);
+    }
+
+    private static MethodHandle step(MethodHandle getter, MethodHandle setter) {
+        Class<?> sourceFieldType = getter.type().returnType();
+        Class<?> targetFieldType = setter.type().parameterType(1);
+
+        MethodHandle read;
+        if (isDirectlyAssignable(sourceFieldType, targetFieldType)) {
+            read = getter.asType(getter.type().changeReturnType(targetFieldType));
+        } else {
+            MethodHandle convert = MethodHandles.insertArguments(CAST_BY_TYPE, 0, Primitives.wrap(targetFieldType));
+            read = MethodHandles.filterReturnValue(getter.asType(getter.type().changeReturnType(Object.class)), convert)
+                    .asType(MethodType.methodType(targetFieldType, Object.class));
+        }
+
+        // (target, source)void -> (source, target)void
+        MethodHandle copy = MethodHandles.filterArguments(setter, 1, read);
+        return MethodHandles.permuteArguments(copy, STEP_TYPE, 1, 0);
+    }
+
+    private static boolean isDirectlyAssignable(Class<?> from, Class<?> to) {
+        if (from.isPrimitive() && to.isPrimitive())
+            return Primitives.isWidening(from, to);
+        return !from.isPrimitive() && !to.isPrimitive() && to.isAssignableFrom(from);
+    }
+
+    private static ClassValue<ConcurrentMap<Class<?>, Mapper<?, ?>>> newCache() {
+        return new ClassValue<ConcurrentMap<Class<?>, Mapper<?, ?>>>() {
+            @Override
+            protected ConcurrentMap<Class<?>, Mapper<?, ?>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    private static boolean isStatic(Field field) {
+        return Modifier.isStatic(field.getModifiers());
+    }
+}
@@ -0,0 +1,171 @@
+package utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import static java.lang.String.format;
+
+/**
+ * Invocation of a single method with any access modifier, compiled to {@link MethodHandle}s once.
+ *
+ * Fixed arity entry points {@link #invoke0(Object)} .. {@link #invoke3(Object, Object, Object, Object)}
+ * do not allocate an array of arguments. Exceptions thrown by the method are not wrapped:
+ * unchecked exceptions propagate as is, checked exceptions are wrapped in {@link UndeclaredThrowableException}.
+ * Arguments of wrong types fail as a direct call would: with {@link ClassCastException}
+ * or {@link NullPointerException} for null primitive.
+ *
+ * Obtain an instance with {@link ReflectionUtils#invoker(Class, String, Class[])} and keep it.
+ */
+public final class MethodInvoker {
+
+    private final Method method;
+    private final int parameterCount;
+    private final MethodHandle fixed;
+    private final MethodHandle spreader;
+
+    MethodInvoker(Method method) {
+        this.method = method;
+        this.parameterCount = method.getParameterCount();
+        method.setAccessible(true);
+
+        MethodHandle handle = unreflect(method);
+        this.fixed = handle.asType(MethodType.genericMethodType(parameterCount + 1));
+        this.spreader = fixed.asSpreader(Object[].class, parameterCount);
+    }
+
+    /**
+     * @return method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return number of parameters
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @param target target, ignored for static method
+     * @return result of method, null for void method
+     * @throws IllegalArgumentException if method has parameters
+     */
+    public Object invoke0(Object target) {
+        checkArity(0);
+        try {
+            return fixed.invokeExact(target);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * @param target target, ignored for static method
+     * @param arg arg
+     * @return result of method, null for void method
+     * @throws IllegalArgumentException if method has other number of parameters
+     */
+    public Object invoke1(Object target, Object arg) {
+        checkArity(1);
+        try {
+            return fixed.invokeExact(target, arg);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * @param target target, ignored for static method
+     * @param arg1 arg1
+     * @param arg2 arg2
+     * @return result of method, null for void method
+     * @throws IllegalArgumentException if method has other number of parameters
+     */
+    public Object invoke2(Object target, Object arg1, Object arg2) {
+        checkArity(2);
+        try {
+            return fixed.invokeExact(target, arg1, arg2);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * @param target target, ignored for static method
+     * @param arg1 arg1
+     * @param arg2 arg2
+     * @param arg3 arg3
+     * @return result of method, null for void method
+     * @throws IllegalArgumentException if method has other number of parameters
+     */
+    public Object invoke3(Object target, Object arg1, Object arg2, Object arg3) {
+        checkArity(3);
+        try {
+            return fixed.invokeExact(target, arg1, arg2, arg3);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * Methods with up to 3 parameters are dispatched to fixed arity entry points
+     *
+     * @param target target, ignored for static method
+     * @param args args
+     * @return result of method, null for void method
+     * @throws IllegalArgumentException if method has other number of parameters
+     */
+    public Object invoke(Object target, Object... args) {
+        int length = args == null ? 0 : args.length;
+        switch (length) {
+            case 0: return invoke0(target);
+            case 1: return invoke1(target, args[0]);
+            case 2: return invoke2(target, args[0], args[1]);
+            case 3: return invoke3(target, args[0], args[1], args[2]);
+            default:
+                checkArity(length);
+                try {
+                    return spreader.invokeExact(target, args);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format("MethodInvoker{%s}", method);
+    }
+
+    private void checkArity(int arity) {
+        if (arity != parameterCount) {
+            String msg = format("Method '%s' expects %d arguments, but passed: %d", method.getName(), parameterCount, arity);
+            throw new IllegalArgumentException(msg);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+        if (e instanceof Error)
+            throw (Error) e;
+        if (e instanceof RuntimeException)
+            return (RuntimeException) e;
+        return new UndeclaredThrowableException(e);
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            return Modifier.isStatic(method.getModifiers())
+                    ? MethodHandles.dropArguments(handle, 0, Object.class)
+                    : handle;
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access method: " + method, e);
+        }
+    }
+}
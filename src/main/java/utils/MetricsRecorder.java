@@ -0,0 +1,130 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process {@link ReflectionMetrics}: per operation counters of calls, cache hits and misses,
+ * latency histogram, and calls per (class, member) pair to find hot members.
+ *
+ * Counters are {@link LongAdder}s, so recording does not contend between threads.
+ * Classes are tracked by name and do not pin class loaders. The number of tracked pairs is bounded,
+ * calls of pairs beyond the bound are counted as untracked.
+ *
+ * Read the counters with {@link #snapshot()}.
+ */
+public final class MetricsRecorder implements ReflectionMetrics {
+
+    /**
+     * Default bound of tracked (class, member) pairs
+     */
+    public static final int DEFAULT_MAX_TRACKED_MEMBERS = 1024;
+
+    private final int maxTrackedMembers;
+    private final Map<Operation, Counters> counters = new EnumMap<>(Operation.class);
+    private final ConcurrentMap<MetricsSnapshot.MemberKey, LongAdder> members = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+
+    /**
+     * Recorder with {@link #DEFAULT_MAX_TRACKED_MEMBERS}
+     */
+    public MetricsRecorder() {
+        this(DEFAULT_MAX_TRACKED_MEMBERS);
+    }
+
+    /**
+     * @param maxTrackedMembers maximal number of tracked (class, member) pairs
+     * @throws IllegalArgumentException if maxTrackedMembers is negative
+     */
+    public MetricsRecorder(int maxTrackedMembers) {
+        if (maxTrackedMembers < 0)
+            throw new IllegalArgumentException("Max tracked members should not be negative, but was: " + maxTrackedMembers);
+        this.maxTrackedMembers = maxTrackedMembers;
+        for (Operation operation : Operation.values()) {
+            counters.put(operation, new Counters());
+        }
+    }
+
+    @Override
+    public void record(Operation operation, Class<?> type, String member, boolean cached, long nanos) {
+        Counters counter = counters.get(operation);
+        counter.calls.increment();
+        (cached ? counter.hits : counter.misses).increment();
+        counter.totalNanos.add(nanos);
+        counter.histogram[MetricsSnapshot.bucketOf(nanos)].increment();
+
+        MetricsSnapshot.MemberKey key = new MetricsSnapshot.MemberKey(type == null ? null : type.getName(), member);
+        LongAdder calls = members.get(key);
+        if (calls == null) {
+            if (members.size() >= maxTrackedMembers) {
+                untracked.increment();
+                return;
+            }
+            calls = members.computeIfAbsent(key, k -> new LongAdder());
+        }
+        calls.increment();
+    }
+
+    /**
+     * Counters are read one by one, the snapshot is not atomic across counters
+     *
+     * @return current values of counters
+     */
+    public MetricsSnapshot snapshot() {
+        Map<Operation, MetricsSnapshot.OperationStats> operations = new EnumMap<>(Operation.class);
+        counters.forEach((operation, counter) -> operations.put(operation, counter.snapshot(operation)));
+
+        List<MetricsSnapshot.HotMember> hotMembers = new ArrayList<>(members.size());
+        members.forEach((key, calls) -> hotMembers.add(new MetricsSnapshot.HotMember(key.className, key.member, calls.sum())));
+        return new MetricsSnapshot(operations, hotMembers, untracked.sum());
+    }
+
+    /**
+     * Reset all counters to zero and forget tracked members
+     */
+    public void reset() {
+        counters.values().forEach(Counters::reset);
+        members.clear();
+        untracked.reset();
+    }
+
+    /**
+     * Counters of one operation
+     */
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[MetricsSnapshot.BUCKETS];
+
+        Counters() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        MetricsSnapshot.OperationStats snapshot(Operation operation) {
+            long[] buckets = new long[histogram.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+            return new MetricsSnapshot.OperationStats(operation, calls.sum(), hits.sum(), misses.sum(), totalNanos.sum(), buckets);
+        }
+
+        void reset() {
+            calls.reset();
+            hits.reset();
+            misses.reset();
+            totalNanos.reset();
+            for (LongAdder bucket : histogram) {
+                bucket.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.lang.String.format;
+
+/**
+ * Immutable values of {@link MetricsRecorder} counters at one moment.
+ * {@link #toString()} renders a plain text report.
+ */
+public final class MetricsSnapshot {
+
+    // bucket b holds durations in [2^(b-1), 2^b) nanoseconds, bucket 0 holds zero
+    static final int BUCKETS = 64;
+
+    private final Map<ReflectionMetrics.Operation, OperationStats> operations;
+    private final List<HotMember> hotMembers;
+    private final long untrackedCalls;
+
+    MetricsSnapshot(Map<ReflectionMetrics.Operation, OperationStats> operations, List<HotMember> hotMembers, long untrackedCalls) {
+        this.operations = Collections.unmodifiableMap(operations);
+        List<HotMember> sorted = new ArrayList<>(hotMembers);
+        sorted.sort(Comparator.comparingLong(HotMember::getCalls).reversed());
+        this.hotMembers = Collections.unmodifiableList(sorted);
+        this.untrackedCalls = untrackedCalls;
+    }
+
+    /**
+     * @return stats of all operations
+     */
+    public Map<ReflectionMetrics.Operation, OperationStats> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @param operation operation
+     * @return stats of operation
+     */
+    public OperationStats get(ReflectionMetrics.Operation operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * @param limit limit
+     * @return at most limit (class, member) pairs with the most calls, in descending order of calls
+     */
+    public List<HotMember> getHotMembers(int limit) {
+        return hotMembers.subList(0, Math.min(Math.max(limit, 0), hotMembers.size()));
+    }
+
+    /**
+     * @return calls of (class, member) pairs beyond the bound of tracked pairs
+     */
+    public long getUntrackedCalls() {
+        return untrackedCalls;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MetricsSnapshot{\n");
+        for (OperationStats stats : operations.values()) {
+            sb.append("  ").append(stats).append('\n');
+        }
+        for (HotMember member : getHotMembers(10)) {
+            sb.append("  ").append(member).append('\n');
+        }
+        sb.append("  untracked calls: ").append(untrackedCalls).append("\n}");
+        return sb.toString();
+    }
+
+    static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Counters of one operation
+     */
+    public static final class OperationStats {
+        private final ReflectionMetrics.Operation operation;
+        private final long calls;
+        private final long hits;
+        private final long misses;
+        private final long totalNanos;
+        private final long[] histogram;
+
+        OperationStats(ReflectionMetrics.Operation operation, long calls, long hits, long misses, long totalNanos, long[] histogram) {
+            this.operation = operation;
+            this.calls = calls;
+            this.hits = hits;
+            this.misses = misses;
+            this.totalNanos = totalNanos;
+            this.histogram = histogram;
+        }
+
+        /**
+         * @return operation
+         */
+        public ReflectionMetrics.Operation getOperation() {
+            return operation;
+        }
+
+        /**
+         * @return number of calls
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return number of calls that found metadata in the cache
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return number of calls that computed metadata
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return total duration of calls
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return mean duration of calls or 0 if no calls
+         */
+        public long getMeanNanos() {
+            return calls == 0 ? 0 : totalNanos / calls;
+        }
+
+        /**
+         * Approximate percentile: the upper bound of the histogram bucket it falls into
+         *
+         * @param percentile percentile from 0 to 100
+         * @return duration or 0 if no calls
+         */
+        public long getPercentileNanos(double percentile) {
+            long total = 0;
+            for (long count : histogram) {
+                total += count;
+            }
+            if (total == 0)
+                return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100));
+            long seen = 0;
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= rank)
+                    return bucket == 0 ? 0 : (1L << bucket) - 1;
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * @return counts per bucket, bucket b holds durations in [2^(b-1), 2^b) nanoseconds
+         */
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        @Override
+        public String toString() {
+            return format("%s: calls=%d, hits=%d, misses=%d, mean=%dns, p50<=%dns, p99<=%dns",
+                    operation, calls, hits, misses, getMeanNanos(), getPercentileNanos(50), getPercentileNanos(99));
+        }
+    }
+
+    /**
+     * Number of calls of one (class, member) pair
+     */
+    public static final class HotMember {
+        private final String className;
+        private final String member;
+        private final long calls;
+
+        HotMember(String className, String member, long calls) {
+            this.className = className;
+            this.member = member;
+            this.calls = calls;
+        }
+
+        /**
+         * @return name of class
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return name of field or method, null if calls were not about one member
+         */
+        public String getMember() {
+            return member;
+        }
+
+        /**
+         * @return number of calls
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        @Override
+        public String toString() {
+            return format("%s#%s: calls=%d", className, member == null ? "*" : member, calls);
+        }
+    }
+
+    /**
+     * Key of tracked pair
+     */
+    static final class MemberKey {
+        final String className;
+        final String member;
+
+        MemberKey(String className, String member) {
+            this.className = className;
+            this.member = member;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MemberKey)) return false;
+            MemberKey key = (MemberKey) o;
+            return Objects.equals(className, key.className) && Objects.equals(member, key.member);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(className) + Objects.hashCode(member);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Reflective equals, hashCode and toString driven by {@link FieldPlan}s.
+ * Options are passed as bit flags, the bit of an option is {@code 1 << option.ordinal()}.
+ *
+ * Enums and instances of JDK classes are leaf values, handled by their own equals, hashCode and toString.
+ */
+final class ObjectMethods {
+
+    static final int INCLUDE_TRANSIENT = 1 << ReflectionOption.INCLUDE_TRANSIENT.ordinal();
+    static final int INCLUDE_STATIC = 1 << ReflectionOption.INCLUDE_STATIC.ordinal();
+    static final int DEEP = 1 << ReflectionOption.DEEP.ordinal();
+    static final int DETECT_CYCLES = 1 << ReflectionOption.DETECT_CYCLES.ordinal();
+
+    private static final ThreadLocal<Registry> REGISTRY = ThreadLocal.withInitial(Registry::new);
+
+    private ObjectMethods() { }
+
+    static int flags(ReflectionOption[] options) {
+        int flags = 0;
+        for (ReflectionOption option : options) {
+            flags |= 1 << option.ordinal();
+        }
+        return flags;
+    }
+
+    static boolean equals(Object first, Object second, int flags) {
+        if (first == second)
+            return true;
+        if (first == null || second == null || first.getClass() != second.getClass())
+            return false;
+        if ((flags & DETECT_CYCLES) == 0)
+            return equals0(first, second, flags);
+
+        Set<Pair> comparing = REGISTRY.get().comparing;
+        Pair pair = new Pair(first, second);
+        if (!comparing.add(pair))
+            return true;
+        try {
+            return equals0(first, second, flags);
+        } finally {
+            comparing.remove(pair);
+        }
+    }
+
+    static int hashCode(Object obj, int flags) {
+        if (obj == null)
+            return 0;
+        if ((flags & DETECT_CYCLES) == 0)
+            return hashCode0(obj, flags);
+
+        Set<Object> hashing = REGISTRY.get().hashing;
+        if (!hashing.add(obj))
+            return 0;
+        try {
+            return hashCode0(obj, flags);
+        } finally {
+            hashing.remove(obj);
+        }
+    }
+
+    static String toString(Object obj, int flags) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, obj, flags);
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, Object obj, int flags) {
+        if (obj == null) {
+            sb.append("null");
+            return;
+        }
+        if ((flags & DETECT_CYCLES) == 0) {
+            append0(sb, obj, flags);
+            return;
+        }
+
+        Set<Object> printing = REGISTRY.get().printing;
+        if (!printing.add(obj)) {
+            sb.append(obj.getClass().getName()).append('@').append(Integer.toHexString(System.identityHashCode(obj)));
+            return;
+        }
+        try {
+            append0(sb, obj, flags);
+        } finally {
+            printing.remove(obj);
+        }
+    }
+
+    private static boolean equals0(Object first, Object second, int flags) {
+        if (first.getClass().isArray())
+            return arrayEquals(first, second, flags);
+        if (isLeaf(first.getClass()))
+            return first.equals(second);
+
+        FieldPlan plan = ClassMetadata.of(first.getClass()).fieldPlan(flags);
+        FieldAccessor[] accessors = plan.accessors;
+        byte[] kinds = plan.kinds;
+        for (int i = 0; i < accessors.length; i++) {
+            FieldAccessor accessor = accessors[i];
+            switch (kinds[i]) {
+                case FieldPlan.BOOLEAN:
+                    if (accessor.getBoolean(first) != accessor.getBoolean(second))
+                        return false;
+                    break;
+                case FieldPlan.CHAR:
+                case FieldPlan.INT:
+                    if (accessor.getInt(first) != accessor.getInt(second))
+                        return false;
+                    break;
+                case FieldPlan.LONG:
+                    if (accessor.getLong(first) != accessor.getLong(second))
+                        return false;
+                    break;
+                case FieldPlan.FLOAT:
+                case FieldPlan.DOUBLE:
+                    // as Double.equals: NaN equals NaN, 0.0 differs from -0.0, exact for widened floats
+                    if (Double.compare(accessor.getDouble(first), accessor.getDouble(second)) != 0)
+                        return false;
+                    break;
+                default:
+                    if (!valueEquals(accessor.get(first), accessor.get(second), flags))
+                        return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean valueEquals(Object first, Object second, int flags) {
+        if (first == second)
+            return true;
+        if (first == null || second == null)
+            return false;
+        if (first.getClass().isArray() || isDeep(first.getClass(), flags))
+            return equals(first, second, flags);
+        return first.equals(second);
+    }
+
+    private static boolean arrayEquals(Object first, Object second, int flags) {
+        if (first instanceof Object[]) {
+            Object[] firstArray = (Object[]) first;
+            Object[] secondArray = (Object[]) second;
+            if (firstArray.length != secondArray.length)
+                return false;
+            for (int i = 0; i < firstArray.length; i++) {
+                if (!valueEquals(firstArray[i], secondArray[i], flags))
+                    return false;
+            }
+            return true;
+        }
+        if (first instanceof int[])
+            return Arrays.equals((int[]) first, (int[]) second);
+        if (first instanceof long[])
+            return Arrays.equals((long[]) first, (long[]) second);
+        if (first instanceof double[])
+            return Arrays.equals((double[]) first, (double[]) second);
+        if (first instanceof byte[])
+            return Arrays.equals((byte[]) first, (byte[]) second);
+        if (first instanceof char[])
+            return Arrays.equals((char[]) first, (char[]) second);
+        if (first instanceof boolean[])
+            return Arrays.equals((boolean[]) first, (boolean[]) second);
+        if (first instanceof short[])
+            return Arrays.equals((short[]) first, (short[]) second);
+        return Arrays.equals((float[]) first, (float[]) second);
+    }
+
+    private static int hashCode0(Object obj, int flags) {
+        if (obj.getClass().isArray())
+            return arrayHashCode(obj, flags);
+        if (isLeaf(obj.getClass()))
+            return obj.hashCode();
+
+        FieldPlan plan = ClassMetadata.of(obj.getClass()).fieldPlan(flags);
+        FieldAccessor[] accessors = plan.accessors;
+        byte[] kinds = plan.kinds;
+        int result = 1;
+        for (int i = 0; i < accessors.length; i++) {
+            FieldAccessor accessor = accessors[i];
+            int hash;
+            switch (kinds[i]) {
+                case FieldPlan.BOOLEAN:
+                    hash = Boolean.hashCode(accessor.getBoolean(obj));
+                    break;
+                case FieldPlan.CHAR:
+                case FieldPlan.INT:
+                    hash = accessor.getInt(obj);
+                    break;
+                case FieldPlan.LONG:
+                    hash = Long.hashCode(accessor.getLong(obj));
+                    break;
+                case FieldPlan.FLOAT:
+                case FieldPlan.DOUBLE:
+                    hash = Double.hashCode(accessor.getDouble(obj));
+                    break;
+                default:
+                    hash = valueHashCode(accessor.get(obj), flags);
+            }
+            result = 31 * result + hash;
+        }
+        return result;
+    }
+
+    private static int valueHashCode(Object value, int flags) {
+        if (value == null)
+            return 0;
+        if (value.getClass().isArray() || isDeep(value.getClass(), flags))
+            return hashCode(value, flags);
+        return value.hashCode();
+    }
+
+    private static int arrayHashCode(Object array, int flags) {
+        if (array instanceof Object[]) {
+            int result = 1;
+            for (Object element : (Object[]) array) {
+                result = 31 * result + valueHashCode(element, flags);
+            }
+            return result;
+        }
+        if (array instanceof int[])
+            return Arrays.hashCode((int[]) array);
+        if (array instanceof long[])
+            return Arrays.hashCode((long[]) array);
+        if (array instanceof double[])
+            return Arrays.hashCode((double[]) array);
+        if (array instanceof byte[])
+            return Arrays.hashCode((byte[]) array);
+        if (array instanceof char[])
+            return Arrays.hashCode((char[]) array);
+        if (array instanceof boolean[])
+            return Arrays.hashCode((boolean[]) array);
+        if (array instanceof short[])
+            return Arrays.hashCode((short[]) array);
+        return Arrays.hashCode((float[]) array);
+    }
+
+    private static void append0(StringBuilder sb, Object obj, int flags) {
+        if (obj.getClass().isArray()) {
+            appendArray(sb, obj, flags);
+            return;
+        }
+        if (isLeaf(obj.getClass())) {
+            sb.append(obj);
+            return;
+        }
+
+        FieldPlan plan = ClassMetadata.of(obj.getClass()).fieldPlan(flags);
+        FieldAccessor[] accessors = plan.accessors;
+        byte[] kinds = plan.kinds;
+        sb.append(plan.name).append('{');
+        for (int i = 0; i < accessors.length; i++) {
+            FieldAccessor accessor = accessors[i];
+            if (i > 0)
+                sb.append(", ");
+            sb.append(accessor.getName()).append('=');
+            switch (kinds[i]) {
+                case FieldPlan.BOOLEAN:
+                    sb.append(accessor.getBoolean(obj));
+                    break;
+                case FieldPlan.CHAR:
+                    sb.append((char) accessor.getInt(obj));
+                    break;
+                case FieldPlan.INT:
+                    sb.append(accessor.getInt(obj));
+                    break;
+                case FieldPlan.LONG:
+                    sb.append(accessor.getLong(obj));
+                    break;
+                case FieldPlan.FLOAT:
+                    sb.append((float) accessor.getDouble(obj));
+                    break;
+                case FieldPlan.DOUBLE:
+                    sb.append(accessor.getDouble(obj));
+                    break;
+                default:
+                    appendValue(sb, accessor.get(obj), flags);
+            }
+        }
+        sb.append('}');
+    }
+
+    private static void appendValue(StringBuilder sb, Object value, int flags) {
+        if (value != null && (value.getClass().isArray() || isDeep(value.getClass(), flags)))
+            append(sb, value, flags);
+        else
+            sb.append(value);
+    }
+
+    private static void appendArray(StringBuilder sb, Object array, int flags) {
+        if (array instanceof Object[]) {
+            sb.append('[');
+            Object[] elements = (Object[]) array;
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0)
+                    sb.append(", ");
+                appendValue(sb, elements[i], flags);
+            }
+            sb.append(']');
+        } else if (array instanceof int[]) {
+            sb.append(Arrays.toString((int[]) array));
+        } else if (array instanceof long[]) {
+            sb.append(Arrays.toString((long[]) array));
+        } else if (array instanceof double[]) {
+            sb.append(Arrays.toString((double[]) array));
+        } else if (array instanceof byte[]) {
+            sb.append(Arrays.toString((byte[]) array));
+        } else if (array instanceof char[]) {
+            sb.append(Arrays.toString((char[]) array));
+        } else if (array instanceof boolean[]) {
+            sb.append(Arrays.toString((boolean[]) array));
+        } else if (array instanceof short[]) {
+            sb.append(Arrays.toString((short[]) array));
+        } else {
+            sb.append(Arrays.toString((float[]) array));
+        }
+    }
+
+    /**
+     * @return true if values of class are processed field by field: with {@link #DEEP} for classes
+     * other than JDK classes and enums
+     */
+    private static boolean isDeep(Class<?> type, int flags) {
+        return (flags & DEEP) != 0 && !isLeaf(type);
+    }
+
+    /**
+     * @return true for enums and JDK classes, their fields are not compared
+     */
+    private static boolean isLeaf(Class<?> type) {
+        return Enum.class.isAssignableFrom(type) || JdkTypes.isJdkClass(type);
+    }
+
+    /**
+     * Objects in progress on the current thread
+     */
+    private static final class Registry {
+        final Set<Pair> comparing = new HashSet<>();
+        final Set<Object> hashing = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Object> printing = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Pair of objects compared by identity
+     */
+    private static final class Pair {
+        final Object first;
+        final Object second;
+
+        Pair(Object first, Object second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Pair)) return false;
+            Pair pair = (Pair) o;
+            return first == pair.first && second == pair.second;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(first) + System.identityHashCode(second);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package utils;
+
+import java.lang.reflect.Executable;
+import java.util.*;
+
+import static java.lang.String.format;
+
+/**
+ * Overload resolution by runtime argument types, close to the rules of the compiler:
+ * first by subtyping and primitive widening only, then with boxing and unboxing.
+ * Variable arity invocation is not supported, pass the array explicitly.
+ */
+final class Overloads {
+
+    private static final Class<?>[] NO_TYPES = {};
+
+    private Overloads() { }
+
+    /**
+     * @param args args, may be null
+     * @return runtime types of args, null for null arg
+     */
+    static Class<?>[] typesOf(Object[] args) {
+        if (args == null || args.length == 0)
+            return NO_TYPES;
+
+        Class<?>[] types = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = args[i] == null ? null : args[i].getClass();
+        }
+        return types;
+    }
+
+    /**
+     * @param candidates candidates with the same name
+     * @param argTypes types of args, null for null arg
+     * @param <T> method or constructor
+     * @return the most specific applicable candidate or null if no one is applicable
+     * @throws IllegalArgumentException if the choice is ambiguous
+     */
+    static <T extends Executable> T resolve(T[] candidates, Class<?>[] argTypes) {
+        T result = mostSpecific(candidates, argTypes, false);
+        return result != null ? result : mostSpecific(candidates, argTypes, true);
+    }
+
+    private static <T extends Executable> T mostSpecific(T[] candidates, Class<?>[] argTypes, boolean allowBoxing) {
+        List<T> applicable = new ArrayList<>(2);
+        for (T candidate : candidates) {
+            if (isApplicable(candidate.getParameterTypes(), argTypes, allowBoxing))
+                applicable.add(candidate);
+        }
+        if (applicable.size() <= 1)
+            return applicable.isEmpty() ? null : applicable.get(0);
+
+        T best = null;
+        for (T candidate : applicable) {
+            if (isMostSpecific(candidate, applicable)) {
+                if (best != null)
+                    throw ambiguous(best, candidate);
+                best = candidate;
+            }
+        }
+        if (best == null)
+            throw ambiguous(applicable.get(0), applicable.get(1));
+        return best;
+    }
+
+    private static boolean isApplicable(Class<?>[] paramTypes, Class<?>[] argTypes, boolean allowBoxing) {
+        if (paramTypes.length != argTypes.length)
+            return false;
+
+        for (int i = 0; i < paramTypes.length; i++) {
+            Class<?> paramType = paramTypes[i];
+            Class<?> argType = argTypes[i];
+            if (argType == null) {
+                if (paramType.isPrimitive())
+                    return false;
+            } else if (argType.isPrimitive()) {
+                boolean applicable = paramType.isPrimitive()
+                        ? Primitives.isWidening(argType, paramType)
+                        : allowBoxing && paramType.isAssignableFrom(Primitives.wrap(argType));
+                if (!applicable)
+                    return false;
+            } else if (paramType.isPrimitive()) {
+                Class<?> primitive = Primitives.primitiveOf(argType);
+                if (!allowBoxing || primitive == null || !Primitives.isWidening(primitive, paramType))
+                    return false;
+            } else if (!paramType.isAssignableFrom(argType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMostSpecific(Executable candidate, List<? extends Executable> applicable) {
+        for (Executable other : applicable) {
+            if (other != candidate && !isMoreSpecific(candidate.getParameterTypes(), other.getParameterTypes()))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isMoreSpecific(Class<?>[] paramTypes, Class<?>[] otherParamTypes) {
+        for (int i = 0; i < paramTypes.length; i++) {
+            Class<?> type = paramTypes[i];
+            Class<?> otherType = otherParamTypes[i];
+            boolean subtype = type.isPrimitive() == otherType.isPrimitive() && (type.isPrimitive()
+                    ? Primitives.isWidening(type, otherType)
+                    : otherType.isAssignableFrom(type));
+            if (!subtype)
+                return false;
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException ambiguous(Executable first, Executable second) {
+        return new IllegalArgumentException(format("Ambiguous call, both '%s' and '%s' match", first, second));
+    }
+
+    /**
+     * Key of resolved overload: name and runtime types of args
+     */
+    static final class Signature {
+        private final String name;
+        private final Class<?>[] argTypes;
+        private final int hash;
+
+        Signature(String name, Class<?>[] argTypes) {
+            this.name = name;
+            this.argTypes = argTypes;
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(argTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Signature)) return false;
+            Signature signature = (Signature) o;
+            return hash == signature.hash
+                    && name.equals(signature.name)
+                    && Arrays.equals(argTypes, signature.argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
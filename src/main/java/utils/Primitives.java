@@ -0,0 +1,76 @@
+package utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Primitive types, their wrappers and primitive conversions
+ */
+final class Primitives {
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_BY_WRAPPER = new HashMap<>();
+    private static final Map<Class<?>, Class<?>> WRAPPER_BY_PRIMITIVE = new HashMap<>();
+    static {
+        add(boolean.class, Boolean.class);
+        add(byte.class, Byte.class);
+        add(char.class, Character.class);
+        add(short.class, Short.class);
+        add(int.class, Integer.class);
+        add(long.class, Long.class);
+        add(float.class, Float.class);
+        add(double.class, Double.class);
+        add(void.class, Void.class);
+    }
+
+    private Primitives() { }
+
+    private static void add(Class<?> primitive, Class<?> wrapper) {
+        PRIMITIVE_BY_WRAPPER.put(wrapper, primitive);
+        WRAPPER_BY_PRIMITIVE.put(primitive, wrapper);
+    }
+
+    /**
+     * @param type type
+     * @return wrapper for primitive type, otherwise type itself
+     */
+    static Class<?> wrap(Class<?> type) {
+        Class<?> wrapper = WRAPPER_BY_PRIMITIVE.get(type);
+        return wrapper == null ? type : wrapper;
+    }
+
+    /**
+     * @param type type
+     * @return primitive for wrapper type or null
+     */
+    static Class<?> primitiveOf(Class<?> type) {
+        return PRIMITIVE_BY_WRAPPER.get(type);
+    }
+
+    /**
+     * @param type type
+     * @return true if type is primitive or wrapper, except void
+     */
+    static boolean isPrimitiveOrWrapper(Class<?> type) {
+        return type != void.class && type != Void.class
+                && (type.isPrimitive() || PRIMITIVE_BY_WRAPPER.containsKey(type));
+    }
+
+    /**
+     * Identity or widening primitive conversion, JLS 5.1.2
+     */
+    static boolean isWidening(Class<?> from, Class<?> to) {
+        if (from == to)
+            return true;
+        if (from == byte.class)
+            return to == short.class || to == int.class || to == long.class || to == float.class || to == double.class;
+        if (from == short.class || from == char.class)
+            return to == int.class || to == long.class || to == float.class || to == double.class;
+        if (from == int.class)
+            return to == long.class || to == float.class || to == double.class;
+        if (from == long.class)
+            return to == float.class || to == double.class;
+        if (from == float.class)
+            return to == double.class;
+        return false;
+    }
+}
@@ -0,0 +1,496 @@
+package utils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+
+/**
+ * Compiled path to a nested value: {@code order.customer.address.zip}, {@code lines[3].price},
+ * {@code attributes['color']}.
+ *
+ * A name reads a field with any access modifier, or the entry with this key if the value is a {@link Map}.
+ * A number in brackets is an index of an array or a {@link List}, or an {@link Integer} key of a map.
+ * Other keys in brackets are string keys of a map, quote them with {@code '} or {@code "} if they contain
+ * brackets, dots or digits only.
+ *
+ * Each hop caches the accessor of the last seen class, so a path used with objects of the same classes
+ * resolves fields once. Instances are immutable apart from this cache and can be shared between threads.
+ * Paths cached by this library only cache classes loaded by the class loader of their owner or its parents,
+ * so they do not pin class loaders.
+ *
+ * Obtain an instance with {@link #compile(String)} or {@link ReflectionUtils#propertyPath(String)} and keep it.
+ */
+public final class PropertyPath {
+
+    static final int MAX_CACHED_PATHS = 1024;
+    private static final ConcurrentMap<String, PropertyPath> PATHS = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final Segment[] segments;
+
+    /**
+     * Hops cache only classes visible from the class loader of owner, any class if null
+     */
+    private final Class<?> owner;
+
+    private PropertyPath(String path, Segment[] segments, Class<?> owner) {
+        this.path = path;
+        this.segments = segments;
+        this.owner = owner;
+    }
+
+    /**
+     * @param path path
+     * @return compiled path
+     * @throws IllegalArgumentException if path is malformed
+     */
+    public static PropertyPath compile(String path) {
+        return new PropertyPath(path, parse(path), null);
+    }
+
+    /**
+     * @param path path
+     * @param owner hops cache only classes loaded by the class loader of owner or its parents
+     * @return compiled path
+     * @throws IllegalArgumentException if path is malformed
+     */
+    static PropertyPath compile(String path, Class<?> owner) {
+        return new PropertyPath(path, parse(path), owner);
+    }
+
+    /**
+     * @param path path
+     * @return compiled path, cached for a bounded number of distinct paths
+     * @throws IllegalArgumentException if path is malformed
+     */
+    static PropertyPath of(String path) {
+        PropertyPath compiled = PATHS.get(path);
+        if (compiled == null) {
+            compiled = compile(path, PropertyPath.class);
+            if (PATHS.size() < MAX_CACHED_PATHS)
+                PATHS.putIfAbsent(path, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * @param name name of field or path
+     * @return true if name contains path syntax
+     */
+    static boolean isPath(String name) {
+        return name.indexOf('.') >= 0 || name.indexOf('[') >= 0;
+    }
+
+    /**
+     * Get the nested value
+     *
+     * @param root root
+     * @return value or null if root or any intermediate value is null
+     * @throws IllegalArgumentException if field not exist, index is out of bounds or value cannot be indexed
+     */
+    public Object get(Object root) {
+        Object current = root;
+        for (Segment segment : segments) {
+            if (current == null)
+                return null;
+            current = segment.get(current, this);
+        }
+        return current;
+    }
+
+    /**
+     * Set the nested value, intermediate values must exist
+     *
+     * @param root root
+     * @param value value
+     * @throws IllegalArgumentException if root or any intermediate value is null, field not exist,
+     *                                  index is out of bounds or value cannot be indexed
+     */
+    public void set(Object root, Object value) {
+        set(root, value, false);
+    }
+
+    /**
+     * Set the nested value
+     *
+     * @param root root
+     * @param value value
+     * @param createMissing create null intermediate values: fields by their types,
+     *                      lists and maps by their type arguments, lists are grown to the index.
+     *                      {@link List}, {@link Map}, {@link Set} and {@link Collection} are created as
+     *                      {@link ArrayList}, {@link HashMap}, {@link HashSet}, other types with no-arg constructor
+     * @throws IllegalArgumentException if an intermediate value is null and cannot be created,
+     *                                  field not exist, index is out of bounds or value cannot be indexed
+     */
+    public void set(Object root, Object value, boolean createMissing) {
+        if (root == null)
+            throw new IllegalArgumentException(format("Cannot set path '%s' of null", path));
+
+        Object current = root;
+        Type currentType = root.getClass();
+        for (int i = 0; i < segments.length - 1; i++) {
+            Segment segment = segments[i];
+            Object next = createMissing ? segment.find(current, this) : segment.get(current, this);
+            Type nextType = segment.valueType(current, currentType, this);
+            if (next == null) {
+                if (!createMissing)
+                    throw new IllegalArgumentException(format("Cannot set path '%s': '%s' is null", path, prefix(i)));
+                next = instantiate(nextType, i);
+                segment.set(current, next, true, this);
+            }
+            current = next;
+            currentType = nextType;
+        }
+        segments[segments.length - 1].set(current, value, createMissing, this);
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private Object instantiate(Type type, int segment) {
+        Class<?> raw = rawType(type);
+        if (raw == null || raw == Object.class)
+            throw new IllegalArgumentException(format("Cannot create '%s' of path '%s': unknown type", prefix(segment), path));
+
+        if (raw.isArray())
+            throw new IllegalArgumentException(format("Cannot create '%s' of path '%s': array length is unknown", prefix(segment), path));
+        if (raw.isAssignableFrom(ArrayList.class))
+            return new ArrayList<>();
+        if (raw.isAssignableFrom(HashMap.class))
+            return new HashMap<>();
+        if (raw.isAssignableFrom(HashSet.class))
+            return new HashSet<>();
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers()) || raw.isPrimitive())
+            throw new IllegalArgumentException(format("Cannot create '%s' of path '%s': %s is abstract", prefix(segment), path, raw));
+
+        try {
+            Constructor<?> constructor = raw.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(format("Cannot create '%s' of path '%s' of type %s", prefix(segment), path, raw), e);
+        }
+    }
+
+    private String prefix(int lastSegment) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= lastSegment; i++) {
+            sb.append(segments[i]);
+        }
+        return sb.charAt(0) == '.' ? sb.substring(1) : sb.toString();
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class)
+            return (Class<?>) type;
+        if (type instanceof ParameterizedType)
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        return null;
+    }
+
+    /**
+     * @return type argument of generic type or null if unknown
+     */
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length)
+                return arguments[index];
+        }
+        return null;
+    }
+
+    private static Segment[] parse(String path) {
+        if (path == null || path.trim().isEmpty())
+            throw new IllegalArgumentException("Path should not be empty");
+
+        List<Segment> segments = new ArrayList<>();
+        int i = 0;
+        int length = path.length();
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '[') {
+                int end = closingBracket(path, i);
+                segments.add(key(path, path.substring(i + 1, end).trim()));
+                i = end + 1;
+            } else {
+                if (c == '.') {
+                    if (segments.isEmpty())
+                        throw malformed(path, i);
+                    i++;
+                }
+                int start = i;
+                while (i < length && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                    i++;
+                }
+                String name = path.substring(start, i).trim();
+                if (name.isEmpty())
+                    throw malformed(path, start);
+                segments.add(new Name(name));
+            }
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    private static int closingBracket(String path, int open) {
+        int i = open + 1;
+        if (i < path.length() && (path.charAt(i) == '\'' || path.charAt(i) == '"')) {
+            int closingQuote = path.indexOf(path.charAt(i), i + 1);
+            if (closingQuote < 0)
+                throw malformed(path, i);
+            i = closingQuote + 1;
+        }
+        int end = path.indexOf(']', i);
+        if (end < 0)
+            throw malformed(path, open);
+        return end;
+    }
+
+    private static Segment key(String path, String key) {
+        if (key.isEmpty())
+            throw new IllegalArgumentException(format("Empty brackets in path '%s'", path));
+
+        char first = key.charAt(0);
+        if ((first == '\'' || first == '"') && key.length() >= 2 && key.charAt(key.length() - 1) == first)
+            return new Key(key.substring(1, key.length() - 1));
+
+        boolean digits = true;
+        for (int i = 0; i < key.length(); i++) {
+            digits &= Character.isDigit(key.charAt(i));
+        }
+        if (!digits)
+            return new Key(key);
+
+        try {
+            return new Index(Integer.parseInt(key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(format("Index '%s' is too large in path '%s'", key, path), e);
+        }
+    }
+
+    private static IllegalArgumentException malformed(String path, int position) {
+        return new IllegalArgumentException(format("Malformed path '%s' at position %d", path, position));
+    }
+
+    /**
+     * One hop of the path
+     */
+    private abstract static class Segment {
+
+        abstract Object get(Object target, PropertyPath path);
+
+        /**
+         * @return value or null if it does not exist yet
+         */
+        Object find(Object target, PropertyPath path) {
+            return get(target, path);
+        }
+
+        abstract void set(Object target, Object value, boolean grow, PropertyPath path);
+
+        /**
+         * @return declared type of the value of this hop, may be generic or null if unknown
+         */
+        abstract Type valueType(Object target, Type targetType, PropertyPath path);
+    }
+
+    /**
+     * Field or string key of map
+     */
+    private static final class Name extends Segment {
+        private final String name;
+        private volatile Hop hop;
+
+        Name(String name) {
+            this.name = name;
+        }
+
+        @Override
+        Object get(Object target, PropertyPath path) {
+            if (target instanceof Map)
+                return ((Map<?, ?>) target).get(name);
+            return accessor(target, path).get(target);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void set(Object target, Object value, boolean grow, PropertyPath path) {
+            if (target instanceof Map)
+                ((Map<Object, Object>) target).put(name, value);
+            else
+                accessor(target, path).set(target, value);
+        }
+
+        @Override
+        Type valueType(Object target, Type targetType, PropertyPath path) {
+            if (target instanceof Map)
+                return typeArgument(targetType, 1);
+            return accessor(target, path).getField().getGenericType();
+        }
+
+        /**
+         * Inline cache: accessor of the last seen class visible from the owner of path
+         */
+        private FieldAccessor accessor(Object target, PropertyPath path) {
+            Class<?> type = target.getClass();
+            Hop cached = hop;
+            if (cached != null && cached.type == type)
+                return cached.accessor;
+
+            FieldAccessor accessor = ClassMetadata.of(type).accessor(name);
+            if (accessor == null) {
+                String msg = format("Cannot find field name: '%s' from class: '%s'", name, type);
+                throw new IllegalArgumentException(msg);
+            }
+            if (path.owner == null || ClassCache.isVisible(type, path.owner))
+                hop = new Hop(type, accessor);
+            return accessor;
+        }
+
+        @Override
+        public String toString() {
+            return "." + name;
+        }
+    }
+
+    /**
+     * Index of array or list, integer key of map
+     */
+    private static final class Index extends Segment {
+        private final int index;
+
+        Index(int index) {
+            this.index = index;
+        }
+
+        @Override
+        Object get(Object target, PropertyPath path) {
+            if (target instanceof List) {
+                List<?> list = (List<?>) target;
+                checkBounds(list.size(), path);
+                return list.get(index);
+            }
+            if (target.getClass().isArray()) {
+                checkBounds(Array.getLength(target), path);
+                return Array.get(target, index);
+            }
+            if (target instanceof Map)
+                return ((Map<?, ?>) target).get(index);
+            throw notIndexable(target, path);
+        }
+
+        @Override
+        Object find(Object target, PropertyPath path) {
+            if (target instanceof List && index >= ((List<?>) target).size())
+                return null;
+            return get(target, path);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void set(Object target, Object value, boolean grow, PropertyPath path) {
+            if (target instanceof List) {
+                List<Object> list = (List<Object>) target;
+                if (grow) {
+                    while (list.size() <= index) {
+                        list.add(null);
+                    }
+                }
+                checkBounds(list.size(), path);
+                list.set(index, value);
+            } else if (target.getClass().isArray()) {
+                checkBounds(Array.getLength(target), path);
+                try {
+                    Array.set(target, index, value);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(format("Cannot set %s of path '%s'", this, path), e);
+                }
+            } else if (target instanceof Map) {
+                ((Map<Object, Object>) target).put(index, value);
+            } else {
+                throw notIndexable(target, path);
+            }
+        }
+
+        @Override
+        Type valueType(Object target, Type targetType, PropertyPath path) {
+            if (target.getClass().isArray())
+                return target.getClass().getComponentType();
+            return typeArgument(targetType, target instanceof Map ? 1 : 0);
+        }
+
+        private void checkBounds(int size, PropertyPath path) {
+            if (index >= size)
+                throw new IllegalArgumentException(format("Index %d is out of bounds of size %d in path '%s'", index, size, path));
+        }
+
+        private IllegalArgumentException notIndexable(Object target, PropertyPath path) {
+            return new IllegalArgumentException(format("Cannot index %s by %s in path '%s'", target.getClass(), this, path));
+        }
+
+        @Override
+        public String toString() {
+            return "[" + index + "]";
+        }
+    }
+
+    /**
+     * String key of map
+     */
+    private static final class Key extends Segment {
+        private final String key;
+
+        Key(String key) {
+            this.key = key;
+        }
+
+        @Override
+        Object get(Object target, PropertyPath path) {
+            return map(target, path).get(key);
+        }
+
+        @Override
+        void set(Object target, Object value, boolean grow, PropertyPath path) {
+            map(target, path).put(key, value);
+        }
+
+        @Override
+        Type valueType(Object target, Type targetType, PropertyPath path) {
+            return typeArgument(targetType, 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> map(Object target, PropertyPath path) {
+            if (!(target instanceof Map))
+                throw new IllegalArgumentException(format("Cannot get key '%s' of %s in path '%s'", key, target.getClass(), path));
+            return (Map<Object, Object>) target;
+        }
+
+        @Override
+        public String toString() {
+            return "['" + key + "']";
+        }
+    }
+
+    /**
+     * Resolved accessor of one class, immutable so it is safely shared between threads
+     */
+    private static final class Hop {
+        final Class<?> type;
+        final FieldAccessor accessor;
+
+        Hop(Class<?> type, FieldAccessor accessor) {
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package utils;
+
+/**
+ * Stream of (name, value) pairs of one row, consumed by {@link Hydrator#hydrate(PropertySource)},
+ * for example backed by a JSON parser or a result set, so rows need not be materialized as maps.
+ *
+ * The hydrator calls {@link #nextName()}, then either {@link #nextValue()} or {@link #skipValue()}, until
+ * {@link #nextName()} returns null.
+ */
+public interface PropertySource {
+
+    /**
+     * @return name of the next property of the row or null at the end of the row
+     */
+    String nextName();
+
+    /**
+     * @return value of the property returned by the last {@link #nextName()}
+     */
+    Object nextValue();
+
+    /**
+     * Skip value of the property returned by the last {@link #nextName()}, called for unknown names
+     */
+    default void skipValue() {
+        nextValue();
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+/**
+ * Receiver of measurements of {@link ReflectionUtils} entry points.
+ *
+ * Metrics are disabled by default. Enable them with {@link ReflectionUtils#setMetrics(ReflectionMetrics)},
+ * for example with {@link MetricsRecorder} that keeps counters in process. When disabled,
+ * entry points check a single static field and nothing is measured.
+ *
+ * Implementations are called on the thread of the measured call and must be thread-safe and cheap.
+ */
+@FunctionalInterface
+public interface ReflectionMetrics {
+
+    /**
+     * Measured entry points of {@link ReflectionUtils}
+     */
+    enum Operation {
+        GET_FIELD_CONTENT,
+        SET_FIELD_CONTENT,
+        CALL_METHOD,
+        GET_MAP_FIELD_NAME_AND_VALUE,
+        CAST_FIELD_VALUE_BY_TYPE
+    }
+
+    /**
+     * Record one call, successful or not
+     *
+     * @param operation entry point
+     * @param type class of the object, the target type for {@link Operation#CAST_FIELD_VALUE_BY_TYPE}
+     * @param member name of field or method, null if the call is not about one member
+     * @param cached true if the call found its metadata in the cache, false if it was computed by the call
+     * @param nanos duration of the call
+     */
+    void record(Operation operation, Class<?> type, String member, boolean cached, long nanos);
+}
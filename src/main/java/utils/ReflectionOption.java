@@ -0,0 +1,33 @@
+package utils;
+
+/**
+ * Options of {@link ReflectionUtils#reflectionEquals(Object, Object, ReflectionOption...)},
+ * {@link ReflectionUtils#reflectionHashCode(Object, ReflectionOption...)}
+ * and {@link ReflectionUtils#reflectionToString(Object, ReflectionOption...)}
+ */
+public enum ReflectionOption {
+
+    /**
+     * Include transient fields, they are excluded by default
+     */
+    INCLUDE_TRANSIENT,
+
+    /**
+     * Include static fields, they are excluded by default
+     */
+    INCLUDE_STATIC,
+
+    /**
+     * Compare, hash and print values of non-JDK classes field by field too, instead of with their own methods.
+     * Arrays are always processed element by element
+     */
+    DEEP,
+
+    /**
+     * Track objects in progress on the current thread, so a cycle of references ends instead of overflowing the stack,
+     * also through equals, hashCode and toString of values that call back into reflection methods.
+     * A pair already being compared is considered equal, an object already being hashed adds 0
+     * and an object already being printed is printed as class name and identity hash code
+     */
+    DETECT_CYCLES
+}
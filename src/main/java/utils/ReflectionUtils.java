@@ -1,12 +1,19 @@
 package utils;
 
+import utils.ReflectionMetrics.Operation;
+
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
-import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.toList;
 
 public final class ReflectionUtils {
 
@@ -14,18 +21,73 @@ public final class ReflectionUtils {
 
     private static final String GETTER_PREFIX = "get";
     private static final String SETTER_PREFIX = "set";
+    private static final String BOOLEAN_GETTER_PREFIX = "is";
+
+    // null when disabled: entry points check only this field
+    private static volatile ReflectionMetrics metrics;
+
+    /**
+     * Enable measurements of entry points, see {@link ReflectionMetrics.Operation}
+     *
+     * @param reflectionMetrics receiver of measurements, null to disable
+     */
+    public static void setMetrics(ReflectionMetrics reflectionMetrics) {
+        metrics = reflectionMetrics;
+    }
 
     /**
+     * @return receiver of measurements or null if disabled
+     */
+    public static ReflectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Field name and field content of all fields even from parent
+     *
      * @param object object
      * @return map
      */
     public static Map<String, Object> getMapFieldNameAndValue(Object object) {
-        Field[] fields = getAllFields(object.getClass());
-        Map<String, Object> map = new HashMap<>();
-        for (Field field : fields) {
-            map.put(field.getName(), getFieldContent(object, field.getName()));
+        ReflectionMetrics reflectionMetrics = metrics;
+        if (reflectionMetrics != null)
+            return measure(reflectionMetrics, Operation.GET_MAP_FIELD_NAME_AND_VALUE, object.getClass(), null,
+                    ClassMetadata.isCached(object.getClass()), () -> getMapFieldNameAndValue0(object));
+
+        return getMapFieldNameAndValue0(object);
+    }
+
+    /**
+     * Put field name and field content of all fields even from parent to the target map.
+     * Allows to reuse one map for many objects
+     *
+     * @param object object
+     * @param target target map
+     * @return target map
+     */
+    public static Map<String, Object> getMapFieldNameAndValue(Object object, Map<String, Object> target) {
+        ReflectionMetrics reflectionMetrics = metrics;
+        if (reflectionMetrics != null)
+            return measure(reflectionMetrics, Operation.GET_MAP_FIELD_NAME_AND_VALUE, object.getClass(), null,
+                    ClassMetadata.isCached(object.getClass()), () -> putFieldNameAndValue(ClassMetadata.of(object.getClass()), object, target));
+
+        return putFieldNameAndValue(ClassMetadata.of(object.getClass()), object, target);
+    }
+
+    /**
+     * Immutable snapshot of all fields even from parent.
+     * Cheaper than {@link #getMapFieldNameAndValue(Object)}: the snapshot holds only an array of values
+     *
+     * @param object object
+     * @return snapshot
+     */
+    public static FieldSnapshot snapshot(Object object) {
+        ClassMetadata metadata = ClassMetadata.of(object.getClass());
+        Object[] values = new Object[metadata.visibleFields().length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = metadata.get(object, i);
         }
-        return map;
+        return new FieldSnapshot(metadata, values);
     }
 
     /**
@@ -41,6 +103,19 @@ public final class ReflectionUtils {
         return convertFieldByAddingPrefix(fieldName, GETTER_PREFIX);
     }
 
+    /**
+     * Get name of getter of primitive boolean field
+     *
+     * @param fieldName fieldName
+     * @return getter name
+     */
+    public static String booleanGetterByFieldName(String fieldName) {
+        if (isStringNullOrEmpty(fieldName))
+            return null;
+
+        return convertFieldByAddingPrefix(fieldName, BOOLEAN_GETTER_PREFIX);
+    }
+
     /**
      * Get name of setter
      *
@@ -55,22 +130,83 @@ public final class ReflectionUtils {
     }
 
     /**
-     * Get the contents of the field with any access modifier
+     * Get the contents of the field with any access modifier.
+     * Nested values are addressed with a path, see {@link PropertyPath}: {@code order.lines[0].price}
      *
      * @param obj obj
-     * @param fieldName fieldName
-     * @return content of field
+     * @param fieldName fieldName or path
+     * @return content of field, null if an intermediate value of the path is null
      */
     public static Object getFieldContent(Object obj, String fieldName) {
         if (!isValidParams(obj, fieldName))
             return null;
 
-        try {
-            Field declaredField = getFieldAccessible(obj, fieldName);
-            return declaredField.get(obj);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException("Cannot get field content for field name: " + fieldName, e);
-        }
+        ReflectionMetrics reflectionMetrics = metrics;
+        if (reflectionMetrics != null)
+            return measure(reflectionMetrics, Operation.GET_FIELD_CONTENT, obj.getClass(), fieldName,
+                    ClassMetadata.isCached(obj.getClass()), () -> getFieldContent0(obj, fieldName));
+
+        return getFieldContent0(obj, fieldName);
+    }
+
+    /**
+     * Get the contents of the {@code int} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @return content of field
+     * @throws IllegalArgumentException if obj is null, not exist fieldName or field cannot be read as {@code int}
+     */
+    public static int getInt(Object obj, String fieldName) {
+        if (!isValidParams(obj, fieldName))
+            throw new IllegalArgumentException("Cannot get field content for field name: " + fieldName);
+
+        return getFieldAccessor(obj, fieldName).getInt(obj);
+    }
+
+    /**
+     * Get the contents of the {@code long} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @return content of field
+     * @throws IllegalArgumentException if obj is null, not exist fieldName or field cannot be read as {@code long}
+     */
+    public static long getLong(Object obj, String fieldName) {
+        if (!isValidParams(obj, fieldName))
+            throw new IllegalArgumentException("Cannot get field content for field name: " + fieldName);
+
+        return getFieldAccessor(obj, fieldName).getLong(obj);
+    }
+
+    /**
+     * Get the contents of the {@code double} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @return content of field
+     * @throws IllegalArgumentException if obj is null, not exist fieldName or field cannot be read as {@code double}
+     */
+    public static double getDouble(Object obj, String fieldName) {
+        if (!isValidParams(obj, fieldName))
+            throw new IllegalArgumentException("Cannot get field content for field name: " + fieldName);
+
+        return getFieldAccessor(obj, fieldName).getDouble(obj);
+    }
+
+    /**
+     * Get the contents of the {@code boolean} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @return content of field
+     * @throws IllegalArgumentException if obj is null, not exist fieldName or field cannot be read as {@code boolean}
+     */
+    public static boolean getBoolean(Object obj, String fieldName) {
+        if (!isValidParams(obj, fieldName))
+            throw new IllegalArgumentException("Cannot get field content for field name: " + fieldName);
+
+        return getFieldAccessor(obj, fieldName).getBoolean(obj);
     }
 
     /**
@@ -80,9 +216,7 @@ public final class ReflectionUtils {
      */
     public static Object getStaticFieldContent(final Class<?> clazz, final String fieldName) {
         try {
-            Field field = getFieldWithCheck(clazz, fieldName);
-            field.setAccessible(true);
-            return field.get(clazz);
+            return accessor(clazz, fieldName).get(null);
         } catch (Exception e) {
             String exceptionMsg = format("Cannot find or get static field: '%s' from class: '%s'", fieldName, clazz);
             throw new RuntimeException(exceptionMsg, e);
@@ -90,46 +224,643 @@ public final class ReflectionUtils {
     }
 
     /**
-     * Set the contents to the field with any access modifier
+     * Set the contents to the field with any access modifier.
+     * Nested values are addressed with a path, see {@link PropertyPath}: {@code order.lines[0].price}
      *
      * @param obj obj
-     * @param fieldName fieldName
+     * @param fieldName fieldName or path, intermediate values of the path must exist
      * @param value value
      */
     public static void setFieldContent(Object obj, String fieldName, Object value) {
         if (!isValidParams(obj, fieldName))
             return;
 
-        try {
-            Field declaredField = getFieldAccessible(obj, fieldName);
-            declaredField.set(obj, value);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException("Cannot set field content for field name: " + fieldName, e);
+        ReflectionMetrics reflectionMetrics = metrics;
+        if (reflectionMetrics != null) {
+            measure(reflectionMetrics, Operation.SET_FIELD_CONTENT, obj.getClass(), fieldName,
+                    ClassMetadata.isCached(obj.getClass()), () -> {
+                        setFieldContent0(obj, fieldName, value);
+                        return null;
+                    });
+            return;
+        }
+
+        setFieldContent0(obj, fieldName, value);
+    }
+
+    /**
+     * Set the contents to the {@code int} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @param value value
+     */
+    public static void setInt(Object obj, String fieldName, int value) {
+        if (!isValidParams(obj, fieldName))
+            return;
+
+        getFieldAccessor(obj, fieldName).setInt(obj, value);
+    }
+
+    /**
+     * Set the contents to the {@code long} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @param value value
+     */
+    public static void setLong(Object obj, String fieldName, long value) {
+        if (!isValidParams(obj, fieldName))
+            return;
+
+        getFieldAccessor(obj, fieldName).setLong(obj, value);
+    }
+
+    /**
+     * Set the contents to the {@code double} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @param value value
+     */
+    public static void setDouble(Object obj, String fieldName, double value) {
+        if (!isValidParams(obj, fieldName))
+            return;
+
+        getFieldAccessor(obj, fieldName).setDouble(obj, value);
+    }
+
+    /**
+     * Set the contents to the {@code boolean} field with any access modifier without boxing
+     *
+     * @param obj obj
+     * @param fieldName fieldName
+     * @param value value
+     */
+    public static void setBoolean(Object obj, String fieldName, boolean value) {
+        if (!isValidParams(obj, fieldName))
+            return;
+
+        getFieldAccessor(obj, fieldName).setBoolean(obj, value);
+    }
+
+    /**
+     * Get the contents of the field of every object.
+     * The field is resolved once per class of objects, primitive fields are read without boxing
+     *
+     * @param objects objects, null elements give default values
+     * @param fieldName fieldName
+     * @return {@code int[]}, {@code long[]} or other primitive array if the field of the first non-null object is primitive,
+     *         otherwise {@code Object[]}
+     * @throws IllegalArgumentException if not exist fieldName in class of any object
+     */
+    public static Object extractColumn(Collection<?> objects, String fieldName) {
+        return Columns.extract(objects, fieldName, false);
+    }
+
+    /**
+     * Same as {@link #extractColumn(Collection, String)}, large collections are split in chunks
+     * and read over the common fork-join pool
+     *
+     * @param objects objects, null elements give default values
+     * @param fieldName fieldName
+     * @return primitive array or {@code Object[]}
+     * @throws IllegalArgumentException if not exist fieldName in class of any object
+     */
+    public static Object extractColumnParallel(Collection<?> objects, String fieldName) {
+        return Columns.extract(objects, fieldName, true);
+    }
+
+    /**
+     * @param objects objects, null elements give 0
+     * @param fieldName fieldName
+     * @return content of the field of every object
+     * @throws IllegalArgumentException if not exist fieldName or field cannot be read as {@code int}
+     */
+    public static int[] extractIntColumn(Collection<?> objects, String fieldName) {
+        return (int[]) Columns.extract(objects, fieldName, int.class);
+    }
+
+    /**
+     * @param objects objects, null elements give 0
+     * @param fieldName fieldName
+     * @return content of the field of every object
+     * @throws IllegalArgumentException if not exist fieldName or field cannot be read as {@code long}
+     */
+    public static long[] extractLongColumn(Collection<?> objects, String fieldName) {
+        return (long[]) Columns.extract(objects, fieldName, long.class);
+    }
+
+    /**
+     * @param objects objects, null elements give 0
+     * @param fieldName fieldName
+     * @return content of the field of every object
+     * @throws IllegalArgumentException if not exist fieldName or field cannot be read as {@code double}
+     */
+    public static double[] extractDoubleColumn(Collection<?> objects, String fieldName) {
+        return (double[]) Columns.extract(objects, fieldName, double.class);
+    }
+
+    /**
+     * Set the contents to the field of every object, the inverse of {@link #extractColumn(Collection, String)}.
+     * The field is resolved once per class of objects,
+     * {@code int[]}, {@code long[]}, {@code double[]} and {@code boolean[]} are written without boxing
+     *
+     * @param objects objects, null elements are skipped
+     * @param fieldName fieldName
+     * @param values primitive array or {@code Object[]} with the same length as objects
+     * @throws IllegalArgumentException if lengths differ, not exist fieldName or a value cannot be written
+     */
+    public static void setColumn(Collection<?> objects, String fieldName, Object values) {
+        Columns.scatter(objects, fieldName, values, false);
+    }
+
+    /**
+     * Same as {@link #setColumn(Collection, String, Object)}, large collections are split in chunks
+     * and written over the common fork-join pool
+     *
+     * @param objects objects, null elements are skipped
+     * @param fieldName fieldName
+     * @param values primitive array or {@code Object[]} with the same length as objects
+     * @throws IllegalArgumentException if lengths differ, not exist fieldName or a value cannot be written
+     */
+    public static void setColumnParallel(Collection<?> objects, String fieldName, Object values) {
+        Columns.scatter(objects, fieldName, values, true);
+    }
+
+    /**
+     * Get the compiled accessor of the field with any access modifier even from parent.
+     * Accessors are cached, keep the returned one for repeated reads and writes
+     *
+     * @param clazz clazz
+     * @param fieldName fieldName
+     * @return accessor
+     * @throws IllegalArgumentException if not exist fieldName
+     */
+    public static FieldAccessor accessor(Class<?> clazz, String fieldName) {
+        FieldAccessor accessor = isValidParams(clazz, fieldName)
+                ? ClassMetadata.of(clazz).accessor(fieldName)
+                : null;
+        if (accessor == null) {
+            String msg = String.format("Cannot find field name: '%s' from class: '%s'", fieldName, clazz);
+            throw new IllegalArgumentException(msg);
         }
+        return accessor;
     }
 
     /**
-     * Call a method with any access modifier
+     * Compiled path to a nested value, cached for a bounded number of distinct paths.
+     * Keep the returned one for repeated calls
+     *
+     * @param path path, see {@link PropertyPath}
+     * @return compiled path
+     * @throws IllegalArgumentException if path is malformed
+     */
+    public static PropertyPath propertyPath(String path) {
+        return PropertyPath.of(path);
+    }
+
+    /**
+     * Call a method with any access modifier.
+     * The overload is chosen by runtime types of params with the rules of the compiler:
+     * subtyping first, then unboxing and primitive widening.
+     * The choice is cached per class, method name and types of params
      *
      * @param obj obj
      * @param methodName methodName
+     * @param params params
      * @return result of method
-     * @throws IllegalArgumentException if not exist methodName
+     * @throws IllegalArgumentException if not exist methodName applicable to params or the choice is ambiguous
      */
     public static Object callMethod(Object obj, String methodName, Object...params) {
         if (!isValidParams(obj, methodName))
             return null;
 
+        ReflectionMetrics reflectionMetrics = metrics;
+        if (reflectionMetrics != null)
+            return measure(reflectionMetrics, Operation.CALL_METHOD, obj.getClass(), methodName,
+                    ClassMetadata.isCached(obj.getClass()), () -> callMethod0(obj, methodName, params));
+
+        return callMethod0(obj, methodName, params);
+    }
+
+    /**
+     * Get the compiled invoker of the most specific method applicable to arguments of given types even from parent.
+     * Invokers are cached, keep the returned one for repeated calls
+     *
+     * @param clazz clazz
+     * @param methodName methodName
+     * @param argTypes types of arguments, null for null argument
+     * @return invoker
+     * @throws IllegalArgumentException if not exist methodName applicable to argTypes or the choice is ambiguous
+     */
+    public static MethodInvoker invoker(Class<?> clazz, String methodName, Class<?>... argTypes) {
+        if (!isValidParams(clazz, methodName))
+            throw new IllegalArgumentException(String.format("Cannot find method name: '%s'", methodName));
+
+        return resolveMethod(clazz, methodName, argTypes.clone());
+    }
+
+    /**
+     * Get the accessor of all fields and methods of the class by index,
+     * backed by a class generated at runtime when possible.
+     * Accessors are cached, keep the returned one for repeated calls
+     *
+     * @param clazz clazz
+     * @return accessor
+     */
+    public static ClassAccessor classAccessor(Class<?> clazz) {
+        return ClassMetadata.of(clazz).classAccessor();
+    }
+
+    /**
+     * Get the compiled invoker of the method
+     *
+     * @param method method
+     * @return invoker
+     */
+    public static MethodInvoker invoker(Method method) {
+        return ClassMetadata.of(method.getDeclaringClass()).invoker(method);
+    }
+
+    /**
+     * Compare all non-transient, non-static fields of objects of the same class, fields of parents too.
+     * Values of fields are compared with their equals, arrays element by element.
+     * Fields declared by JDK classes are skipped, enums and instances of JDK classes are compared with their equals
+     *
+     * @param first first
+     * @param second second
+     * @return true if both are null, or of the same class with equal fields
+     */
+    public static boolean reflectionEquals(Object first, Object second) {
+        return ObjectMethods.equals(first, second, 0);
+    }
+
+    /**
+     * Compare fields of objects of the same class, fields of parents too, as selected by options.
+     * The fields and their accessors are resolved once per class
+     *
+     * @param first first
+     * @param second second
+     * @param options options
+     * @return true if both are null, or of the same class with equal fields
+     */
+    public static boolean reflectionEquals(Object first, Object second, ReflectionOption... options) {
+        return ObjectMethods.equals(first, second, ObjectMethods.flags(options));
+    }
+
+    /**
+     * Hash code of all non-transient, non-static fields, consistent with {@link #reflectionEquals(Object, Object)}
+     *
+     * @param obj obj
+     * @return hash code, 0 for null
+     */
+    public static int reflectionHashCode(Object obj) {
+        return ObjectMethods.hashCode(obj, 0);
+    }
+
+    /**
+     * Hash code of fields selected by options, consistent with
+     * {@link #reflectionEquals(Object, Object, ReflectionOption...)} with the same options
+     *
+     * @param obj obj
+     * @param options options
+     * @return hash code, 0 for null
+     */
+    public static int reflectionHashCode(Object obj, ReflectionOption... options) {
+        return ObjectMethods.hashCode(obj, ObjectMethods.flags(options));
+    }
+
+    /**
+     * String of all non-transient, non-static fields in the form {@code Child{chileName=name, age=5, id=1}}.
+     * Fields declared by JDK classes are skipped, enums and instances of JDK classes are printed with their toString
+     *
+     * @param obj obj
+     * @return string, "null" for null
+     */
+    public static String reflectionToString(Object obj) {
+        return ObjectMethods.toString(obj, 0);
+    }
+
+    /**
+     * String of fields selected by options in the form {@code Child{chileName=name, age=5, id=1}}
+     *
+     * @param obj obj
+     * @param options options
+     * @return string, "null" for null
+     */
+    public static String reflectionToString(Object obj, ReflectionOption... options) {
+        return ObjectMethods.toString(obj, ObjectMethods.flags(options));
+    }
+
+    /**
+     * Deep copy of object graph with {@link DeepCloner#getDefault()}
+     *
+     * @param source source
+     * @param <T> type of source
+     * @return deep copy of source, null for null
+     * @throws IllegalArgumentException if some class of the graph cannot be instantiated, its field cannot be written
+     *                                  or it is a JDK class that can be neither copied nor shared
+     */
+    public static <T> T deepClone(T source) {
+        return DeepCloner.getDefault().deepClone(source);
+    }
+
+    /**
+     * Write object graph in a compact binary format, see {@link #deserialize(ByteBuffer, Class)}.
+     * Non-transient, non-static fields of the hierarchy are written, the schema of each class is derived once
+     *
+     * @param value value
+     * @param buffer heap, direct or memory-mapped buffer, written from its position in its byte order
+     * @throws java.nio.BufferOverflowException if buffer has not enough space
+     * @throws IllegalArgumentException if a field cannot be read or a JDK class has no dedicated encoding
+     */
+    public static void serialize(Object value, ByteBuffer buffer) {
+        if (buffer == null)
+            throw new IllegalArgumentException("Cannot serialize to null buffer");
+
+        BinarySerializer.write(value, buffer);
+    }
+
+    /**
+     * Read object graph written by {@link #serialize(Object, ByteBuffer)}, in the same byte order.
+     * Instances are created without running constructors. Read only trusted input
+     *
+     * @param buffer buffer, read from its position
+     * @param type expected type of value
+     * @param <T> type of value
+     * @return value
+     * @throws java.nio.BufferUnderflowException if buffer ends before value
+     * @throws IllegalArgumentException if stream is malformed, a class is not found, the schema of a class differs
+     *                                  from the written one or the value is not of the expected type
+     */
+    public static <T> T deserialize(ByteBuffer buffer, Class<T> type) {
+        if (buffer == null || type == null)
+            throw new IllegalArgumentException("Cannot deserialize from null buffer or to null type");
+
+        return BinarySerializer.read(buffer, type);
+    }
+
+    /**
+     * Write value as JSON, see {@link #writeJson(Object, Writer)}
+     *
+     * @param value value
+     * @return JSON
+     * @throws IllegalArgumentException if value has cyclic references or a field cannot be read
+     */
+    public static String toJson(Object value) {
+        StringWriter writer = new StringWriter();
+        JsonWriter.write(value, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Stream value as JSON without intermediate maps. Objects are written as JSON objects of their
+     * non-transient, non-static fields, fields of parents too. An {@link Iterable} is written as array
+     * element by element, so a huge iterable is written with constant memory
+     *
+     * @param value value
+     * @param writer writer, flushed but not closed
+     * @throws IllegalArgumentException if value has cyclic references or a field cannot be read
+     * @throws java.io.UncheckedIOException if writer fails
+     */
+    public static void writeJson(Object value, Writer writer) {
+        if (writer == null)
+            throw new IllegalArgumentException("Cannot write JSON to null writer");
+
+        JsonWriter.write(value, writer);
+    }
+
+    /**
+     * Stream value as JSON in UTF-8, see {@link #writeJson(Object, Writer)}
+     *
+     * @param value value
+     * @param out output stream, flushed but not closed
+     * @throws IllegalArgumentException if value has cyclic references or a field cannot be read
+     * @throws java.io.UncheckedIOException if output stream fails
+     */
+    public static void writeJson(Object value, OutputStream out) {
+        if (out == null)
+            throw new IllegalArgumentException("Cannot write JSON to null output stream");
+
+        JsonWriter.write(value, out);
+    }
+
+    /**
+     * Get the cached property model of class: fields paired with their getters and setters
+     *
+     * @param clazz clazz
+     * @return properties
+     */
+    public static BeanProperties beanProperties(Class<?> clazz) {
+        if (clazz == null)
+            throw new IllegalArgumentException("Cannot get properties of null class");
+
+        return ClassMetadata.of(clazz).beanProperties();
+    }
+
+    /**
+     * Create an instance with a constructor with any access modifier.
+     * The constructor is chosen by runtime types of args as in {@link #callMethod(Object, String, Object...)}.
+     * The choice is cached per class and types of args
+     *
+     * @param clazz clazz
+     * @param args args
+     * @param <T> type of instance
+     * @return new instance
+     * @throws IllegalArgumentException if not exist constructor applicable to args, the choice is ambiguous,
+     *                                  class is abstract or the constructor throws an exception
+     */
+    public static <T> T newInstance(Class<T> clazz, Object... args) {
+        Instantiator<T> instantiator = resolveConstructor(clazz, Overloads.typesOf(args));
         try {
-            Method method = getMethod(obj.getClass(), methodName)
-                    .orElseThrow(() -> new IllegalArgumentException(String.format("Cannot find method name: '%s'", methodName)));
-            method.setAccessible(true);
-            return method.invoke(obj, params);
+            return instantiator.newInstance(args);
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             throw new IllegalArgumentException(e);
         }
     }
 
+    /**
+     * Get the compiled instantiator of the most specific constructor applicable to arguments of given types.
+     * Instantiators are cached, keep the returned one for repeated calls
+     *
+     * @param clazz clazz
+     * @param argTypes types of arguments, null for null argument, none for no-arg constructor
+     * @param <T> type of instances
+     * @return instantiator
+     * @throws IllegalArgumentException if not exist constructor applicable to argTypes, the choice is ambiguous
+     *                                  or class is abstract
+     */
+    public static <T> Instantiator<T> instantiator(Class<T> clazz, Class<?>... argTypes) {
+        return resolveConstructor(clazz, argTypes.clone());
+    }
+
+    /**
+     * Get the compiled instantiator of the constructor with the most parameters
+     *
+     * @param clazz clazz
+     * @param <T> type of instances
+     * @return instantiator
+     * @throws IllegalArgumentException if several constructors have the most parameters or class is abstract
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Instantiator<T> allArgsInstantiator(Class<T> clazz) {
+        Constructor<?>[] constructors = ClassMetadata.of(clazz).constructors();
+        int maxParameterCount = -1;
+        for (Constructor<?> constructor : constructors) {
+            maxParameterCount = Math.max(maxParameterCount, constructor.getParameterCount());
+        }
+
+        Constructor<?> allArgs = null;
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.getParameterCount() != maxParameterCount)
+                continue;
+            if (allArgs != null) {
+                String msg = format("Ambiguous all-args constructor, both '%s' and '%s' have %d parameters",
+                        allArgs, constructor, maxParameterCount);
+                throw new IllegalArgumentException(msg);
+            }
+            allArgs = constructor;
+        }
+        if (allArgs == null)
+            throw new IllegalArgumentException("Cannot find constructor of class: " + clazz);
+        return (Instantiator<T>) ClassMetadata.of(clazz).instantiator(allArgs);
+    }
+
+    /**
+     * Copy fields with the same name from source to target, even from parents, with any access modifier.
+     * Static fields and final fields of target are skipped.
+     * If types of fields differ, the value is converted by {@link #castFieldValueByType(Class, Object)}
+     *
+     * @param source source
+     * @param target target
+     * @throws IllegalArgumentException if a value cannot be converted to the type of the target field
+     * @see Mapper
+     */
+    public static void copyProperties(Object source, Object target) {
+        if (source == null || target == null)
+            return;
+
+        @SuppressWarnings("unchecked")
+        Mapper<Object, Object> mapper = (Mapper<Object, Object>) Mapper.of(source.getClass(), target.getClass());
+        mapper.map(source, target);
+    }
+
+    /**
+     * Create an object from values by names of fields, values are converted to types of fields.
+     * Unknown names and final fields are skipped
+     *
+     * @param clazz clazz
+     * @param row values by names of fields
+     * @param <T> type of object
+     * @return new instance
+     * @throws IllegalArgumentException if class cannot be instantiated or a value cannot be set
+     * @see Hydrator
+     */
+    public static <T> T populate(Class<T> clazz, Map<String, ?> row) {
+        return hydrator(clazz).hydrate(row);
+    }
+
+    /**
+     * Get the compiled table from names to fields of class, with converters of {@link ConverterRegistry#getDefault()}.
+     * Hydrators are cached, keep the returned one for repeated rows
+     *
+     * @param clazz clazz
+     * @param <T> type of objects
+     * @return hydrator
+     */
+    public static <T> Hydrator<T> hydrator(Class<T> clazz) {
+        if (clazz == null)
+            throw new IllegalArgumentException("Cannot create hydrator of null class");
+
+        return Hydrator.of(clazz);
+    }
+
+    /**
+     * Get a new hydrator of class with converters of registry, it is not cached
+     *
+     * @param clazz clazz
+     * @param converters converters
+     * @param <T> type of objects
+     * @return hydrator
+     */
+    public static <T> Hydrator<T> hydrator(Class<T> clazz, ConverterRegistry converters) {
+        if (clazz == null || converters == null)
+            throw new IllegalArgumentException("Cannot create hydrator of null class or with null converters");
+
+        return new Hydrator<>(clazz, converters);
+    }
+
+    /**
+     * Resolve and compile metadata of classes in parallel on the common fork-join pool,
+     * so first calls of other methods find it cached: field accessors, method invokers,
+     * constructor instantiators and property models
+     *
+     * @param classes classes
+     * @return time spent per class and failures
+     */
+    public static WarmUpReport warmUp(Collection<? extends Class<?>> classes) {
+        return warmUp(classes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolve and compile metadata of classes in parallel on pool, see {@link #warmUp(Collection)}
+     *
+     * @param classes classes
+     * @param pool pool
+     * @return time spent per class and failures
+     */
+    public static WarmUpReport warmUp(Collection<? extends Class<?>> classes, ForkJoinPool pool) {
+        if (classes == null || pool == null)
+            throw new IllegalArgumentException("Cannot warm up null classes or on null pool");
+
+        return WarmUp.warmUp(classes, pool);
+    }
+
+    /**
+     * Warm up all classes of package and its subpackages found by the context class loader,
+     * see {@link #warmUp(Collection)}
+     *
+     * @param packageName package name, empty for directories of the classpath root
+     * @return time spent per class and failures
+     * @throws java.io.UncheckedIOException if a directory or jar file of the package cannot be read
+     */
+    public static WarmUpReport warmUpPackage(String packageName) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return warmUpPackage(packageName, loader != null ? loader : ReflectionUtils.class.getClassLoader());
+    }
+
+    /**
+     * Warm up all classes of package and its subpackages found by loader, see {@link #warmUp(Collection)}
+     *
+     * @param packageName package name, empty for directories of the classpath root
+     * @param loader loader
+     * @return time spent per class and failures
+     * @throws java.io.UncheckedIOException if a directory or jar file of the package cannot be read
+     */
+    public static WarmUpReport warmUpPackage(String packageName, ClassLoader loader) {
+        if (packageName == null || loader == null)
+            throw new IllegalArgumentException("Cannot warm up null package or with null loader");
+
+        return warmUp(ClassScanner.scan(packageName, loader));
+    }
+
+    /**
+     * Get the compiled copying plan between two classes.
+     * Mappers are cached, keep the returned one for repeated copies
+     *
+     * @param sourceType sourceType
+     * @param targetType targetType
+     * @param <S> type of source
+     * @param <T> type of target
+     * @return mapper
+     */
+    public static <S, T> Mapper<S, T> mapper(Class<S> sourceType, Class<T> targetType) {
+        return Mapper.of(sourceType, targetType);
+    }
+
     /**
      * Get all methods from all hierarchy
      *
@@ -137,17 +868,7 @@ public final class ReflectionUtils {
      * @return array of methods
      */
     public static Method[] getAllMethodsInHierarchy(Class<?> objectClass) {
-        Set<Method> allMethods = new HashSet<>();
-        Method[] declaredMethods = objectClass.getDeclaredMethods();
-        Method[] methods = objectClass.getMethods();
-        if (objectClass.getSuperclass() != null) {
-            Class<?> superClass = objectClass.getSuperclass();
-            Method[] superClassMethods = getAllMethodsInHierarchy(superClass);
-            allMethods.addAll(asList(superClassMethods));
-        }
-        allMethods.addAll(asList(declaredMethods));
-        allMethods.addAll(asList(methods));
-        return allMethods.toArray(new Method[0]);
+        return ClassMetadata.of(objectClass).methods().clone();
     }
 
     /**
@@ -156,9 +877,24 @@ public final class ReflectionUtils {
      * @return optional Method
      */
     public static Optional<Method> getMethod(Class<?> clazz, String name) {
-        return Arrays.stream(getAllMethodsInHierarchy(clazz))
-                .filter(m -> m.getName().equals(name))
-                .findFirst();
+        return Optional.ofNullable(ClassMetadata.of(clazz).method(name));
+    }
+
+    /**
+     * Get the most specific method applicable to arguments of given types even from parent
+     *
+     * @param clazz clazz
+     * @param name name
+     * @param argTypes types of arguments, null for null argument
+     * @return optional Method
+     * @throws IllegalArgumentException if the choice is ambiguous
+     */
+    public static Optional<Method> getMethod(Class<?> clazz, String name, Class<?>... argTypes) {
+        if (!isValidParams(clazz, name))
+            return Optional.empty();
+
+        MethodInvoker invoker = ClassMetadata.of(clazz).resolveMethod(name, argTypes.clone());
+        return Optional.ofNullable(invoker == null ? null : invoker.getMethod());
     }
 
     /**
@@ -171,15 +907,78 @@ public final class ReflectionUtils {
     public static Field[] getAllFields(Class<?> clazz) {
         if (clazz == null) return null;
 
-        List<Field> fields = Arrays.stream(clazz.getDeclaredFields())
-                .filter(f -> !f.isSynthetic())
-                .collect(toList());
+        return ClassMetadata.of(clazz).fields().clone();
+    }
+
+    /**
+     * Get all fields even from parent with given annotation declared on them, see {@link #getAllFields(Class)}.
+     * Fields are grouped by annotation once per class, repeated calls cost a map lookup
+     *
+     * @param clazz clazz
+     * @param annotationType annotationType
+     * @return unmodifiable list of fields, own fields first
+     */
+    public static List<Field> getFieldsAnnotatedWith(Class<?> clazz, Class<? extends Annotation> annotationType) {
+        if (clazz == null || annotationType == null)
+            throw new IllegalArgumentException("Class and annotation type must not be null");
+
+        return ClassMetadata.of(clazz).annotationIndex().fields(annotationType);
+    }
+
+    /**
+     * Get all methods from all hierarchy with given annotation declared on them, bridge methods excluded,
+     * see {@link #getAllMethodsInHierarchy(Class)}. An overridden method is returned with its annotations only.
+     * Methods are grouped by annotation once per class, repeated calls cost a map lookup
+     *
+     * @param clazz clazz
+     * @param annotationType annotationType
+     * @return unmodifiable list of methods, ordered by name and parameter types
+     */
+    public static List<Method> getMethodsAnnotatedWith(Class<?> clazz, Class<? extends Annotation> annotationType) {
+        if (clazz == null || annotationType == null)
+            throw new IllegalArgumentException("Class and annotation type must not be null");
+
+        return ClassMetadata.of(clazz).annotationIndex().methods(annotationType);
+    }
+
+    /**
+     * Get all fields even from parent matching predicate, see {@link #getAllFields(Class)}.
+     * The cached fields are filtered without copying, results are not cached as predicates have no identity
+     *
+     * @param clazz clazz
+     * @param predicate predicate
+     * @return list of fields, own fields first
+     */
+    public static List<Field> getFields(Class<?> clazz, Predicate<? super Field> predicate) {
+        if (clazz == null || predicate == null)
+            throw new IllegalArgumentException("Class and predicate must not be null");
+
+        return filter(ClassMetadata.of(clazz).annotationIndex().fields(), predicate);
+    }
 
-        if (clazz.getSuperclass() != null) {
-            // danger! Recursion
-            fields.addAll(asList(getAllFields(clazz.getSuperclass())));
+    /**
+     * Get all methods from all hierarchy matching predicate, bridge methods excluded,
+     * see {@link #getAllMethodsInHierarchy(Class)}.
+     * The cached methods are filtered without copying, results are not cached as predicates have no identity
+     *
+     * @param clazz clazz
+     * @param predicate predicate
+     * @return list of methods, ordered by name and parameter types
+     */
+    public static List<Method> getMethods(Class<?> clazz, Predicate<? super Method> predicate) {
+        if (clazz == null || predicate == null)
+            throw new IllegalArgumentException("Class and predicate must not be null");
+
+        return filter(ClassMetadata.of(clazz).annotationIndex().methods(), predicate);
+    }
+
+    private static <E> List<E> filter(List<E> elements, Predicate<? super E> predicate) {
+        List<E> result = new ArrayList<>();
+        for (E element : elements) {
+            if (predicate.test(element))
+                result.add(element);
         }
-        return fields.toArray(new Field[] {});
+        return result;
     }
 
     /**
@@ -208,10 +1007,7 @@ public final class ReflectionUtils {
         if (!isValidParams(clazz, fieldName))
             return Optional.empty();
 
-        Field[] fields = getAllFields(clazz);
-        return Stream.of(fields)
-                .filter(x -> x.getName().equals(fieldName))
-                .findFirst();
+        return Optional.ofNullable(ClassMetadata.of(clazz).field(fieldName));
     }
 
     /**
@@ -254,62 +1050,64 @@ public final class ReflectionUtils {
     }
 
     /**
-     * @param fieldType fieldType
+     * Convert the value to the field type with converters of {@link ConverterRegistry#getDefault()}.
+     * The converter is resolved once per pair of value class and field type
+     *
+     * @param fieldType fieldType, primitive types are converted to wrappers
      * @param fieldValue fieldValue
-     * @return casted value
+     * @return casted value, the value itself if no conversion is needed or known
      */
     public static Object castFieldValueByType(Class<?> fieldType, Object fieldValue) {
-        if (fieldType.isAssignableFrom(Boolean.class)) {
-            if (fieldValue instanceof String) {
-                return convertStringToBoolean((String) fieldValue);
-            }
-            if (fieldValue instanceof Number) {
-                return !(fieldValue).equals(0);
-            }
-            return fieldValue;
+        ReflectionMetrics reflectionMetrics = metrics;
+        if (reflectionMetrics != null) {
+            boolean cached = fieldValue == null || ConverterRegistry.getDefault().isResolved(fieldValue.getClass(), fieldType);
+            return measure(reflectionMetrics, Operation.CAST_FIELD_VALUE_BY_TYPE, fieldType, null,
+                    cached, () -> ConverterRegistry.getDefault().convert(fieldValue, fieldType));
         }
 
-        else if (fieldType.isAssignableFrom(Double.class)) {
-            if (fieldValue instanceof String) {
-                return Double.valueOf((String)fieldValue);
-            }
-            return ((Number) fieldValue).doubleValue();
-        }
+        return ConverterRegistry.getDefault().convert(fieldValue, fieldType);
+    }
 
-        else if (fieldType.isAssignableFrom(Long.class)) {
-            if (fieldValue instanceof String) {
-                return Long.valueOf((String)fieldValue);
-            }
-            return ((Number) fieldValue).longValue();
-        }
+    private static Map<String, Object> getMapFieldNameAndValue0(Object object) {
+        ClassMetadata metadata = ClassMetadata.of(object.getClass());
+        Map<String, Object> map = new HashMap<>(ClassMetadata.mapCapacity(metadata.visibleFields().length));
+        return putFieldNameAndValue(metadata, object, map);
+    }
 
-        else if (fieldType.isAssignableFrom(Float.class)) {
-            if (fieldValue instanceof String) {
-                return Float.valueOf((String)fieldValue);
-            }
-            return ((Number) fieldValue).floatValue();
-        }
+    private static Object getFieldContent0(Object obj, String fieldName) {
+        ClassMetadata metadata = ClassMetadata.of(obj.getClass());
+        int index = metadata.fieldIndex(fieldName);
+        if (index < 0 && PropertyPath.isPath(fieldName))
+            return metadata.propertyPath(fieldName).get(obj);
+        return metadata.get(obj, getFieldIndex(metadata, fieldName));
+    }
 
-        else if (fieldType.isAssignableFrom(Integer.class)) {
-            if (fieldValue instanceof String) {
-                return Integer.valueOf((String)fieldValue);
-            }
-            return ((Number) fieldValue).intValue();
+    private static void setFieldContent0(Object obj, String fieldName, Object value) {
+        ClassMetadata metadata = ClassMetadata.of(obj.getClass());
+        int index = metadata.fieldIndex(fieldName);
+        if (index < 0 && PropertyPath.isPath(fieldName)) {
+            metadata.propertyPath(fieldName).set(obj, value);
+            return;
         }
+        metadata.set(obj, getFieldIndex(metadata, fieldName), value);
+    }
 
-        else if (fieldType.isAssignableFrom(Short.class)) {
-            if (fieldValue instanceof String) {
-                return Short.valueOf((String)fieldValue);
-            }
-            return ((Number) fieldValue).shortValue();
+    private static Object callMethod0(Object obj, String methodName, Object[] params) {
+        try {
+            return resolveMethod(obj.getClass(), methodName, Overloads.typesOf(params)).invoke(obj, params);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
         }
-
-        return fieldValue;
     }
 
-    private static boolean convertStringToBoolean(String s) {
-        String trim = s.trim();
-        return !trim.equals("") && !trim.equals("0") && !trim.toLowerCase().equals("false");
+    private static <T> T measure(ReflectionMetrics reflectionMetrics, Operation operation, Class<?> type, String member,
+                                 boolean cached, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            reflectionMetrics.record(operation, type, member, cached, System.nanoTime() - start);
+        }
     }
 
     private static boolean isValidParams(Object obj, String param) {
@@ -320,14 +1118,48 @@ public final class ReflectionUtils {
         return fieldName == null || fieldName.trim().length() == 0;
     }
 
-    private static Field getFieldAccessible(Object obj, String fieldName) {
-        Optional<Field> optionalField = getField(obj, fieldName);
-        return optionalField
-                .map(el -> {
-                    el.setAccessible(true);
-                    return el;
-                })
-                .orElseThrow(() -> new IllegalArgumentException("Cannot find field name: " + fieldName));
+    private static Map<String, Object> putFieldNameAndValue(ClassMetadata metadata, Object object, Map<String, Object> map) {
+        Field[] fields = metadata.visibleFields();
+        for (int i = 0; i < fields.length; i++) {
+            map.put(fields[i].getName(), metadata.get(object, i));
+        }
+        return map;
+    }
+
+    private static MethodInvoker resolveMethod(Class<?> clazz, String methodName, Class<?>[] argTypes) {
+        MethodInvoker invoker = ClassMetadata.of(clazz).resolveMethod(methodName, argTypes);
+        if (invoker == null) {
+            String msg = String.format("Cannot find method name: '%s' applicable to arguments: %s", methodName, Arrays.toString(argTypes));
+            throw new IllegalArgumentException(msg);
+        }
+        return invoker;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Instantiator<T> resolveConstructor(Class<T> clazz, Class<?>[] argTypes) {
+        if (clazz == null)
+            throw new IllegalArgumentException("Cannot find constructor of null class");
+
+        Instantiator<?> instantiator = ClassMetadata.of(clazz).resolveConstructor(argTypes);
+        if (instantiator == null) {
+            String msg = String.format("Cannot find constructor of class: '%s' applicable to arguments: %s", clazz.getName(), Arrays.toString(argTypes));
+            throw new IllegalArgumentException(msg);
+        }
+        return (Instantiator<T>) instantiator;
+    }
+
+    private static FieldAccessor getFieldAccessor(Object obj, String fieldName) {
+        FieldAccessor accessor = ClassMetadata.of(obj.getClass()).accessor(fieldName);
+        if (accessor == null)
+            throw new IllegalArgumentException("Cannot find field name: " + fieldName);
+        return accessor;
+    }
+
+    private static int getFieldIndex(ClassMetadata metadata, String fieldName) {
+        int index = metadata.fieldIndex(fieldName);
+        if (index < 0)
+            throw new IllegalArgumentException("Cannot find field name: " + fieldName);
+        return index;
     }
 
     private static String convertFieldByAddingPrefix(String fieldName, String prefix) {
@@ -0,0 +1,25 @@
+package utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class to get its {@link ClassAccessor} generated at compile time by {@link ReflectiveProcessor}.
+ *
+ * The generated accessor reads and writes fields and calls methods directly, without
+ * {@link java.lang.invoke.MethodHandle}s compiled on the first access, and is used by
+ * {@link ReflectionUtils} for field access of the class. Members the generated code cannot access,
+ * for example private ones, are accessed reflectively as without the annotation.
+ *
+ * The annotation is retained at runtime, so classes without it are not probed for a generated accessor.
+ *
+ * The class must not be private and must not be nested in a private class.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Reflective {
+}
@@ -0,0 +1,340 @@
+package utils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+import static java.lang.String.format;
+
+/**
+ * Generates the {@link ClassAccessor} of every class annotated with {@link Reflective} at compile time.
+ *
+ * The accessor of {@code pkg.Outer.Inner} is {@code pkg.Outer$Inner$$Reflective}, found by
+ * {@link ClassAccessor} at runtime by name. It contains a {@code switch} with direct field access and method
+ * calls for members accessible from the package of the class; other members and generic methods are left
+ * to the reflective fallback. Members are matched to runtime indexes by keys of
+ * {@link ClassAccessor#fieldKey(java.lang.reflect.Field)} and {@link ClassAccessor#methodKey(java.lang.reflect.Method)}.
+ *
+ * Registered in {@code META-INF/services}, so javac runs it when this library is on the classpath. It claims
+ * {@link Reflective} only and returns at once in rounds without it; builds that do not use the annotation can
+ * turn annotation processing off with {@code -proc:none}, or list their own processors with {@code -processor}.
+ */
+@SupportedAnnotationTypes("utils.Reflective")
+public final class ReflectiveProcessor extends AbstractProcessor {
+
+    private Types types;
+    private Elements elements;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty())
+            return false;
+
+        types = processingEnv.getTypeUtils();
+        elements = processingEnv.getElementUtils();
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Reflective.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.ENUM) {
+                error(element, "@Reflective is applicable to classes only");
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            String pkg = packageOf(type);
+            boolean member = type.getNestingKind() == NestingKind.TOP_LEVEL || type.getNestingKind() == NestingKind.MEMBER;
+            if (!member || !isAccessible(type, pkg)) {
+                error(element, "@Reflective class must not be local, anonymous or private");
+                continue;
+            }
+
+            try {
+                write(type, pkg);
+            } catch (IOException e) {
+                error(element, "Cannot write accessor: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void write(TypeElement type, String pkg) throws IOException {
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = binaryName.substring(pkg.isEmpty() ? 0 : pkg.length() + 1) + ClassAccessor.PRECOMPILED_SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+        DeclaredType receiver = types.getDeclaredType(type);
+
+        List<VariableElement> fields = collectFields(type, pkg, receiver);
+        List<ExecutableElement> methods = collectMethods(type, pkg, receiver);
+
+        StringBuilder out = new StringBuilder();
+        if (!pkg.isEmpty())
+            out.append("package ").append(pkg).append(";\n\n");
+        out.append("/**\n * Generated by ").append(ReflectiveProcessor.class.getName()).append(", do not edit\n */\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\"})\n");
+        out.append("public final class ").append(simpleName).append(" extends ").append(ClassAccessor.class.getName()).append(" {\n\n");
+
+        out.append("    private static final String[] FIELD_KEYS = {");
+        for (int i = 0; i < fields.size(); i++) {
+            out.append(i == 0 ? "\n" : ",\n").append("            \"").append(fieldKey(fields.get(i))).append('"');
+        }
+        out.append("\n    };\n\n");
+        out.append("    private static final String[] METHOD_KEYS = {");
+        for (int i = 0; i < methods.size(); i++) {
+            out.append(i == 0 ? "\n" : ",\n").append("            \"").append(methodKey(methods.get(i))).append('"');
+        }
+        out.append("\n    };\n\n");
+
+        out.append("    public ").append(simpleName).append("() {\n");
+        out.append("        super(").append(typeName).append(".class, FIELD_KEYS, METHOD_KEYS);\n");
+        out.append("    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    protected java.lang.Object fastGet(java.lang.Object obj, int fieldIndex) {\n");
+        out.append("        switch (fieldSlot(fieldIndex)) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            out.append("            case ").append(i).append(": return ").append(fieldAccess(typeName, fields.get(i))).append(";\n");
+        }
+        out.append("            default: return super.fastGet(obj, fieldIndex);\n");
+        out.append("        }\n    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    protected void fastSet(java.lang.Object obj, int fieldIndex, java.lang.Object value) {\n");
+        out.append("        switch (fieldSlot(fieldIndex)) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            if (field.getModifiers().contains(Modifier.FINAL))
+                continue;
+            TypeMirror fieldType = types.asMemberOf(receiver, field);
+            out.append("            case ").append(i).append(": ").append(fieldAccess(typeName, field))
+                    .append(" = ").append(cast(fieldType, "value")).append("; return;\n");
+        }
+        out.append("            default: super.fastSet(obj, fieldIndex, value);\n");
+        out.append("        }\n    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    protected java.lang.Object fastInvoke(java.lang.Object obj, int methodIndex, java.lang.Object[] args) throws java.lang.Exception {\n");
+        out.append("        switch (methodSlot(methodIndex)) {\n");
+        for (int i = 0; i < methods.size(); i++) {
+            ExecutableElement method = methods.get(i);
+            ExecutableType methodType = (ExecutableType) types.asMemberOf(receiver, method);
+            StringJoiner call = new StringJoiner(", ", memberOwner(typeName, method) + "." + method.getSimpleName() + "(", ")");
+            List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+            for (int p = 0; p < parameterTypes.size(); p++) {
+                call.add(cast(parameterTypes.get(p), "args[" + p + "]"));
+            }
+            out.append("            case ").append(i).append(": ");
+            if (methodType.getReturnType().getKind() == TypeKind.VOID)
+                out.append(call).append("; return null;\n");
+            else
+                out.append("return ").append(call).append(";\n");
+        }
+        out.append("            default: return super.fastInvoke(obj, methodIndex, args);\n");
+        out.append("        }\n    }\n}\n");
+
+        String qualifiedName = pkg.isEmpty() ? simpleName : pkg + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    /**
+     * One field per name as {@link ClassMetadata#visibleFields()}, only accessible ones
+     */
+    private List<VariableElement> collectFields(TypeElement type, String pkg, DeclaredType receiver) {
+        List<VariableElement> result = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (TypeElement t = type; t != null; t = superclassOf(t)) {
+            for (VariableElement field : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                if (names.add(field.getSimpleName().toString())
+                        && isAccessible(field, pkg)
+                        && isUsable(types.asMemberOf(receiver, field), pkg))
+                    result.add(field);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The most derived method per signature as {@link ClassMetadata#distinctMethods()}, only accessible ones
+     */
+    private List<ExecutableElement> collectMethods(TypeElement type, String pkg, DeclaredType receiver) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement t = type; t != null; t = superclassOf(t)) {
+            hierarchy.add(t);
+        }
+        Deque<TypeElement> interfaces = new ArrayDeque<>();
+        for (TypeElement t : new ArrayList<>(hierarchy)) {
+            addInterfaces(t, interfaces);
+        }
+        Set<TypeElement> visited = new HashSet<>();
+        while (!interfaces.isEmpty()) {
+            TypeElement t = interfaces.poll();
+            if (visited.add(t)) {
+                hierarchy.add(t);
+                addInterfaces(t, interfaces);
+            }
+        }
+
+        List<ExecutableElement> result = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (TypeElement t : hierarchy) {
+            boolean isInterface = t.getKind().isInterface();
+            for (ExecutableElement method : ElementFilter.methodsIn(t.getEnclosedElements())) {
+                if (isInterface && method.getModifiers().contains(Modifier.STATIC))
+                    continue;
+                if (keys.add(methodKey(method)) && isCallable(method, pkg, receiver))
+                    result.add(method);
+            }
+        }
+        return result;
+    }
+
+    private boolean isCallable(ExecutableElement method, String pkg, DeclaredType receiver) {
+        if (!method.getTypeParameters().isEmpty() || !isAccessible(method, pkg))
+            return false;
+
+        ExecutableType methodType = (ExecutableType) types.asMemberOf(receiver, method);
+        if (methodType.getReturnType().getKind() != TypeKind.VOID && !isUsable(methodType.getReturnType(), pkg))
+            return false;
+        for (TypeMirror parameterType : methodType.getParameterTypes()) {
+            if (!isUsable(parameterType, pkg))
+                return false;
+        }
+        TypeMirror exception = elements.getTypeElement(Exception.class.getName()).asType();
+        TypeMirror error = elements.getTypeElement(Error.class.getName()).asType();
+        for (TypeMirror thrownType : method.getThrownTypes()) {
+            TypeMirror erased = types.erasure(thrownType);
+            if (!types.isAssignable(erased, exception) && !types.isAssignable(erased, error))
+                return false;
+        }
+        return true;
+    }
+
+    private void addInterfaces(TypeElement type, Deque<TypeElement> interfaces) {
+        for (TypeMirror mirror : type.getInterfaces()) {
+            if (mirror.getKind() == TypeKind.DECLARED)
+                interfaces.add((TypeElement) ((DeclaredType) mirror).asElement());
+        }
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private boolean isAccessible(Element member, String pkg) {
+        Set<Modifier> modifiers = member.getModifiers();
+        TypeElement declaringType = (TypeElement) member.getEnclosingElement();
+        if (modifiers.contains(Modifier.PRIVATE) || !isAccessible(declaringType, pkg))
+            return false;
+        // protected members of other packages are accessible only in subclasses
+        return modifiers.contains(Modifier.PUBLIC) || packageOf(declaringType).equals(pkg);
+    }
+
+    private boolean isAccessible(TypeElement type, String pkg) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE))
+                return false;
+            if (!modifiers.contains(Modifier.PUBLIC) && !packageOf(e).equals(pkg))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean isUsable(TypeMirror type, String pkg) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind().isPrimitive())
+            return true;
+        if (erased.getKind() == TypeKind.ARRAY)
+            return isUsable(((ArrayType) erased).getComponentType(), pkg);
+        return erased.getKind() == TypeKind.DECLARED && isAccessible((TypeElement) ((DeclaredType) erased).asElement(), pkg);
+    }
+
+    private String fieldAccess(String typeName, VariableElement field) {
+        return memberOwner(typeName, field) + "." + field.getSimpleName();
+    }
+
+    private String memberOwner(String typeName, Element member) {
+        return member.getModifiers().contains(Modifier.STATIC) ? typeName : "((" + typeName + ") obj)";
+    }
+
+    /**
+     * Primitives are cast through the wrapper, so overloads with primitive and wrapper parameters are not mixed up.
+     * Expressions are of type Object, so they are not cast to Object
+     */
+    private String cast(TypeMirror type, String expression) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind().isPrimitive()) {
+            String wrapper = types.boxedClass((PrimitiveType) erased).getQualifiedName().toString();
+            return format("(%s) (%s) %s", erased, wrapper, expression);
+        }
+        String name = sourceName(erased);
+        return name.equals(Object.class.getName()) ? expression : format("(%s) %s", name, expression);
+    }
+
+    private String sourceName(TypeMirror erased) {
+        if (erased.getKind() == TypeKind.ARRAY)
+            return sourceName(types.erasure(((ArrayType) erased).getComponentType())) + "[]";
+        if (erased.getKind() == TypeKind.DECLARED)
+            return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+        return erased.toString();
+    }
+
+    /**
+     * Same as {@link Class#getTypeName()} of the erasure
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY)
+            return typeName(((ArrayType) erased).getComponentType()) + "[]";
+        if (erased.getKind() == TypeKind.DECLARED)
+            return elements.getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+        return erased.toString();
+    }
+
+    private String fieldKey(VariableElement field) {
+        return elements.getBinaryName((TypeElement) field.getEnclosingElement()) + "#" + field.getSimpleName();
+    }
+
+    private String methodKey(ExecutableElement method) {
+        StringJoiner key = new StringJoiner(",", method.getSimpleName() + "(", ")");
+        for (VariableElement parameter : method.getParameters()) {
+            key.add(typeName(parameter.asType()));
+        }
+        return key.toString();
+    }
+
+    private String packageOf(Element element) {
+        return elements.getPackageOf(element).getQualifiedName().toString();
+    }
+
+    private void error(Element element, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, element);
+    }
+}
@@ -0,0 +1,87 @@
+package utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Populates the caches of {@link ClassMetadata} ahead of traffic: fields, methods and constructors are resolved
+ * and compiled to accessors, invokers and instantiators, one task per class on a {@link ForkJoinPool}.
+ *
+ * Members declared by JDK classes are resolved but not compiled. A class that fails to warm up is reported
+ * and does not stop other classes.
+ */
+final class WarmUp {
+
+    private WarmUp() { }
+
+    /**
+     * @param classes classes
+     * @param pool pool
+     * @return time spent per class
+     */
+    static WarmUpReport warmUp(Collection<? extends Class<?>> classes, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        List<ForkJoinTask<WarmUpReport.ClassTiming>> tasks = new ArrayList<>(classes.size());
+        for (Class<?> type : classes) {
+            tasks.add(pool.submit(() -> warmUp(type)));
+        }
+
+        List<WarmUpReport.ClassTiming> timings = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<WarmUpReport.ClassTiming> task : tasks) {
+            timings.add(task.join());
+        }
+        return new WarmUpReport(timings, System.nanoTime() - start);
+    }
+
+    /**
+     * @param type type
+     * @return time spent on class
+     */
+    static WarmUpReport.ClassTiming warmUp(Class<?> type) {
+        long start = System.nanoTime();
+        int fields = 0;
+        int methods = 0;
+        int constructors = 0;
+        Throwable failure = null;
+        try {
+            ClassMetadata metadata = ClassMetadata.of(type);
+            for (int i = 0; i < metadata.visibleFields().length; i++) {
+                if (isCompiled(metadata.visibleFields()[i].getDeclaringClass())) {
+                    metadata.accessor(i);
+                    fields++;
+                }
+            }
+
+            for (Method method : metadata.distinctMethods()) {
+                if (isCompiled(method.getDeclaringClass())) {
+                    ClassMetadata.of(method.getDeclaringClass()).invoker(method);
+                    methods++;
+                }
+            }
+
+            if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && isCompiled(type)) {
+                for (Constructor<?> constructor : metadata.constructors()) {
+                    metadata.instantiator(constructor);
+                    constructors++;
+                }
+            }
+
+            // both skip fields declared by JDK classes
+            metadata.fieldPlan(0);
+            metadata.beanProperties();
+        } catch (RuntimeException | LinkageError e) {
+            failure = e;
+        }
+        return new WarmUpReport.ClassTiming(type.getName(), System.nanoTime() - start, fields, methods, constructors, failure);
+    }
+
+    private static boolean isCompiled(Class<?> declaringClass) {
+        return !JdkTypes.isJdkClass(declaringClass);
+    }
+}
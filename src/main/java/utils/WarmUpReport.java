@@ -0,0 +1,148 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Result of {@link ReflectionUtils#warmUp(java.util.Collection)}: time spent per class and failures.
+ * {@link #toString()} renders a plain text report of the slowest classes.
+ */
+public final class WarmUpReport {
+
+    private final List<ClassTiming> timings;
+    private final long wallNanos;
+
+    WarmUpReport(List<ClassTiming> timings, long wallNanos) {
+        List<ClassTiming> sorted = new ArrayList<>(timings);
+        sorted.sort(Comparator.comparingLong(ClassTiming::getNanos).reversed());
+        this.timings = Collections.unmodifiableList(sorted);
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * @return timings of all classes, in descending order of time
+     */
+    public List<ClassTiming> getTimings() {
+        return timings;
+    }
+
+    /**
+     * @return number of warmed up classes, failed ones too
+     */
+    public int getClassCount() {
+        return timings.size();
+    }
+
+    /**
+     * @return timings of classes that failed to warm up
+     */
+    public List<ClassTiming> getFailures() {
+        List<ClassTiming> failures = new ArrayList<>();
+        for (ClassTiming timing : timings) {
+            if (timing.getFailure() != null)
+                failures.add(timing);
+        }
+        return failures;
+    }
+
+    /**
+     * @return elapsed time of the whole warm-up
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return sum of time spent per class, larger than wall time when classes are warmed up in parallel
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (ClassTiming timing : timings) {
+            total += timing.getNanos();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(format("WarmUpReport{classes=%d, failures=%d, wall=%dms, total=%dms%n",
+                getClassCount(), getFailures().size(), wallNanos / 1_000_000, getTotalNanos() / 1_000_000));
+        for (ClassTiming timing : timings.subList(0, Math.min(10, timings.size()))) {
+            sb.append("  ").append(timing).append('\n');
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Time spent on one class and the number of compiled members
+     */
+    public static final class ClassTiming {
+        private final String className;
+        private final long nanos;
+        private final int fields;
+        private final int methods;
+        private final int constructors;
+        private final Throwable failure;
+
+        ClassTiming(String className, long nanos, int fields, int methods, int constructors, Throwable failure) {
+            this.className = className;
+            this.nanos = nanos;
+            this.fields = fields;
+            this.methods = methods;
+            this.constructors = constructors;
+            this.failure = failure;
+        }
+
+        /**
+         * @return name of class
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return time spent on class
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return number of compiled field accessors
+         */
+        public int getFields() {
+            return fields;
+        }
+
+        /**
+         * @return number of compiled method invokers
+         */
+        public int getMethods() {
+            return methods;
+        }
+
+        /**
+         * @return number of compiled constructor instantiators
+         */
+        public int getConstructors() {
+            return constructors;
+        }
+
+        /**
+         * @return failure that stopped the warm-up of class or null
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return format("%s: %dus, fields=%d, methods=%d, constructors=%d%s", className, nanos / 1_000,
+                    fields, methods, constructors, failure == null ? "" : ", failed: " + failure);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package utils;
+
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class AnnotationIndexTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Column { }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Validator { }
+
+    @Retention(RetentionPolicy.CLASS)
+    @interface Invisible { }
+
+    static class Entity {
+        @Column
+        private long id;
+        private String note;
+
+        @Validator
+        void checkId() { }
+
+        @Validator
+        void checkNote() { }
+    }
+
+    static class Customer extends Entity {
+        @Column
+        private String name;
+        @Column @Invisible
+        static String table;
+
+        @Override
+        void checkNote() { }
+
+        @Validator
+        void checkName() { }
+    }
+
+    @Test
+    public void getFieldsAnnotatedWith_ShouldFindFieldsInHierarchy() {
+        List<Field> fields = ReflectionUtils.getFieldsAnnotatedWith(Customer.class, Column.class);
+
+        assertThat(names(fields), equalTo(asList("name", "table", "id")));
+    }
+
+    @Test
+    public void getMethodsAnnotatedWith_ShouldUseAnnotationsOfEachMethod() {
+        List<Method> methods = ReflectionUtils.getMethodsAnnotatedWith(Customer.class, Validator.class);
+
+        assertThat(names(methods), equalTo(asList("checkId", "checkName", "checkNote")));
+        assertThat(methods.get(2).getDeclaringClass(), equalTo(Entity.class));
+    }
+
+    @Test
+    public void getFieldsAnnotatedWith_WhenNotAnnotatedOrNotRetained_ShouldReturnEmptyList() {
+        assertTrue(ReflectionUtils.getFieldsAnnotatedWith(Customer.class, Validator.class).isEmpty());
+        assertTrue(ReflectionUtils.getFieldsAnnotatedWith(Customer.class, Invisible.class).isEmpty());
+        assertTrue(ReflectionUtils.getMethodsAnnotatedWith(Object.class, Validator.class).isEmpty());
+    }
+
+    @Test
+    public void annotationIndex_ShouldBeComputedOnce() {
+        assertThat(ReflectionUtils.getFieldsAnnotatedWith(Entity.class, Column.class),
+                sameInstance(ReflectionUtils.getFieldsAnnotatedWith(Entity.class, Column.class)));
+        assertThat(ClassMetadata.of(Entity.class).annotationIndex(), sameInstance(ClassMetadata.of(Entity.class).annotationIndex()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getFieldsAnnotatedWith_ShouldReturnUnmodifiableList() {
+        ReflectionUtils.getFieldsAnnotatedWith(Customer.class, Column.class).clear();
+    }
+
+    @Test
+    public void getFields_ShouldFilterByPredicate() {
+        List<Field> fields = ReflectionUtils.getFields(Customer.class,
+                field -> field.getType() == String.class && !Modifier.isStatic(field.getModifiers()));
+
+        assertThat(names(fields), equalTo(asList("name", "note")));
+    }
+
+    @Test
+    public void getMethods_ShouldFilterByPredicate() {
+        List<Method> methods = ReflectionUtils.getMethods(Customer.class,
+                method -> method.getDeclaringClass() == Customer.class);
+
+        assertThat(names(methods), equalTo(asList("checkName", "checkNote")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getFieldsAnnotatedWith_WhenNull_ShouldThrowException() {
+        ReflectionUtils.getFieldsAnnotatedWith(Customer.class, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getMethods_WhenNull_ShouldThrowException() {
+        ReflectionUtils.getMethods(null, method -> true);
+    }
+
+    private static List<String> names(List<? extends Member> members) {
+        return members.stream().map(Member::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,139 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Child;
+import utils.data.Failure;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BeanPropertiesTest {
+
+    @Test
+    public void beanProperties_ShouldPairFieldsOfHierarchyWithAccessors() {
+        BeanProperties properties = ReflectionUtils.beanProperties(Child.class);
+        List<String> names = properties.getProperties().stream().map(BeanProperty::getName).collect(Collectors.toList());
+
+        assertThat(names, equalTo(Arrays.asList("chileName", "age", "id", "name", "date")));
+        BeanProperty id = properties.getPropertyWithCheck("id");
+        assertThat(id.getReadMethod().getName(), equalTo("getId"));
+        assertThat(id.getWriteMethod().getName(), equalTo("setId"));
+        assertThat(id.getType(), equalTo((Object) Long.class));
+    }
+
+    @Test
+    public void beanProperties_ShouldBeCached() {
+        assertThat(ReflectionUtils.beanProperties(Child.class), sameInstance(ReflectionUtils.beanProperties(Child.class)));
+    }
+
+    @Test
+    public void get_WhenPrimitiveBoolean_ShouldUseIsGetter() {
+        BeanProperty active = ReflectionUtils.beanProperties(Bean.class).getPropertyWithCheck("active");
+        Bean bean = new Bean();
+        bean.active = true;
+
+        assertThat(active.getReadMethod().getName(), equalTo("isActive"));
+        assertThat(active.get(bean), equalTo((Object) true));
+    }
+
+    @Test
+    public void get_WhenWrapperBoolean_ShouldUseGetGetter() {
+        BeanProperty enabled = ReflectionUtils.beanProperties(Bean.class).getPropertyWithCheck("enabled");
+
+        assertThat(enabled.getReadMethod().getName(), equalTo("getEnabled"));
+    }
+
+    @Test
+    public void getAndSet_ShouldGoThroughMethods() {
+        BeanProperty label = ReflectionUtils.beanProperties(Bean.class).getPropertyWithCheck("label");
+        Bean bean = new Bean();
+
+        label.set(bean, "value");
+
+        assertThat(bean.label, equalTo("set:value"));
+        assertThat(label.get(bean), equalTo((Object) "get:set:value"));
+        assertThat(label.getFieldAccessor().get(bean), equalTo((Object) "set:value"));
+    }
+
+    @Test
+    public void getAndSet_WhenNoMethods_ShouldUseField() {
+        BeanProperty hidden = ReflectionUtils.beanProperties(Bean.class).getPropertyWithCheck("hidden");
+        Bean bean = new Bean();
+
+        hidden.set(bean, 5);
+
+        assertFalse(hidden.hasGetter());
+        assertFalse(hidden.hasSetter());
+        assertThat(hidden.getReadMethod(), nullValue());
+        assertThat(hidden.get(bean), equalTo((Object) 5));
+    }
+
+    @Test
+    public void beanProperties_WhenGetterReturnsOtherType_ShouldIgnoreIt() {
+        BeanProperty count = ReflectionUtils.beanProperties(Bean.class).getPropertyWithCheck("count");
+
+        assertFalse(count.hasGetter());
+        assertTrue(count.hasSetter());
+    }
+
+    @Test
+    public void beanProperties_ShouldSkipStaticFields() {
+        assertFalse(ReflectionUtils.beanProperties(Bean.class).getProperty("CONSTANT").isPresent());
+    }
+
+    @Test
+    public void beanProperties_WhenJdkParent_ShouldSkipItsFields() {
+        BeanProperties properties = ReflectionUtils.beanProperties(Failure.class);
+
+        assertThat(properties.getProperties().size(), equalTo(1));
+        assertThat(properties.getPropertyWithCheck("code").get(new Failure("message", 3)), equalTo((Object) 3));
+        assertFalse(properties.getProperty("detailMessage").isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getPropertyWithCheck_WhenNotExist_ShouldThrowException() {
+        ReflectionUtils.beanProperties(Bean.class).getPropertyWithCheck("notExist");
+    }
+
+    static class Bean {
+        static final String CONSTANT = "constant";
+
+        boolean active;
+        Boolean enabled;
+        String label;
+        int hidden;
+        int count;
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public String getLabel() {
+            return "get:" + label;
+        }
+
+        public void setLabel(String label) {
+            this.label = "set:" + label;
+        }
+
+        public String getCount() {
+            return String.valueOf(count);
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Child;
+import utils.data.Failure;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BinarySerializerTest {
+
+    @Test
+    public void roundTrip_WhenEntityWithHierarchy() {
+        Child child = new Child(1L, "name", new Date(1000), "child", 5);
+
+        assertThat(roundTrip(child, ByteBuffer.allocate(1024), Child.class), equalTo(child));
+        assertThat(roundTrip(child, ByteBuffer.allocateDirect(1024).order(ByteOrder.LITTLE_ENDIAN), Child.class), equalTo(child));
+    }
+
+    @Test
+    public void roundTrip_WhenNullAndSimpleValues() {
+        assertThat(roundTrip(null, ByteBuffer.allocate(16), Object.class), nullValue());
+        assertThat(roundTrip("text", ByteBuffer.allocate(16), String.class), equalTo("text"));
+        assertThat(roundTrip(5, ByteBuffer.allocate(16), int.class), equalTo(5));
+        assertThat(roundTrip(TimeUnit.SECONDS, ByteBuffer.allocate(64), TimeUnit.class), sameInstance(TimeUnit.SECONDS));
+        assertThat(roundTrip(new BigDecimal("1.50"), ByteBuffer.allocate(16), BigDecimal.class), equalTo(new BigDecimal("1.50")));
+    }
+
+    @Test
+    public void roundTrip_WhenPrimitiveFieldsAndArrays() {
+        Primitives primitives = new Primitives();
+        primitives.b = -3;
+        primitives.c = 'z';
+        primitives.s = 300;
+        primitives.f = 1.25f;
+        primitives.flag = true;
+        primitives.l = Long.MAX_VALUE;
+        primitives.ints = new int[] {1, -2, 3};
+        primitives.doubles = new double[] {0.5, Double.NaN};
+        primitives.bytes = new byte[] {1, 2};
+        primitives.chars = "abc".toCharArray();
+        primitives.names = new String[] {"x", null};
+
+        Primitives copy = roundTrip(primitives, ByteBuffer.allocateDirect(1024), Primitives.class);
+
+        assertThat(copy.b, equalTo((byte) -3));
+        assertThat(copy.c, equalTo('z'));
+        assertThat(copy.s, equalTo((short) 300));
+        assertThat(copy.f, equalTo(1.25f));
+        assertThat(copy.flag, equalTo(true));
+        assertThat(copy.l, equalTo(Long.MAX_VALUE));
+        assertThat(copy.ints, equalTo(new int[] {1, -2, 3}));
+        assertThat(copy.doubles, equalTo(new double[] {0.5, Double.NaN}));
+        assertThat(copy.bytes, equalTo(new byte[] {1, 2}));
+        assertThat(copy.chars, equalTo("abc".toCharArray()));
+        assertThat(copy.names, equalTo(new String[] {"x", null}));
+    }
+
+    @Test
+    public void roundTrip_WhenCollectionsAndMaps() {
+        Holder holder = new Holder();
+        holder.list = new ArrayList<>(Arrays.asList("a", "b"));
+        holder.map = new HashMap<>();
+        holder.map.put("key", 1L);
+        holder.fixed = Collections.singletonList(2);
+
+        Holder copy = roundTrip(holder, ByteBuffer.allocate(1024), Holder.class);
+
+        assertThat(copy.list, instanceOf(ArrayList.class));
+        assertThat(copy.list, equalTo(holder.list));
+        assertThat(copy.map, equalTo(holder.map));
+        assertThat(copy.fixed, equalTo(holder.fixed));
+    }
+
+    @Test
+    public void roundTrip_WhenJdkValueTypesAndArraysOfStrings() {
+        Values values = new Values();
+        values.id = UUID.randomUUID();
+        values.day = LocalDate.of(2020, 2, 29);
+        values.timeout = Duration.ofSeconds(90);
+        values.locale = Locale.CANADA_FRENCH;
+        values.tags = new String[] {"a", "b"};
+
+        Values copy = roundTrip(values, ByteBuffer.allocate(1024), Values.class);
+
+        assertThat(copy.id, equalTo(values.id));
+        assertThat(copy.day, equalTo(values.day));
+        assertThat(copy.timeout, equalTo(values.timeout));
+        assertThat(copy.locale, equalTo(values.locale));
+        assertThat(copy.tags, equalTo(values.tags));
+        assertThat(roundTrip(new String[] {"x"}, ByteBuffer.allocate(64), String[].class), equalTo(new String[] {"x"}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void serialize_WhenJdkClassWithoutEncoding_ShouldThrowException() {
+        ReflectionUtils.serialize(new StringBuilder("text"), ByteBuffer.allocate(64));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void serialize_WhenFieldsOfJdkParent_ShouldThrowException() {
+        ReflectionUtils.serialize(new Failure("message", 3), ByteBuffer.allocate(256));
+    }
+
+    @Test
+    public void roundTrip_ShouldPreserveSharedReferencesAndCycles() {
+        Holder holder = new Holder();
+        holder.first = new Date(1);
+        holder.list = new ArrayList<>();
+        holder.list.add(holder.list);
+        holder.self = holder;
+
+        Holder copy = roundTrip(holder, ByteBuffer.allocate(1024), Holder.class);
+
+        assertThat(copy.self, sameInstance(copy));
+        assertThat(copy.list.get(0), sameInstance((Object) copy.list));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deserialize_WhenFingerprintDiffers_ShouldThrowException() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        ReflectionUtils.serialize(new Primitives(), buffer);
+        buffer.flip();
+        // version, tag, new class marker, name length, name, then fingerprint
+        int fingerprint = 4 + Primitives.class.getName().getBytes(StandardCharsets.UTF_8).length;
+        buffer.put(fingerprint, (byte) (buffer.get(fingerprint) + 1));
+
+        ReflectionUtils.deserialize(buffer, Primitives.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deserialize_WhenOtherType_ShouldThrowException() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ReflectionUtils.serialize("text", buffer);
+        buffer.flip();
+
+        ReflectionUtils.deserialize(buffer, Integer.class);
+    }
+
+    private static <T> T roundTrip(Object value, ByteBuffer buffer, Class<T> type) {
+        ReflectionUtils.serialize(value, buffer);
+        buffer.flip();
+        T result = ReflectionUtils.deserialize(buffer, type);
+        assertThat(buffer.remaining(), equalTo(0));
+        return result;
+    }
+
+    static class Primitives {
+        byte b;
+        char c;
+        short s;
+        float f;
+        boolean flag;
+        long l;
+        int[] ints;
+        double[] doubles;
+        byte[] bytes;
+        char[] chars;
+        String[] names;
+        transient String cache = "cache";
+    }
+
+    static class Values {
+        UUID id;
+        LocalDate day;
+        Duration timeout;
+        Locale locale;
+        String[] tags;
+    }
+
+    static class Holder {
+        Date first;
+        List<Object> list;
+        Map<String, Long> map;
+        List<Integer> fixed;
+        Holder self;
+    }
+}
@@ -0,0 +1,48 @@
+package utils;
+
+import utils.data.Plugin;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Isolated class loaders, to check that caches do not pin class loaders of classes they have seen
+ */
+final class ChildLoaders {
+
+    private ChildLoaders() { }
+
+    /**
+     * @return new class loader that loads its own copy of {@link Plugin}, its parent is the bootstrap loader
+     */
+    static URLClassLoader newLoader() {
+        URL testClasses = Plugin.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[] {testClasses}, null);
+    }
+
+    /**
+     * @param loader loader from {@link #newLoader()}
+     * @return copy of {@link Plugin} class loaded by loader
+     */
+    static Class<?> pluginClass(ClassLoader loader) {
+        try {
+            return loader.loadClass(Plugin.class.getName());
+        } catch (ClassNotFoundException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * @param loader weak reference to loader, no strong reference to it or its classes may remain
+     */
+    static void assertCollected(WeakReference<ClassLoader> loader) throws InterruptedException {
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertTrue("class loader is pinned", loader.get() == null);
+    }
+}
@@ -0,0 +1,173 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Child;
+import utils.data.Numbers;
+import utils.data.ObjWithStatic;
+import utils.data.Overloaded;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ClassAccessorTest {
+
+    @Test
+    public void classAccessor_WhenCalledTwice_ShouldReturnSameInstance() {
+        ClassAccessor first = ReflectionUtils.classAccessor(Child.class);
+        ClassAccessor second = ReflectionUtils.classAccessor(Child.class);
+
+        assertThat(second, sameInstance(first));
+        assertThat(first.isGenerated(), equalTo(true));
+        assertThat(first.getType(), equalTo((Object) Child.class));
+    }
+
+    @Test
+    public void get_WhenProtectedAndPrivateFields() {
+        Date date = new Date();
+        Child child = new Child(1L, "name", date, "chileName", 5);
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Child.class);
+
+        assertThat(accessor.get(child, accessor.fieldIndex("id")), equalTo((Object) 1L));
+        assertThat(accessor.get(child, accessor.fieldIndex("name")), equalTo((Object) "name"));
+        assertThat(accessor.get(child, accessor.fieldIndex("date")), equalTo((Object) date));
+        assertThat(accessor.get(child, accessor.fieldIndex("chileName")), equalTo((Object) "chileName"));
+        assertThat(accessor.get(child, accessor.fieldIndex("age")), equalTo((Object) 5));
+    }
+
+    @Test
+    public void set_WhenProtectedAndPrivateFields() {
+        Child child = new Child();
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Child.class);
+
+        accessor.set(child, accessor.fieldIndex("name"), "name");
+        accessor.set(child, accessor.fieldIndex("age"), 7);
+
+        assertThat(child.getName(), equalTo("name"));
+        assertThat(child.getAge(), equalTo(7));
+    }
+
+    @Test
+    public void getAndSet_WhenPrimitiveFields() {
+        Numbers numbers = new Numbers();
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Numbers.class);
+
+        accessor.set(numbers, accessor.fieldIndex("count"), 3);
+        accessor.set(numbers, accessor.fieldIndex("active"), true);
+
+        assertThat(accessor.get(numbers, accessor.fieldIndex("count")), equalTo((Object) 3));
+        assertThat(accessor.get(numbers, accessor.fieldIndex("active")), equalTo((Object) true));
+    }
+
+    @Test
+    public void getAndSet_WhenStaticField() {
+        ClassAccessor accessor = ReflectionUtils.classAccessor(ObjWithStatic.class);
+        int index = accessor.fieldIndex("PREFIX");
+        Object previous = accessor.get(null, index);
+        try {
+            accessor.set(null, index, "OTHER");
+
+            assertThat(accessor.get(null, index), equalTo((Object) "OTHER"));
+        } finally {
+            accessor.set(null, index, previous);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_WhenWrongValueType() {
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Child.class);
+
+        accessor.set(new Child(), accessor.fieldIndex("name"), 1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_WhenNullToPrimitive() {
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Numbers.class);
+
+        accessor.set(new Numbers(), accessor.fieldIndex("count"), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void get_WhenWrongTarget() {
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Child.class);
+
+        accessor.get(new Object(), accessor.fieldIndex("name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fieldIndex_WhenNotExistField() {
+        ReflectionUtils.classAccessor(Child.class).fieldIndex("notExistField");
+    }
+
+    @Test
+    public void invoke_WhenOverloadedMethods() {
+        Overloaded overloaded = new Overloaded();
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Overloaded.class);
+
+        assertThat(accessor.invoke(overloaded, accessor.methodIndex("describe", String.class), "s"),
+                equalTo(overloaded.describe("s")));
+        assertThat(accessor.invoke(overloaded, accessor.methodIndex("describe", long.class), 1L),
+                equalTo(overloaded.describe(1L)));
+        assertThat(accessor.invoke(overloaded, accessor.methodIndex("getName")), equalTo((Object) "overloaded"));
+    }
+
+    @Test
+    public void invoke_WhenVoidMethod() {
+        Child child = new Child();
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Child.class);
+
+        assertThat(accessor.invoke(child, accessor.methodIndex("setAge", Integer.class), 9), equalTo(null));
+        assertThat(child.getAge(), equalTo(9));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invoke_WhenWrongNumberOfArguments() {
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Child.class);
+
+        accessor.invoke(new Child(), accessor.methodIndex("setAge", Integer.class));
+    }
+
+    @Test
+    public void invoke_WhenJdkClass() {
+        List<String> list = new ArrayList<>();
+        ClassAccessor accessor = ReflectionUtils.classAccessor(ArrayList.class);
+
+        accessor.invoke(list, accessor.methodIndex("add", String.class), "a");
+
+        assertThat(accessor.invoke(list, accessor.methodIndex("size")), equalTo((Object) 1));
+    }
+
+    @Test
+    public void get_WhenPackagePrivateField_ShouldLinkDirectly() {
+        Counter counter = new Counter();
+        counter.count = 4;
+        ClassAccessor accessor = ReflectionUtils.classAccessor(Counter.class);
+        int index = accessor.fieldIndex("count");
+
+        accessor.set(counter, index, 5);
+
+        assertThat(accessor.get(counter, index), equalTo((Object) 5));
+        assertThat(accessor.getClass().getClassLoader(), sameInstance(Counter.class.getClassLoader()));
+        assertThat(ClassMetadata.of(Counter.class).isAccessorCompiled(index), equalTo(false));
+    }
+
+    @Test
+    public void reflective_ShouldBehaveAsGenerated() {
+        Child child = new Child(1L, "name", new Date(), "chileName", 5);
+        ClassAccessor accessor = new ClassAccessor.Reflective(Child.class);
+
+        accessor.set(child, accessor.fieldIndex("age"), 6);
+
+        assertThat(accessor.isGenerated(), equalTo(false));
+        assertThat(accessor.get(child, accessor.fieldIndex("age")), equalTo((Object) 6));
+        assertThat(accessor.invoke(child, accessor.methodIndex("getName")), equalTo((Object) "name"));
+    }
+
+    static class Counter {
+        int count;
+    }
+}
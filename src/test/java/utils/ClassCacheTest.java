@@ -0,0 +1,180 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.SomeOther;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ClassCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void get_WhenCalledTwice_ShouldLoadOnce() {
+        ClassCache<String> cache = new ClassCache<>(this::load, ClassCache.UNBOUNDED);
+
+        String first = cache.get(Base.class);
+        String second = cache.get(Base.class);
+
+        assertThat(second, sameInstance(first));
+        assertThat(loads.get(), equalTo(1));
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    public void get_WhenBoundExceeded_ShouldEvictLeastRecentlyUsed() {
+        ClassCache<String> cache = new ClassCache<>(this::load, 2);
+
+        cache.get(Base.class);
+        cache.get(Child.class);
+        cache.get(Base.class);
+        cache.get(SomeOther.class);
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getIfPresent(Child.class), nullValue());
+        assertThat(cache.getIfPresent(Base.class), not(nullValue()));
+        assertThat(cache.getIfPresent(SomeOther.class), not(nullValue()));
+    }
+
+    @Test
+    public void invalidate_ShouldLoadAgain() {
+        ClassCache<String> cache = new ClassCache<>(this::load, ClassCache.UNBOUNDED);
+        cache.get(Base.class);
+        cache.get(Child.class);
+
+        cache.invalidate(Base.class);
+        cache.get(Base.class);
+        cache.invalidateAll();
+
+        assertThat(loads.get(), equalTo(3));
+        assertThat(cache.size(), equalTo(0));
+        assertThat(cache.getIfPresent(Child.class), nullValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_WhenMaxSizeNotPositive() {
+        new ClassCache<>(this::load, 0);
+    }
+
+    @Test
+    public void get_WhenConcurrent_ShouldPublishOneValue() throws Exception {
+        ClassCache<String> cache = new ClassCache<>(this::load, ClassCache.UNBOUNDED);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                tasks.add(() -> cache.get(Child.class));
+            }
+            String first = cache.get(Child.class);
+            for (Future<String> result : executor.invokeAll(tasks)) {
+                assertThat(result.get(), sameInstance(first));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void get_ShouldNotPinClassLoader() throws Exception {
+        ClassCache<Object> cache = new ClassCache<>(type -> ClassMetadata.of(type), 10);
+        WeakReference<ClassLoader> loader = cacheClassOfThrowawayLoader(cache);
+
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(loader.get(), nullValue());
+    }
+
+    @Test
+    public void reflectionUtils_ShouldNotPinClassLoaderOfUsedClasses() throws Exception {
+        ChildLoaders.assertCollected(usePluginOfThrowawayLoader());
+    }
+
+    private WeakReference<ClassLoader> usePluginOfThrowawayLoader() throws Exception {
+        URLClassLoader loader = ChildLoaders.newLoader();
+        Class<?> pluginClass = ChildLoaders.pluginClass(loader);
+        Object plugin = ReflectionUtils.newInstance(pluginClass, "name");
+        Child child = new Child("child", 1);
+
+        assertThat(ReflectionUtils.getFieldContent(plugin, "name"), equalTo((Object) "name"));
+        ReflectionUtils.copyProperties(plugin, child);
+        ReflectionUtils.copyProperties(child, plugin);
+        assertThat(ReflectionUtils.newInstance(Holder.class, plugin).value, sameInstance(plugin));
+        Class<?> kind = pluginClass.getDeclaredClasses()[0];
+        assertThat(ReflectionUtils.castFieldValueByType(kind, "B").toString(), equalTo("B"));
+        ReflectionUtils.populate(pluginClass, Collections.singletonMap("name", "populated"));
+        loader.close();
+        return new WeakReference<>(loader);
+    }
+
+    private WeakReference<ClassLoader> cacheClassOfThrowawayLoader(ClassCache<Object> cache) throws Exception {
+        ClassLoader loader = new IsolatingClassLoader(SomeOther.class.getName());
+        Class<?> type = loader.loadClass(SomeOther.class.getName());
+        cache.get(type);
+        return new WeakReference<>(loader);
+    }
+
+    static class Holder {
+        final Object value;
+
+        Holder(Object value) {
+            this.value = value;
+        }
+    }
+
+    private String load(Class<?> type) {
+        loads.incrementAndGet();
+        return new String(type.getName());
+    }
+
+    /**
+     * Defines its own copy of the class instead of delegating to the parent
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+        private final String name;
+
+        IsolatingClassLoader(String name) {
+            super(IsolatingClassLoader.class.getClassLoader());
+            this.name = name;
+        }
+
+        @Override
+        protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException {
+            if (!className.equals(name))
+                return super.loadClass(className, resolve);
+
+            try (InputStream in = getParent().getResourceAsStream(className.replace('.', '/') + ".class")) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int read; (read = in.read(buffer)) > 0; ) {
+                    bytes.write(buffer, 0, read);
+                }
+                return defineClass(className, bytes.toByteArray(), 0, bytes.size());
+            } catch (IOException e) {
+                throw new ClassNotFoundException(className, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package utils;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.Numbers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+public class ColumnsTest {
+
+    @Test
+    public void extractColumn_WhenPrimitiveField_ShouldReturnPrimitiveArray() {
+        List<Numbers> rows = numbers(3);
+
+        Object column = ReflectionUtils.extractColumn(rows, "amount");
+
+        assertThat(column, instanceOf(long[].class));
+        Assertions.assertThat((long[]) column).containsExactly(0L, 10L, 20L);
+    }
+
+    @Test
+    public void extractColumn_WhenReferenceField_ShouldReturnObjectArray() {
+        List<Base> rows = Arrays.asList(new Base(1L, "first", new Date()), new Child(2L, "second", new Date(), "child", 1));
+
+        Object column = ReflectionUtils.extractColumn(rows, "name");
+
+        assertThat(column, instanceOf(Object[].class));
+        Assertions.assertThat((Object[]) column).containsExactly("first", "second");
+    }
+
+    @Test
+    public void extractColumn_WhenNullElement() {
+        List<Numbers> rows = numbers(2);
+        rows.add(1, null);
+
+        Object column = ReflectionUtils.extractColumn(rows, "count");
+
+        Assertions.assertThat((int[]) column).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    public void extractColumn_WhenEmpty() {
+        Object column = ReflectionUtils.extractColumn(Collections.emptyList(), "count");
+
+        Assertions.assertThat((Object[]) column).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void extractColumn_WhenNotExistField() {
+        ReflectionUtils.extractColumn(numbers(1), "notExist");
+    }
+
+    @Test
+    public void extractDoubleColumn_WhenIntField() {
+        double[] column = ReflectionUtils.extractDoubleColumn(numbers(2), "count");
+
+        Assertions.assertThat(column).containsExactly(0.0, 1.0);
+    }
+
+    @Test
+    public void extractLongColumn() {
+        long[] column = ReflectionUtils.extractLongColumn(numbers(2), "amount");
+
+        Assertions.assertThat(column).containsExactly(0L, 10L);
+    }
+
+    @Test
+    public void extractColumnParallel_ShouldBeEqualToSequential() {
+        List<Numbers> rows = numbers(20000);
+
+        long[] parallel = (long[]) ReflectionUtils.extractColumnParallel(rows, "amount");
+
+        assertThat(Arrays.equals(parallel, (long[]) ReflectionUtils.extractColumn(rows, "amount")), equalTo(true));
+    }
+
+    @Test
+    public void setColumn_WhenPrimitiveValues() {
+        List<Numbers> rows = numbers(3);
+
+        ReflectionUtils.setColumn(rows, "price", new double[] {1.5, 2.5, 3.5});
+
+        assertThat(rows.get(2).getPrice(), equalTo(3.5));
+    }
+
+    @Test
+    public void setColumn_WhenObjectValues() {
+        List<Base> rows = Arrays.asList(new Base(), null, new Child());
+
+        ReflectionUtils.setColumn(rows, "name", new Object[] {"first", "skipped", "third"});
+
+        assertThat(rows.get(0).getName(), equalTo("first"));
+        assertThat(rows.get(2).getName(), equalTo("third"));
+    }
+
+    @Test
+    public void setColumn_WhenShortValues() {
+        List<Numbers> rows = numbers(2);
+
+        ReflectionUtils.setColumn(rows, "small", new short[] {1, 2});
+
+        assertThat(rows.get(1).getSmall(), equalTo((short) 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setColumn_WhenLengthDiffers() {
+        ReflectionUtils.setColumn(numbers(3), "count", new int[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setColumn_WhenValuesNotArray() {
+        ReflectionUtils.setColumn(numbers(1), "count", 1);
+    }
+
+    @Test
+    public void setColumnParallel_ShouldWriteAllValues() {
+        List<Numbers> rows = numbers(20000);
+        long[] values = new long[rows.size()];
+        Arrays.fill(values, 7L);
+
+        ReflectionUtils.setColumnParallel(rows, "amount", values);
+
+        assertThat(Arrays.equals(ReflectionUtils.extractLongColumn(rows, "amount"), values), equalTo(true));
+    }
+
+    private static List<Numbers> numbers(int size) {
+        List<Numbers> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Numbers numbers = new Numbers();
+            numbers.setCount(i);
+            numbers.setAmount(i * 10L);
+            rows.add(numbers);
+        }
+        return rows;
+    }
+}
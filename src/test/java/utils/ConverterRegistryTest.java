@@ -0,0 +1,109 @@
+package utils;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ConverterRegistryTest {
+
+    @Test
+    public void convert_ToPrimitive() {
+        assertThat(ReflectionUtils.castFieldValueByType(int.class, "12"), equalTo((Object) 12));
+        assertThat(ReflectionUtils.castFieldValueByType(long.class, 12), equalTo((Object) 12L));
+        assertThat(ReflectionUtils.castFieldValueByType(boolean.class, "false"), equalTo((Object) false));
+    }
+
+    @Test
+    public void convert_ToBoolean_WhenZeroOfAnyNumberType() {
+        assertThat(ReflectionUtils.castFieldValueByType(Boolean.class, 0L), equalTo((Object) false));
+        assertThat(ReflectionUtils.castFieldValueByType(Boolean.class, 0.0), equalTo((Object) false));
+        assertThat(ReflectionUtils.castFieldValueByType(Boolean.class, 0.2), equalTo((Object) true));
+    }
+
+    @Test
+    public void convert_ToBigDecimal() {
+        assertThat(ReflectionUtils.castFieldValueByType(BigDecimal.class, "1.25"), equalTo((Object) new BigDecimal("1.25")));
+        assertThat(ReflectionUtils.castFieldValueByType(BigDecimal.class, 3), equalTo((Object) BigDecimal.valueOf(3)));
+    }
+
+    @Test
+    public void convert_ToBigInteger() {
+        assertThat(ReflectionUtils.castFieldValueByType(BigInteger.class, new BigDecimal("7.9")), equalTo((Object) BigInteger.valueOf(7)));
+    }
+
+    @Test
+    public void convert_ToEnum() {
+        assertThat(ReflectionUtils.castFieldValueByType(TimeUnit.class, "SECONDS"), equalTo((Object) TimeUnit.SECONDS));
+        assertThat(ReflectionUtils.castFieldValueByType(TimeUnit.class, 0), equalTo((Object) TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void convert_ToJavaTime() {
+        assertThat(ReflectionUtils.castFieldValueByType(LocalDate.class, "2018-03-01"), equalTo((Object) LocalDate.of(2018, 3, 1)));
+        assertThat(ReflectionUtils.castFieldValueByType(Instant.class, 1000L), equalTo((Object) Instant.ofEpochSecond(1)));
+        assertThat(ReflectionUtils.castFieldValueByType(Date.class, Instant.ofEpochSecond(1)), equalTo((Object) new Date(1000L)));
+    }
+
+    @Test
+    public void convert_ToString_WhenNotRegistered_ShouldReturnSameValue() {
+        assertThat(ReflectionUtils.castFieldValueByType(String.class, 12), equalTo((Object) 12));
+        assertThat(new ConverterRegistry().register(Object.class, String.class, Object::toString).convert(12, String.class), equalTo((Object) "12"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convert_ToEnum_WhenOrdinalOutOfRange_ShouldThrowException() {
+        ReflectionUtils.castFieldValueByType(TimeUnit.class, 100);
+    }
+
+    @Test
+    public void convert_WhenAlreadyInstance_ShouldReturnSameValue() {
+        Date date = new Date();
+
+        assertThat(ReflectionUtils.castFieldValueByType(Object.class, date), sameInstance((Object) date));
+    }
+
+    @Test
+    public void convert_WhenUnknownType_ShouldReturnSameValue() {
+        Object value = new Object();
+
+        assertThat(ReflectionUtils.castFieldValueByType(Date.class, value), sameInstance(value));
+    }
+
+    @Test
+    public void convert_WhenNull() {
+        assertThat(ReflectionUtils.castFieldValueByType(Long.class, null), equalTo(null));
+    }
+
+    @Test
+    public void register_ShouldApplyToSubtypes_AndReplaceCachedConverter() {
+        ConverterRegistry registry = ConverterRegistry.withDefaults();
+        assertThat(registry.convert(5, Long.class), equalTo((Object) 5L));
+
+        registry.register(Number.class, Long.class, number -> number.longValue() * 10);
+
+        assertThat(registry.convert(5, Long.class), equalTo((Object) 50L));
+        assertThat(registry.convert(5, long.class), equalTo((Object) 50L));
+    }
+
+    @Test
+    public void find_WhenCalledTwice_ShouldReturnSameConverter() {
+        Converter<Object, Object> first = ConverterRegistry.getDefault().find(String.class, Long.class);
+        Converter<Object, Object> second = ConverterRegistry.getDefault().find(String.class, Long.class);
+
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    public void convert_WhenEmptyRegistry_ShouldReturnSameValue() {
+        assertThat(new ConverterRegistry().convert("1", Long.class), equalTo((Object) "1"));
+    }
+}
@@ -0,0 +1,223 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Child;
+import utils.data.Failure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DeepClonerTest {
+
+    @Test
+    public void deepClone_ShouldCopyFieldsOfHierarchy() {
+        Date date = new Date(1000);
+        Child child = new Child(1L, "name", date, "child", 5);
+
+        Child copy = ReflectionUtils.deepClone(child);
+
+        assertThat(copy, equalTo(child));
+        assertThat(copy, not(sameInstance(child)));
+        assertThat(copy.getDate(), not(sameInstance(date)));
+        assertThat(copy.getName(), sameInstance(child.getName()));
+    }
+
+    @Test
+    public void deepClone_WhenNull() {
+        assertThat(ReflectionUtils.deepClone(null), nullValue());
+    }
+
+    @Test
+    public void deepClone_ShouldNotRunConstructors() {
+        int created = Counted.created;
+
+        Counted copy = ReflectionUtils.deepClone(new Counted(7));
+
+        assertThat(copy.value, equalTo(7));
+        assertThat(Counted.created, equalTo(created + 1));
+    }
+
+    @Test
+    public void deepClone_ShouldCopyPrimitivesAndArrays() {
+        Holder holder = new Holder();
+        holder.ints = new int[] {1, 2, 3};
+        holder.dates = new Date[] {new Date(1), null};
+        holder.names = new String[] {"a", "b"};
+        holder.c = 'x';
+        holder.d = 2.5;
+
+        Holder copy = ReflectionUtils.deepClone(holder);
+
+        assertThat(copy.c, equalTo('x'));
+        assertThat(copy.d, equalTo(2.5));
+        assertThat(copy.ints, equalTo(new int[] {1, 2, 3}));
+        assertThat(copy.ints, not(sameInstance(holder.ints)));
+        assertThat(copy.dates[0], equalTo(holder.dates[0]));
+        assertThat(copy.dates[0], not(sameInstance(holder.dates[0])));
+        assertThat(copy.dates[1], nullValue());
+        assertThat(copy.names, equalTo(holder.names));
+        assertThat(copy.names, not(sameInstance(holder.names)));
+    }
+
+    @Test
+    public void deepClone_ShouldPreserveSharedReferencesAndCycles() {
+        Holder holder = new Holder();
+        holder.first = new Date(1);
+        holder.second = holder.first;
+        holder.self = holder;
+
+        Holder copy = ReflectionUtils.deepClone(holder);
+
+        assertThat(copy.first, not(sameInstance(holder.first)));
+        assertThat(copy.second, sameInstance(copy.first));
+        assertThat(copy.self, sameInstance(copy));
+    }
+
+    @Test
+    public void deepClone_ShouldCopyCollectionsAndFinalFields() {
+        Holder holder = new Holder();
+        holder.list.add(new Date(5));
+
+        Holder copy = ReflectionUtils.deepClone(holder);
+        holder.list.clear();
+
+        assertThat(copy.list, equalTo(Arrays.asList(new Date(5))));
+    }
+
+    @Test
+    public void deepClone_WhenKeysHaveIdentityHashCodes_ShouldRehashContainers() {
+        Keys keys = new Keys();
+        keys.key = new Key();
+        keys.map.put(keys.key, "value");
+        keys.set.add(keys.key);
+
+        Keys copy = ReflectionUtils.deepClone(keys);
+
+        assertThat(copy.key, not(sameInstance(keys.key)));
+        assertThat(copy.map.get(copy.key), equalTo("value"));
+        assertTrue(copy.map.containsKey(copy.key));
+        assertTrue(copy.set.contains(copy.key));
+        assertThat(copy.map.size(), equalTo(1));
+        assertThat(copy.set.size(), equalTo(1));
+    }
+
+    @Test
+    public void deepClone_ShouldKeepComparatorAndFieldsOfSubclasses() {
+        TreeSet<String> sorted = new TreeSet<>(Comparator.reverseOrder());
+        sorted.addAll(Arrays.asList("a", "c", "b"));
+        Labeled labeled = new Labeled();
+        labeled.label = "label";
+        labeled.put("key", new Date(1));
+
+        assertThat(new ArrayList<>(ReflectionUtils.deepClone(sorted)), equalTo(Arrays.asList("c", "b", "a")));
+        Labeled copy = ReflectionUtils.deepClone(labeled);
+        assertThat(copy.label, equalTo("label"));
+        assertThat(copy.get("key"), equalTo(new Date(1)));
+        assertThat(copy.get("key"), not(sameInstance(labeled.get("key"))));
+    }
+
+    @Test
+    public void deepClone_WhenJdkParent_ShouldCopyOwnFieldsAndConstructJdkPart() {
+        Failure source = new Failure("message", 3);
+
+        Failure copy = ReflectionUtils.deepClone(source);
+
+        assertThat(copy, not(sameInstance(source)));
+        assertThat(copy.getCode(), equalTo(3));
+        assertThat(copy.getMessage(), nullValue());
+        assertTrue(copy.getStackTrace().length > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deepClone_WhenJdkClassCannotBeCopied_ShouldThrowException() {
+        ReflectionUtils.deepClone(new StringBuilder("text"));
+    }
+
+    @Test
+    public void deepClone_WhenLongChain_ShouldNotOverflowStack() {
+        Node head = null;
+        for (int i = 0; i < 100_000; i++) {
+            head = new Node(i, head);
+        }
+
+        Node copy = ReflectionUtils.deepClone(head);
+
+        int length = 0;
+        for (Node node = copy; node != null; node = node.next) {
+            length++;
+        }
+        assertThat(length, equalTo(100_000));
+        assertThat(copy.value, equalTo(99_999));
+    }
+
+    @Test
+    public void registerImmutable_ShouldShareInstances() {
+        Date date = new Date(1);
+        Holder holder = new Holder();
+        holder.first = date;
+
+        assertThat(new DeepCloner().registerImmutable(Date.class).deepClone(holder).first, sameInstance(date));
+        assertThat(new DeepCloner().deepClone(holder).first, not(sameInstance(date)));
+    }
+
+    static class Counted {
+        static int created;
+
+        final int value;
+
+        Counted(int value) {
+            this.value = value;
+            created++;
+        }
+    }
+
+    static class Holder {
+        char c;
+        double d;
+        int[] ints;
+        Date[] dates;
+        String[] names;
+        Date first;
+        Date second;
+        Holder self;
+        final List<Date> list = new ArrayList<>();
+    }
+
+    static class Key {
+    }
+
+    static class Keys {
+        Key key;
+        Map<Key, String> map = new HashMap<>();
+        Set<Key> set = new HashSet<>();
+    }
+
+    static class Labeled extends HashMap<String, Date> {
+        String label;
+    }
+
+    static class Node {
+        final int value;
+        final Node next;
+
+        Node(int value, Node next) {
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
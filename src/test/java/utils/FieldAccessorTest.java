@@ -0,0 +1,174 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.Numbers;
+import utils.data.ObjWithStatic;
+
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class FieldAccessorTest {
+
+    @Test
+    public void accessor_WhenCalledTwice_ShouldReturnSameInstance() {
+        FieldAccessor first = ReflectionUtils.accessor(Child.class, "name");
+        FieldAccessor second = ReflectionUtils.accessor(Child.class, "name");
+
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void accessor_WhenNotExistField() {
+        ReflectionUtils.accessor(Base.class, "notExist");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void accessor_WhenNullField() {
+        ReflectionUtils.accessor(Base.class, null);
+    }
+
+    @Test
+    public void get() {
+        Base base = new Base(1L, "name", new Date());
+        FieldAccessor accessor = ReflectionUtils.accessor(Base.class, "name");
+
+        assertThat(accessor.get(base), equalTo("name"));
+    }
+
+    @Test
+    public void get_WhenParentField() {
+        Child child = new Child(1L, "nameParent", new Date(), "nameChild", 22);
+        FieldAccessor accessor = ReflectionUtils.accessor(Child.class, "name");
+
+        assertThat(accessor.get(child), equalTo("nameParent"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void get_WhenOtherClass() {
+        FieldAccessor accessor = ReflectionUtils.accessor(Child.class, "age");
+        accessor.get(new Base());
+    }
+
+    @Test
+    public void set() {
+        Child child = new Child();
+        FieldAccessor accessor = ReflectionUtils.accessor(Child.class, "age");
+        accessor.set(child, 33);
+
+        assertThat(child.getAge(), equalTo(33));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_WhenWrongType() {
+        FieldAccessor accessor = ReflectionUtils.accessor(Child.class, "age");
+        accessor.set(new Child(), "notNumber");
+    }
+
+    @Test
+    public void getAndSet_WhenStaticField() {
+        FieldAccessor accessor = ReflectionUtils.accessor(ObjWithStatic.class, "PREFIX");
+        String prefix = (String) accessor.get(null);
+        try {
+            accessor.set(null, "OTHER");
+            assertThat(ObjWithStatic.getPREFIX(), equalTo("OTHER"));
+        } finally {
+            accessor.set(null, prefix);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_WhenStaticFinalField() {
+        FieldAccessor accessor = ReflectionUtils.accessor(WithConstant.class, "CONSTANT");
+        accessor.set(null, "other");
+    }
+
+    @Test
+    public void set_WhenFinalField() {
+        WithConstant obj = new WithConstant();
+        FieldAccessor accessor = ReflectionUtils.accessor(WithConstant.class, "value");
+        accessor.set(obj, "other");
+
+        assertThat(accessor.get(obj), equalTo("other"));
+    }
+
+    @Test
+    public void getInt() {
+        Numbers numbers = new Numbers();
+        numbers.setCount(7);
+
+        assertThat(ReflectionUtils.accessor(Numbers.class, "count").getInt(numbers), equalTo(7));
+    }
+
+    @Test
+    public void getLong_WhenIntField() {
+        Numbers numbers = new Numbers();
+        numbers.setCount(7);
+
+        assertThat(ReflectionUtils.accessor(Numbers.class, "count").getLong(numbers), equalTo(7L));
+    }
+
+    @Test
+    public void getInt_WhenShortField() {
+        Numbers numbers = new Numbers();
+        numbers.setSmall((short) 3);
+
+        assertThat(ReflectionUtils.accessor(Numbers.class, "small").getInt(numbers), equalTo(3));
+    }
+
+    @Test
+    public void getInt_WhenWrapperField() {
+        Numbers numbers = new Numbers();
+        numbers.setBoxed(5);
+
+        assertThat(ReflectionUtils.accessor(Numbers.class, "boxed").getInt(numbers), equalTo(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getInt_WhenLongField() {
+        ReflectionUtils.accessor(Numbers.class, "amount").getInt(new Numbers());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getInt_WhenReferenceField() {
+        ReflectionUtils.accessor(Base.class, "name").getInt(new Base());
+    }
+
+    @Test
+    public void setDouble() {
+        Numbers numbers = new Numbers();
+        ReflectionUtils.accessor(Numbers.class, "price").setDouble(numbers, 2.5);
+
+        assertThat(numbers.getPrice(), equalTo(2.5));
+    }
+
+    @Test
+    public void setInt_WhenLongField() {
+        Numbers numbers = new Numbers();
+        ReflectionUtils.accessor(Numbers.class, "amount").setInt(numbers, 9);
+
+        assertThat(numbers.getAmount(), equalTo(9L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setLong_WhenIntField() {
+        ReflectionUtils.accessor(Numbers.class, "count").setLong(new Numbers(), 9L);
+    }
+
+    @Test
+    public void setBoolean() {
+        Numbers numbers = new Numbers();
+        ReflectionUtils.accessor(Numbers.class, "active").setBoolean(numbers, true);
+
+        assertThat(numbers.isActive(), equalTo(true));
+    }
+
+    public static class WithConstant {
+        private static final String CONSTANT = "constant";
+        private final String value = new String("value");
+    }
+}
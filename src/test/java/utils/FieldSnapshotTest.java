@@ -0,0 +1,70 @@
+package utils;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import utils.data.Child;
+import utils.data.ClassWithoutFields;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class FieldSnapshotTest {
+
+    @Test
+    public void snapshot_ShouldBeEqualToMapFieldNameAndValue() {
+        Child child = new Child(1L, "nameParent", new Date(), "nameChild", 22);
+
+        FieldSnapshot snapshot = ReflectionUtils.snapshot(child);
+
+        Assertions.assertThat(snapshot).isEqualTo(ReflectionUtils.getMapFieldNameAndValue(child));
+    }
+
+    @Test
+    public void snapshot_WhenGetByIndex() {
+        Child child = new Child(1L, "nameParent", new Date(), "nameChild", 22);
+
+        FieldSnapshot snapshot = ReflectionUtils.snapshot(child);
+        int index = snapshot.indexOf("age");
+
+        assertThat(snapshot.nameAt(index), equalTo("age"));
+        assertThat(snapshot.valueAt(index), equalTo((Object) 22));
+    }
+
+    @Test
+    public void snapshot_WhenNotExistField() {
+        FieldSnapshot snapshot = ReflectionUtils.snapshot(new Child());
+
+        assertThat(snapshot.indexOf("notExist"), equalTo(-1));
+        assertThat(snapshot.get("notExist"), equalTo(null));
+        assertThat(snapshot.containsKey("notExist"), equalTo(false));
+    }
+
+    @Test
+    public void snapshot_WhenClassWithoutFields() {
+        FieldSnapshot snapshot = ReflectionUtils.snapshot(new ClassWithoutFields());
+
+        Assertions.assertThat(snapshot).isEmpty();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshot_WhenPut_ShouldThrowException() {
+        ReflectionUtils.snapshot(new Child()).put("age", 1);
+    }
+
+    @Test
+    public void getMapFieldNameAndValue_WhenReuseTargetMap() {
+        Map<String, Object> target = new HashMap<>();
+
+        ReflectionUtils.getMapFieldNameAndValue(new Child("first", 1), target);
+        Map<String, Object> map = ReflectionUtils.getMapFieldNameAndValue(new Child("second", 2), target);
+
+        Assertions.assertThat(map).isSameAs(target);
+        assertThat(map.get("chileName"), equalTo((Object) "second"));
+        assertThat(map.get("age"), equalTo((Object) 2));
+        assertThat(map.size(), equalTo(5));
+    }
+}
@@ -0,0 +1,168 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Child;
+import utils.data.Numbers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class HydratorTest {
+
+    @Test
+    public void populate_ShouldSetFieldsOfHierarchy() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("name", "name");
+        row.put("chileName", "child");
+        row.put("age", 5);
+
+        assertThat(ReflectionUtils.populate(Child.class, row), equalTo(new Child(1L, "name", null, "child", 5)));
+    }
+
+    @Test
+    public void populate_ShouldConvertValuesToFieldTypes() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("count", "7");
+        row.put("amount", 8);
+        row.put("price", "1.5");
+        row.put("active", "true");
+        row.put("small", 3L);
+        row.put("boxed", "9");
+
+        Numbers numbers = ReflectionUtils.populate(Numbers.class, row);
+
+        assertThat(numbers.getCount(), equalTo(7));
+        assertThat(numbers.getAmount(), equalTo(8L));
+        assertThat(numbers.getPrice(), equalTo(1.5));
+        assertThat(numbers.isActive(), equalTo(true));
+        assertThat(numbers.getSmall(), equalTo((short) 3));
+        assertThat(numbers.getBoxed(), equalTo(9));
+    }
+
+    @Test
+    public void populate_ShouldSkipUnknownKeysAndNullPrimitives() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("unknown", "value");
+        row.put("count", null);
+        row.put("boxed", null);
+        Numbers target = new Numbers();
+        target.setCount(4);
+        target.setBoxed(5);
+
+        ReflectionUtils.hydrator(Numbers.class).populate(target, row);
+
+        assertThat(target.getCount(), equalTo(4));
+        assertThat(target.getBoxed(), nullValue());
+    }
+
+    @Test
+    public void hydrate_FromPropertySourceShouldNotMaterializeRows() {
+        RowSource source = new RowSource(Arrays.asList("chileName", "first", "unknown", "skipped", "age", "1"));
+        Hydrator<Child> hydrator = ReflectionUtils.hydrator(Child.class);
+
+        Child child = hydrator.hydrate(source);
+
+        assertThat(child, equalTo(new Child("first", 1)));
+        assertThat(source.skipped, equalTo(Arrays.asList("unknown")));
+    }
+
+    @Test
+    public void hydrator_ShouldBeCached() {
+        assertThat(ReflectionUtils.hydrator(Child.class), sameInstance(ReflectionUtils.hydrator(Child.class)));
+        assertTrue(ReflectionUtils.hydrator(Child.class).hasProperty("id"));
+        assertFalse(ReflectionUtils.hydrator(Child.class).hasProperty("unknown"));
+    }
+
+    @Test
+    public void hydrator_WithOwnConverters() {
+        ConverterRegistry converters = ConverterRegistry.withDefaults()
+                .register(String.class, Date.class, value -> new Date(Long.parseLong(value) * 1000));
+        Map<String, Object> row = new HashMap<>();
+        row.put("date", "2");
+
+        assertThat(ReflectionUtils.hydrator(Child.class, converters).hydrate(row).getDate(), equalTo(new Date(2000)));
+    }
+
+    @Test
+    public void hydrate_WhenNoArgConstructorNotExist() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("value", "text");
+
+        assertThat(ReflectionUtils.populate(NoDefault.class, row).value, equalTo("text"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void populate_WhenValueCannotBeSet_ShouldThrowException() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("date", new ArrayList<>());
+
+        ReflectionUtils.populate(Child.class, row);
+    }
+
+    @Test
+    public void populate_ShouldSkipFinalFields() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("value", "text");
+        row.put("id", "changed");
+
+        Identified identified = ReflectionUtils.populate(Identified.class, row);
+
+        assertThat(identified.id, equalTo("initial"));
+        assertThat(identified.value, equalTo("text"));
+        assertFalse(ReflectionUtils.hydrator(Identified.class).hasProperty("id"));
+    }
+
+    static class NoDefault {
+        String value;
+
+        NoDefault(String value) {
+            this.value = value;
+        }
+    }
+
+    static class Identified {
+        final String id = new String("initial");
+        String value;
+    }
+
+    /**
+     * Names and values as a flat list of strings, numbers are converted by the hydrator
+     */
+    static class RowSource implements PropertySource {
+        final List<String> tokens;
+        final List<String> skipped = new ArrayList<>();
+        int position;
+
+        RowSource(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        @Override
+        public String nextName() {
+            return position < tokens.size() ? tokens.get(position++) : null;
+        }
+
+        @Override
+        public Object nextValue() {
+            return tokens.get(position++);
+        }
+
+        @Override
+        public void skipValue() {
+            skipped.add(tokens.get(position - 1));
+            position++;
+        }
+    }
+}
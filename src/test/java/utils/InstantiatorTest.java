@@ -0,0 +1,142 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Base;
+import utils.data.Child;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class InstantiatorTest {
+
+    @Test
+    public void newInstance_WhenNoArgs() {
+        assertThat(ReflectionUtils.newInstance(Child.class), equalTo(new Child()));
+        assertThat(ReflectionUtils.instantiator(Child.class).newInstance0(), equalTo(new Child()));
+    }
+
+    @Test
+    public void newInstance_ShouldResolveConstructorByArgs() {
+        assertThat(ReflectionUtils.newInstance(Child.class, "child", 5), equalTo(new Child("child", 5)));
+        assertThat(ReflectionUtils.newInstance(Child.class, null, 5), equalTo(new Child(null, 5)));
+
+        Date date = new Date();
+        Child child = ReflectionUtils.newInstance(Child.class, 1L, "name", date, "child", 5);
+        assertThat(child, equalTo(new Child(1L, "name", date, "child", 5)));
+    }
+
+    @Test
+    public void allArgsInstantiator_ShouldChooseConstructorWithMostParameters() {
+        Instantiator<Child> instantiator = ReflectionUtils.allArgsInstantiator(Child.class);
+        Date date = new Date();
+
+        assertThat(instantiator.getParameterCount(), equalTo(5));
+        assertThat(instantiator.newInstance(1L, "name", date, "child", 5), equalTo(new Child(1L, "name", date, "child", 5)));
+    }
+
+    @Test
+    public void instantiator_WhenPrivateConstructor() {
+        Instantiator<Secret> instantiator = ReflectionUtils.instantiator(Secret.class, String.class);
+
+        assertThat(instantiator.newInstance1("value").value, equalTo("value"));
+        assertThat(ReflectionUtils.newInstance(Secret.class, "other").value, equalTo("other"));
+    }
+
+    @Test
+    public void instantiator_ShouldBeCached() {
+        assertThat(ReflectionUtils.instantiator(Child.class, String.class, Integer.class),
+                sameInstance(ReflectionUtils.instantiator(Child.class, String.class, Integer.class)));
+        assertThat(ReflectionUtils.allArgsInstantiator(Child.class), sameInstance(ReflectionUtils.allArgsInstantiator(Child.class)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstance_WhenNoApplicableConstructor_ShouldThrowException() {
+        ReflectionUtils.newInstance(Child.class, "child");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstance_WhenAbstractClass_ShouldThrowException() {
+        ReflectionUtils.newInstance(Abstract.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstance_WhenWrongArity_ShouldThrowException() {
+        ReflectionUtils.instantiator(Child.class).newInstance1("child");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void allArgsInstantiator_WhenAmbiguous_ShouldThrowException() {
+        ReflectionUtils.allArgsInstantiator(Ambiguous.class);
+    }
+
+    @Test
+    public void allArgsInstantiator_WhenShorterConstructorsHaveSameArity_ShouldChooseLongest() {
+        Instantiator<Point> instantiator = ReflectionUtils.allArgsInstantiator(Point.class);
+
+        assertThat(instantiator.getParameterCount(), equalTo(3));
+        assertThat(instantiator.newInstance(1, 2, 3).z, equalTo(3));
+    }
+
+    @Test
+    public void newInstance_WhenConstructorThrowsCheckedException() {
+        try {
+            ReflectionUtils.instantiator(Failing.class).newInstance0();
+            fail();
+        } catch (UndeclaredThrowableException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+
+        try {
+            ReflectionUtils.newInstance(Failing.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getCause(), instanceOf(UndeclaredThrowableException.class));
+        }
+    }
+
+    static class Secret {
+        final String value;
+
+        private Secret(String value) {
+            this.value = value;
+        }
+    }
+
+    abstract static class Abstract extends Base {
+    }
+
+    static class Ambiguous {
+        Ambiguous(String value) { }
+
+        Ambiguous(Integer value) { }
+    }
+
+    static class Point {
+        final int z;
+
+        Point(int x, int y) {
+            this.z = 0;
+        }
+
+        Point(String x, String y) {
+            this.z = 0;
+        }
+
+        Point(int x, int y, int z) {
+            this.z = z;
+        }
+    }
+
+    static class Failing {
+        Failing() throws IOException {
+            throw new IOException("failed");
+        }
+    }
+}
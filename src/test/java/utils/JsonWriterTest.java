@@ -0,0 +1,162 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Child;
+import utils.data.Failure;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class JsonWriterTest {
+
+    @Test
+    public void toJson_WhenEntityWithHierarchy() {
+        Child child = new Child(1L, "name", new Date(1000), "child", 5);
+
+        assertThat(ReflectionUtils.toJson(child),
+                equalTo("{\"chileName\":\"child\",\"age\":5,\"id\":1,\"name\":\"name\",\"date\":1000}"));
+    }
+
+    @Test
+    public void toJson_WhenSimpleValues() {
+        assertThat(ReflectionUtils.toJson(null), equalTo("null"));
+        assertThat(ReflectionUtils.toJson("a\"b\\c\n\u0001"), equalTo("\"a\\\"b\\\\c\\n\\u0001\""));
+        assertThat(ReflectionUtils.toJson(-42L), equalTo("-42"));
+        assertThat(ReflectionUtils.toJson(Long.MIN_VALUE), equalTo("-9223372036854775808"));
+        assertThat(ReflectionUtils.toJson(Double.NaN), equalTo("null"));
+        assertThat(ReflectionUtils.toJson(new BigDecimal("1.50")), equalTo("1.50"));
+        assertThat(ReflectionUtils.toJson(TimeUnit.SECONDS), equalTo("\"SECONDS\""));
+        assertThat(ReflectionUtils.toJson(Arrays.asList(1, "a", true)), equalTo("[1,\"a\",true]"));
+    }
+
+    @Test
+    public void toJson_ShouldWritePrimitiveFieldsArraysAndMaps() {
+        Primitives primitives = new Primitives();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("k", new int[] {1, 2});
+        primitives.map = map;
+
+        assertThat(ReflectionUtils.toJson(primitives),
+                equalTo("{\"c\":\"x\",\"b\":-1,\"f\":1.5,\"d\":0.25,\"flag\":true,\"l\":10000000000,"
+                        + "\"longs\":[3,4],\"chars\":\"ab\",\"map\":{\"k\":[1,2]}}"));
+    }
+
+    @Test
+    public void writeJson_ToOutputStreamShouldEncodeUtf8() throws UnsupportedEncodingException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ReflectionUtils.writeJson(Arrays.asList("é中😀", new Child(null, null, null, "é", 1)), out);
+
+        assertThat(out.toString("UTF-8"), equalTo("[\"é中😀\",{\"chileName\":\"é\",\"age\":1,\"id\":null,\"name\":null,\"date\":null}]"));
+    }
+
+    @Test
+    public void writeJson_ShouldStreamIterable() {
+        int count = 200_000;
+        Iterable<Child> children = () -> new Iterator<Child>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Child next() {
+                return new Child("child", next++);
+            }
+        };
+        CountingStream out = new CountingStream();
+
+        ReflectionUtils.writeJson(children, out);
+
+        assertThat(out.writes > 1, equalTo(true));
+        assertThat(out.last, equalTo((int) ']'));
+    }
+
+    @Test
+    public void toJson_WhenPathField_ShouldWriteString() {
+        WithPath value = new WithPath();
+        value.path = Paths.get("a", "b");
+
+        assertThat(ReflectionUtils.toJson(value), equalTo("{\"path\":" + ReflectionUtils.toJson(value.path.toString()) + "}"));
+    }
+
+    @Test
+    public void toJson_WhenJdkParent_ShouldWriteOwnFieldsOnly() {
+        assertThat(ReflectionUtils.toJson(new Failure("message", 3)), equalTo("{\"code\":3}"));
+    }
+
+    @Test
+    public void toJson_WhenFieldHidesParentField_ShouldWriteChildField() {
+        assertThat(ReflectionUtils.toJson(new Shadowing()), equalTo("{\"id\":\"c\"}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toJson_WhenCycle_ShouldThrowException() {
+        Node node = new Node();
+        node.next = node;
+
+        ReflectionUtils.toJson(node);
+    }
+
+    static class Primitives {
+        char c = 'x';
+        byte b = -1;
+        float f = 1.5f;
+        double d = 0.25;
+        boolean flag = true;
+        long l = 10_000_000_000L;
+        long[] longs = {3, 4};
+        char[] chars = {'a', 'b'};
+        Map<String, Object> map;
+        transient String cache = "cache";
+        static String CONSTANT = "constant";
+    }
+
+    static class WithPath {
+        Path path;
+    }
+
+    static class Shadowed {
+        String id = "p";
+    }
+
+    static class Shadowing extends Shadowed {
+        String id = "c";
+    }
+
+    static class Node {
+        Node next;
+    }
+
+    static class CountingStream extends OutputStream {
+        int writes;
+        int last;
+
+        @Override
+        public void write(int b) {
+            last = b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            writes++;
+            if (len > 0)
+                last = b[off + len - 1];
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.ChildDto;
+import utils.data.Numbers;
+
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MapperTest {
+
+    @Test
+    public void copyProperties_WhenSameClass() {
+        Date date = new Date();
+        Child source = new Child(1L, "name", date, "childName", 22);
+        Child target = new Child();
+
+        ReflectionUtils.copyProperties(source, target);
+
+        assertThat(target, equalTo(source));
+    }
+
+    @Test
+    public void copyProperties_WhenParentToChild() {
+        Base source = new Base(1L, "name", new Date());
+        Child target = new Child("childName", 22);
+
+        ReflectionUtils.copyProperties(source, target);
+
+        assertThat(target.getName(), equalTo("name"));
+        assertThat(target.getChileName(), equalTo("childName"));
+    }
+
+    @Test
+    public void copyProperties_WhenTypesDiffer_ShouldConvert() {
+        Child source = new Child(5L, "name", new Date(), "childName", 22);
+        ChildDto target = new ChildDto();
+
+        ReflectionUtils.copyProperties(source, target);
+
+        assertThat(target.getId(), equalTo(5L));
+        assertThat(target.getName(), equalTo("name"));
+        assertThat(target.getChileName(), equalTo("childName"));
+        assertThat(target.getAge(), equalTo(22L));
+        assertThat(target.getExtra(), equalTo("extra"));
+    }
+
+    @Test
+    public void copyProperties_WhenNull() {
+        Child target = new Child("childName", 22);
+
+        ReflectionUtils.copyProperties(null, target);
+
+        assertThat(target.getChileName(), equalTo("childName"));
+    }
+
+    @Test
+    public void map_WhenPrimitiveFields() {
+        Numbers source = new Numbers();
+        source.setCount(3);
+        source.setAmount(4L);
+        source.setPrice(1.5);
+        source.setActive(true);
+
+        Numbers target = ReflectionUtils.mapper(Numbers.class, Numbers.class).map(source, new Numbers());
+
+        assertThat(target.getCount(), equalTo(3));
+        assertThat(target.getAmount(), equalTo(4L));
+        assertThat(target.getPrice(), equalTo(1.5));
+        assertThat(target.isActive(), equalTo(true));
+    }
+
+    @Test
+    public void mapper_WhenCalledTwice_ShouldReturnSameInstance() {
+        Mapper<Child, ChildDto> first = ReflectionUtils.mapper(Child.class, ChildDto.class);
+        Mapper<Child, ChildDto> second = ReflectionUtils.mapper(Child.class, ChildDto.class);
+
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void map_WhenCannotConvert() {
+        TextAge source = new TextAge();
+        source.age = "notNumber";
+
+        ReflectionUtils.mapper(TextAge.class, Child.class).map(source, new Child());
+    }
+
+    @Test
+    public void map_WhenTargetFieldIsFinal_ShouldSkipIt() {
+        Named source = new Named("source");
+        source.note = "copied";
+
+        Named target = ReflectionUtils.mapper(Named.class, Named.class).map(source, new Named("target"));
+
+        assertThat(target.name, equalTo("target"));
+        assertThat(target.note, equalTo("copied"));
+
+        ReflectionUtils.copyProperties(source, target);
+        assertThat(target.name, equalTo("target"));
+    }
+
+    public static class TextAge {
+        private String age;
+    }
+
+    public static class Named {
+        private final String name;
+        private String note;
+
+        Named(String name) {
+            this.name = name;
+        }
+    }
+}
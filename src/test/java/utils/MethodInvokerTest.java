@@ -0,0 +1,142 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.ObjWithStatic;
+import utils.data.Overloaded;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.net.URLClassLoader;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MethodInvokerTest {
+
+    @Test
+    public void invoker_WhenCalledTwice_ShouldReturnSameInstance() {
+        MethodInvoker first = ReflectionUtils.invoker(Child.class, "setId", Long.class);
+        MethodInvoker second = ReflectionUtils.invoker(Child.class, "setId", Long.class);
+
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    public void callMethod_WhenArgumentOfChildLoader_ShouldNotPinLoader() throws Exception {
+        ChildLoaders.assertCollected(callWithPluginArgument());
+    }
+
+    @Test
+    public void invoker_ByMethod_ShouldReturnSameInstanceAsResolved() throws Exception {
+        Method method = Base.class.getMethod("getName");
+
+        assertThat(ReflectionUtils.invoker(method), sameInstance(ReflectionUtils.invoker(Child.class, "getName")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invoker_WhenNotExistMethod() {
+        ReflectionUtils.invoker(Child.class, "notExistMethod");
+    }
+
+    @Test
+    public void invoke0() {
+        Base base = new Base(1L, "name", new Date());
+        MethodInvoker invoker = ReflectionUtils.invoker(Base.class, "getName");
+
+        assertThat(invoker.invoke0(base), equalTo((Object) "name"));
+    }
+
+    @Test
+    public void invoke1_WhenVoidMethod() {
+        Child child = new Child();
+        MethodInvoker invoker = ReflectionUtils.invoker(Child.class, "setAge", Integer.class);
+
+        assertThat(invoker.invoke1(child, 5), equalTo(null));
+        assertThat(child.getAge(), equalTo(5));
+    }
+
+    @Test
+    public void invoke1_WhenPrimitiveParameter() {
+        MethodInvoker invoker = ReflectionUtils.invoker(Overloaded.class, "describe", long.class);
+
+        assertThat(invoker.invoke1(new Overloaded(), 1L), equalTo((Object) "long"));
+    }
+
+    @Test
+    public void invoke2() {
+        MethodInvoker invoker = ReflectionUtils.invoker(Overloaded.class, "describe", Object.class, Object.class);
+
+        assertThat(invoker.invoke2(new Overloaded(), 1, 2), equalTo((Object) "pair"));
+    }
+
+    @Test
+    public void invoke_WhenStaticMethod() {
+        MethodInvoker invoker = ReflectionUtils.invoker(ObjWithStatic.class, "getPREFIX");
+
+        assertThat(invoker.invoke(null), equalTo((Object) ObjWithStatic.getPREFIX()));
+    }
+
+    @Test
+    public void invoke_WhenPrivateMethodWithManyParameters() {
+        MethodInvoker invoker = ReflectionUtils.invoker(Target.class, "join", String.class, String.class, String.class, String.class);
+
+        assertThat(invoker.invoke(new Target(), "a", "b", "c", "d"), equalTo((Object) "abcd"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invoke_WhenWrongNumberOfArgs() {
+        ReflectionUtils.invoker(Base.class, "getName").invoke1(new Base(), "extra");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invoke_WhenMethodThrowsUncheckedException_ShouldNotWrap() {
+        ReflectionUtils.invoker(Target.class, "failUnchecked").invoke0(new Target());
+    }
+
+    @Test
+    public void invoke_WhenMethodThrowsCheckedException() {
+        try {
+            ReflectionUtils.invoker(Target.class, "failChecked").invoke0(new Target());
+            fail();
+        } catch (UndeclaredThrowableException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+    }
+
+    public static class Target {
+        private String join(String a, String b, String c, String d) {
+            return a + b + c + d;
+        }
+
+        private void failUnchecked() {
+            throw new IllegalStateException();
+        }
+
+        private void failChecked() throws IOException {
+            throw new IOException();
+        }
+    }
+
+    private static WeakReference<ClassLoader> callWithPluginArgument() throws Exception {
+        URLClassLoader loader = ChildLoaders.newLoader();
+        Object plugin = ChildLoaders.pluginClass(loader).newInstance();
+
+        assertThat(ReflectionUtils.callMethod(new Host(), "accept", plugin), sameInstance(plugin));
+        loader.close();
+        return new WeakReference<>(loader);
+    }
+
+    static class Host {
+        public Object accept(Object value) {
+            return value;
+        }
+    }
+}
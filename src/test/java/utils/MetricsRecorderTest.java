@@ -0,0 +1,135 @@
+package utils;
+
+import org.junit.After;
+import org.junit.Test;
+import utils.ReflectionMetrics.Operation;
+import utils.data.Child;
+import utils.data.SomeOther;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MetricsRecorderTest {
+
+    private final MetricsRecorder recorder = new MetricsRecorder();
+
+    @After
+    public void disableMetrics() {
+        ReflectionUtils.setMetrics(null);
+    }
+
+    @Test
+    public void getFieldContent_WhenEnabled_ShouldRecordCallsAndHotMembers() {
+        Child child = new Child("chileName", 5);
+        ReflectionUtils.setMetrics(recorder);
+
+        ReflectionUtils.getFieldContent(child, "age");
+        ReflectionUtils.getFieldContent(child, "age");
+        ReflectionUtils.getFieldContent(child, "chileName");
+
+        MetricsSnapshot snapshot = recorder.snapshot();
+        MetricsSnapshot.OperationStats stats = snapshot.get(Operation.GET_FIELD_CONTENT);
+        assertThat(stats.getCalls(), equalTo(3L));
+        assertThat(stats.getHits() + stats.getMisses(), equalTo(3L));
+        MetricsSnapshot.HotMember hottest = snapshot.getHotMembers(1).get(0);
+        assertThat(hottest.getClassName(), equalTo(Child.class.getName()));
+        assertThat(hottest.getMember(), equalTo("age"));
+        assertThat(hottest.getCalls(), equalTo(2L));
+    }
+
+    @Test
+    public void entryPoints_WhenEnabled_ShouldRecordEachOperation() {
+        Child child = new Child("chileName", 5);
+        ReflectionUtils.setMetrics(recorder);
+
+        ReflectionUtils.setFieldContent(child, "age", 6);
+        ReflectionUtils.callMethod(child, "getAge");
+        ReflectionUtils.getMapFieldNameAndValue(child);
+        ReflectionUtils.castFieldValueByType(Long.class, "1");
+
+        MetricsSnapshot snapshot = recorder.snapshot();
+        for (Operation operation : new Operation[] {Operation.SET_FIELD_CONTENT, Operation.CALL_METHOD,
+                Operation.GET_MAP_FIELD_NAME_AND_VALUE, Operation.CAST_FIELD_VALUE_BY_TYPE}) {
+            assertThat(operation.name(), snapshot.get(operation).getCalls(), equalTo(1L));
+        }
+        assertThat(snapshot.toString(), containsString("CALL_METHOD: calls=1"));
+    }
+
+    @Test
+    public void getFieldContent_WhenFails_ShouldRecordCall() {
+        ReflectionUtils.setMetrics(recorder);
+        try {
+            ReflectionUtils.getFieldContent(new Child(), "notExistField");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(recorder.snapshot().get(Operation.GET_FIELD_CONTENT).getCalls(), equalTo(1L));
+        }
+    }
+
+    @Test
+    public void getFieldContent_WhenDisabled_ShouldNotRecord() {
+        ReflectionUtils.setMetrics(recorder);
+        ReflectionUtils.setMetrics(null);
+
+        ReflectionUtils.getFieldContent(new Child(), "age");
+
+        assertThat(ReflectionUtils.getMetrics(), nullValue());
+        assertThat(recorder.snapshot().get(Operation.GET_FIELD_CONTENT).getCalls(), equalTo(0L));
+    }
+
+    @Test
+    public void record_WhenFirstAccessOfClass_ShouldCountMiss() {
+        List<Boolean> cached = new ArrayList<>();
+        ReflectionUtils.setMetrics((operation, type, member, hit, nanos) -> cached.add(hit));
+
+        ReflectionUtils.getFieldContent(new Fresh(), "value");
+        ReflectionUtils.getFieldContent(new Fresh(), "value");
+
+        assertThat(cached.toString(), equalTo("[false, true]"));
+    }
+
+    @Test
+    public void record_WhenBoundOfMembersExceeded_ShouldCountUntracked() {
+        MetricsRecorder bounded = new MetricsRecorder(1);
+
+        bounded.record(Operation.GET_FIELD_CONTENT, Child.class, "age", true, 10);
+        bounded.record(Operation.GET_FIELD_CONTENT, SomeOther.class, "bool", true, 10);
+
+        assertThat(bounded.snapshot().getHotMembers(10).size(), equalTo(1));
+        assertThat(bounded.snapshot().getUntrackedCalls(), equalTo(1L));
+    }
+
+    @Test
+    public void percentile_ShouldReturnUpperBoundOfBucket() {
+        recorder.record(Operation.CALL_METHOD, Child.class, "getAge", true, 100);
+        recorder.record(Operation.CALL_METHOD, Child.class, "getAge", true, 100);
+        recorder.record(Operation.CALL_METHOD, Child.class, "getAge", false, 5000);
+
+        MetricsSnapshot.OperationStats stats = recorder.snapshot().get(Operation.CALL_METHOD);
+
+        assertThat(stats.getPercentileNanos(50), equalTo(127L));
+        assertThat(stats.getPercentileNanos(99), equalTo(8191L));
+        assertThat(stats.getMeanNanos(), equalTo(1733L));
+        assertThat(stats.getMisses(), equalTo(1L));
+    }
+
+    @Test
+    public void reset_ShouldClearCounters() {
+        recorder.record(Operation.CALL_METHOD, Child.class, "getAge", true, 100);
+
+        recorder.reset();
+
+        assertThat(recorder.snapshot().get(Operation.CALL_METHOD).getCalls(), equalTo(0L));
+        assertThat(recorder.snapshot().getHotMembers(10).size(), equalTo(0));
+    }
+
+    private static final class Fresh {
+        private final int value = 1;
+    }
+}
@@ -0,0 +1,218 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.Color;
+import utils.data.Failure;
+import utils.data.Tags;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static utils.ReflectionOption.DEEP;
+import static utils.ReflectionOption.DETECT_CYCLES;
+import static utils.ReflectionOption.INCLUDE_STATIC;
+import static utils.ReflectionOption.INCLUDE_TRANSIENT;
+
+public class ObjectMethodsTest {
+
+    @Test
+    public void reflectionEquals_ShouldCompareFieldsOfHierarchy() {
+        assertTrue(ReflectionUtils.reflectionEquals(new Child(1L, "name", null, "child", 5), new Child(1L, "name", null, "child", 5)));
+        assertFalse(ReflectionUtils.reflectionEquals(new Child(1L, "name", null, "child", 5), new Child(2L, "name", null, "child", 5)));
+        assertFalse(ReflectionUtils.reflectionEquals(new Child(1L, "name", null, "child", 5), new Child(1L, "name", null, "child", 6)));
+    }
+
+    @Test
+    public void reflectionEquals_WhenNullOrOtherClass() {
+        assertTrue(ReflectionUtils.reflectionEquals(null, null));
+        assertFalse(ReflectionUtils.reflectionEquals(new Child(), null));
+        assertFalse(ReflectionUtils.reflectionEquals(new Child(), new Base()));
+    }
+
+    @Test
+    public void reflectionHashCode_ShouldBeConsistentWithEquals() {
+        assertThat(ReflectionUtils.reflectionHashCode(new Child(1L, "name", null, "child", 5)),
+                equalTo(ReflectionUtils.reflectionHashCode(new Child(1L, "name", null, "child", 5))));
+        assertThat(ReflectionUtils.reflectionHashCode(new Child(1L, "name", null, "child", 5)),
+                not(equalTo(ReflectionUtils.reflectionHashCode(new Child(1L, "name", null, "child", 6)))));
+        assertThat(ReflectionUtils.reflectionHashCode(null), equalTo(0));
+    }
+
+    @Test
+    public void reflectionToString_ShouldPrintFieldsOfHierarchy() {
+        assertThat(ReflectionUtils.reflectionToString(new Child(1L, "name", null, "child", 5)),
+                equalTo("Child{chileName=child, age=5, id=1, name=name, date=null}"));
+        assertThat(ReflectionUtils.reflectionToString(null), equalTo("null"));
+    }
+
+    @Test
+    public void primitives_ShouldBeComparedAndPrintedByType() {
+        Primitives first = new Primitives('a', (byte) 1, 2.5f, Double.NaN, true, 7L);
+        Primitives second = new Primitives('a', (byte) 1, 2.5f, Double.NaN, true, 7L);
+
+        assertTrue(ReflectionUtils.reflectionEquals(first, second));
+        assertThat(ReflectionUtils.reflectionHashCode(first), equalTo(ReflectionUtils.reflectionHashCode(second)));
+        assertFalse(ReflectionUtils.reflectionEquals(first, new Primitives('b', (byte) 1, 2.5f, Double.NaN, true, 7L)));
+        assertFalse(ReflectionUtils.reflectionEquals(new Primitives('a', (byte) 1, 0.0f, 0.0, true, 7L),
+                new Primitives('a', (byte) 1, -0.0f, 0.0, true, 7L)));
+        assertThat(ReflectionUtils.reflectionToString(first),
+                equalTo("Primitives{c=a, b=1, f=2.5, d=NaN, flag=true, l=7, ints=[1, 2], names=[x, null]}"));
+    }
+
+    @Test
+    public void arrays_ShouldBeComparedByElements() {
+        Primitives first = new Primitives('a', (byte) 1, 2.5f, 1.0, true, 7L);
+        Primitives second = new Primitives('a', (byte) 1, 2.5f, 1.0, true, 7L);
+        second.ints[1] = 3;
+
+        assertFalse(ReflectionUtils.reflectionEquals(first, second));
+        second.ints[1] = 2;
+        assertTrue(ReflectionUtils.reflectionEquals(first, second));
+    }
+
+    @Test
+    public void transientAndStatic_ShouldBeExcludedByDefault() {
+        Marked first = new Marked(1, "cache1");
+        Marked second = new Marked(1, "cache2");
+
+        assertTrue(ReflectionUtils.reflectionEquals(first, second));
+        assertFalse(ReflectionUtils.reflectionEquals(first, second, INCLUDE_TRANSIENT));
+        assertThat(ReflectionUtils.reflectionToString(first), equalTo("Marked{value=1}"));
+        assertThat(ReflectionUtils.reflectionToString(first, INCLUDE_TRANSIENT, INCLUDE_STATIC),
+                equalTo("Marked{KIND=marked, value=1, cache=cache1}"));
+    }
+
+    @Test
+    public void deep_ShouldCompareValuesWithoutEqualsByFields() {
+        Holder first = new Holder(new Marked(1, "a"));
+        Holder second = new Holder(new Marked(1, "b"));
+
+        assertFalse(ReflectionUtils.reflectionEquals(first, second));
+        assertTrue(ReflectionUtils.reflectionEquals(first, second, DEEP));
+        assertThat(ReflectionUtils.reflectionHashCode(first, DEEP), equalTo(ReflectionUtils.reflectionHashCode(second, DEEP)));
+        assertThat(ReflectionUtils.reflectionToString(first, DEEP), equalTo("Holder{value=Marked{value=1}}"));
+    }
+
+    @Test
+    public void detectCycles_ShouldEndOnCycles() {
+        Node first = cycle("a", "b");
+        Node second = cycle("a", "b");
+
+        assertTrue(ReflectionUtils.reflectionEquals(first, second, DEEP, DETECT_CYCLES));
+        assertFalse(ReflectionUtils.reflectionEquals(first, cycle("a", "c"), DEEP, DETECT_CYCLES));
+        assertThat(ReflectionUtils.reflectionHashCode(first, DEEP, DETECT_CYCLES),
+                equalTo(ReflectionUtils.reflectionHashCode(second, DEEP, DETECT_CYCLES)));
+        assertTrue(ReflectionUtils.reflectionToString(first, DEEP, DETECT_CYCLES)
+                .startsWith("Node{name=a, next=Node{name=b, next=utils.ObjectMethodsTest$Node@"));
+    }
+
+    @Test
+    public void detectCycles_ShouldEndOnCyclesThroughOwnMethods() {
+        SelfEquals first = new SelfEquals();
+        first.self = first;
+        SelfEquals second = new SelfEquals();
+        second.self = second;
+
+        assertTrue(first.equals(second));
+        assertThat(first.hashCode(), equalTo(second.hashCode()));
+    }
+
+    @Test
+    public void enumAndJdkValues_ShouldUseTheirOwnMethods() {
+        assertThat(ReflectionUtils.reflectionToString(Color.RED), equalTo("RED"));
+        assertTrue(ReflectionUtils.reflectionEquals(Color.RED, Color.RED));
+        assertFalse(ReflectionUtils.reflectionEquals(Color.RED, Color.GREEN));
+        assertThat(ReflectionUtils.reflectionHashCode(Color.RED), equalTo(Color.RED.hashCode()));
+        assertFalse(ReflectionUtils.reflectionEquals("a", "b"));
+        assertThat(ReflectionUtils.reflectionToString(Arrays.asList(1, 2)), equalTo("[1, 2]"));
+    }
+
+    @Test
+    public void subclassOfJdkClass_ShouldSkipFieldsOfJdkClasses() {
+        assertTrue(ReflectionUtils.reflectionEquals(new Failure("first", 1), new Failure("second", 1)));
+        assertFalse(ReflectionUtils.reflectionEquals(new Failure("first", 1), new Failure("first", 2)));
+        assertThat(ReflectionUtils.reflectionToString(new Failure("first", 1)), equalTo("Failure{code=1}"));
+
+        assertTrue(ReflectionUtils.reflectionEquals(new Tags("owner", "a"), new Tags("owner", "b"), DEEP));
+        assertFalse(ReflectionUtils.reflectionEquals(new Tags("owner", "a"), new Tags("other", "a")));
+        assertThat(ReflectionUtils.reflectionHashCode(new Tags("owner", "a")), equalTo(ReflectionUtils.reflectionHashCode(new Tags("owner"))));
+        assertThat(ReflectionUtils.reflectionToString(new Tags("owner", "a")), equalTo("Tags{owner=owner}"));
+    }
+
+    private static Node cycle(String firstName, String secondName) {
+        Node first = new Node(firstName);
+        Node second = new Node(secondName);
+        first.next = second;
+        second.next = first;
+        return first;
+    }
+
+    static class Primitives {
+        char c;
+        byte b;
+        float f;
+        double d;
+        boolean flag;
+        long l;
+        int[] ints = {1, 2};
+        String[] names = {"x", null};
+
+        Primitives(char c, byte b, float f, double d, boolean flag, long l) {
+            this.c = c;
+            this.b = b;
+            this.f = f;
+            this.d = d;
+            this.flag = flag;
+            this.l = l;
+        }
+    }
+
+    static class Marked {
+        static String KIND = "marked";
+
+        int value;
+        transient String cache;
+
+        Marked(int value, String cache) {
+            this.value = value;
+            this.cache = cache;
+        }
+    }
+
+    static class Holder {
+        Marked value;
+
+        Holder(Marked value) {
+            this.value = value;
+        }
+    }
+
+    static class Node {
+        String name;
+        Node next;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    static class SelfEquals {
+        SelfEquals self;
+
+        @Override
+        public boolean equals(Object o) {
+            return ReflectionUtils.reflectionEquals(this, o, DETECT_CYCLES);
+        }
+
+        @Override
+        public int hashCode() {
+            return ReflectionUtils.reflectionHashCode(this, DETECT_CYCLES);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.Order;
+
+import java.lang.ref.WeakReference;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PropertyPathTest {
+
+    @Test
+    public void get_WhenNestedFields() {
+        Order order = order("12345");
+
+        assertThat(PropertyPath.compile("customer.address.zip").get(order), equalTo((Object) "12345"));
+        assertThat(ReflectionUtils.getFieldContent(order, "customer.address.zip"), equalTo((Object) "12345"));
+    }
+
+    @Test
+    public void get_WhenIntermediateIsNull_ShouldReturnNull() {
+        assertThat(PropertyPath.compile("customer.address.zip").get(new Order()), nullValue());
+    }
+
+    @Test
+    public void get_WhenListArrayAndMap() {
+        Order order = new Order();
+        order.setLines(Arrays.asList(new Order.Line(1.5), new Order.Line(2.5)));
+        order.setExtraLines(new Order.Line[] {new Order.Line(3.5)});
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("color", "red");
+        attributes.put("a.b", "dotted");
+        order.setAttributes(attributes);
+
+        assertThat(ReflectionUtils.getFieldContent(order, "lines[1].price"), equalTo((Object) 2.5));
+        assertThat(ReflectionUtils.getFieldContent(order, "extraLines[0].price"), equalTo((Object) 3.5));
+        assertThat(ReflectionUtils.getFieldContent(order, "attributes.color"), equalTo((Object) "red"));
+        assertThat(ReflectionUtils.getFieldContent(order, "attributes[color]"), equalTo((Object) "red"));
+        assertThat(ReflectionUtils.getFieldContent(order, "attributes['a.b']"), equalTo((Object) "dotted"));
+    }
+
+    @Test
+    public void get_WhenDifferentClassesAtHop() {
+        PropertyPath path = PropertyPath.compile("lines[0].price");
+        Order order = new Order();
+        order.setLines(Arrays.asList(new Order.Line(1.5)));
+        Map<String, Object> line = new HashMap<>();
+        line.put("price", 9.0);
+        Map<String, Object> map = new HashMap<>();
+        map.put("lines", Arrays.asList(line));
+
+        assertThat(path.get(order), equalTo((Object) 1.5));
+        assertThat(path.get(map), equalTo((Object) 9.0));
+        assertThat(path.get(order), equalTo((Object) 1.5));
+    }
+
+    @Test
+    public void set_WhenIntermediatesExist() {
+        Order order = order("12345");
+        order.setLines(new ArrayList<>(Arrays.asList(new Order.Line(1.5))));
+
+        ReflectionUtils.setFieldContent(order, "customer.address.zip", "54321");
+        ReflectionUtils.setFieldContent(order, "lines[0].price", 7.0);
+
+        assertThat(order.getCustomer().getAddress().getZip(), equalTo("54321"));
+        assertThat(order.getLines().get(0).getPrice(), equalTo(7.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_WhenIntermediateIsNull() {
+        PropertyPath.compile("customer.address.zip").set(new Order(), "12345");
+    }
+
+    @Test
+    public void set_WhenCreateMissing() {
+        Order order = new Order();
+
+        PropertyPath.compile("customer.address.zip").set(order, "12345", true);
+        PropertyPath.compile("lines[2].price").set(order, 4.5, true);
+        PropertyPath.compile("attributes['color']").set(order, "red", true);
+        PropertyPath.compile("contacts[main].name").set(order, "name", true);
+
+        assertThat(order.getCustomer().getAddress().getZip(), equalTo("12345"));
+        assertThat(order.getLines().size(), equalTo(3));
+        assertThat(order.getLines().get(0), nullValue());
+        assertThat(order.getLines().get(2).getPrice(), equalTo(4.5));
+        assertThat(order.getAttributes().get("color"), equalTo("red"));
+        assertThat(order.getContacts().get("main").getName(), equalTo("name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void get_WhenIndexOutOfBounds() {
+        Order order = new Order();
+        order.setLines(Arrays.asList(new Order.Line(1.5)));
+
+        PropertyPath.compile("lines[1]").get(order);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void get_WhenNotExistField() {
+        PropertyPath.compile("customer.notExistField").get(order("12345"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compile_WhenMalformed() {
+        PropertyPath.compile("customer..zip");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compile_WhenUnclosedBracket() {
+        PropertyPath.compile("lines[0");
+    }
+
+    @Test
+    public void propertyPath_ShouldReturnCachedInstance() {
+        assertThat(ReflectionUtils.propertyPath("customer.name"), sameInstance(ReflectionUtils.propertyPath("customer.name")));
+        assertThat(ReflectionUtils.propertyPath("customer.name").toString(), equalTo("customer.name"));
+    }
+
+    @Test
+    public void cachedPaths_ShouldNotPinClassLoaderOfUsedClasses() throws Exception {
+        ChildLoaders.assertCollected(usePathsOfThrowawayLoader());
+    }
+
+    private WeakReference<ClassLoader> usePathsOfThrowawayLoader() throws Exception {
+        URLClassLoader loader = ChildLoaders.newLoader();
+        Class<?> pluginClass = ChildLoaders.pluginClass(loader);
+        Object plugin = ReflectionUtils.newInstance(pluginClass, "first");
+        ReflectionUtils.setFieldContent(plugin, "next", ReflectionUtils.newInstance(pluginClass, "second"));
+        Map<String, Object> root = Collections.singletonMap("plugin", plugin);
+
+        assertThat(ReflectionUtils.getFieldContent(root, "plugin.next.name"), equalTo((Object) "second"));
+        assertThat(ReflectionUtils.propertyPath("next.name").get(plugin), equalTo((Object) "second"));
+        ReflectionUtils.setFieldContent(plugin, "next.name", "changed");
+        assertThat(ReflectionUtils.getFieldContent(plugin, "next.name"), equalTo((Object) "changed"));
+        loader.close();
+        return new WeakReference<>(loader);
+    }
+
+    private static Order order(String zip) {
+        Order.Address address = new Order.Address();
+        address.setZip(zip);
+        Order.Customer customer = new Order.Customer();
+        customer.setAddress(address);
+        Order order = new Order();
+        order.setCustomer(customer);
+        return order;
+    }
+}
@@ -0,0 +1,121 @@
+package utils;
+
+import org.junit.Test;
+import utils.data.ReflectiveEntity;
+
+import javax.lang.model.element.TypeElement;
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ReflectiveProcessorTest {
+
+    private final ClassAccessor accessor = ReflectionUtils.classAccessor(ReflectiveEntity.class);
+
+    @Test
+    public void classAccessor_WhenAnnotated_ShouldReturnPrecompiled() {
+        assertThat(accessor.getClass().getName(), equalTo("utils.data.ReflectiveEntity$$Reflective"));
+        assertThat(accessor.getType(), equalTo((Object) ReflectiveEntity.class));
+        assertThat(ClassMetadata.of(ReflectiveEntity.class).precompiledAccessor(), sameInstance(accessor));
+    }
+
+    @Test
+    public void precompiledAccessor_WhenNotAnnotated_ShouldReturnNull() {
+        assertThat(ClassMetadata.of(ReflectiveProcessorTest.class).precompiledAccessor(), nullValue());
+    }
+
+    @Test
+    public void process_WhenNoAnnotations_ShouldReturnWithoutSetup() {
+        // not initialized: any access to the processing environment would throw
+        assertThat(new ReflectiveProcessor().process(Collections.<TypeElement>emptySet(), null), equalTo(false));
+    }
+
+    @Test
+    public void get_WhenOwnInheritedAndPrivateFields() {
+        Date date = new Date();
+        ReflectiveEntity entity = new ReflectiveEntity(1L, "name", date, "secret");
+        entity.count = 3;
+
+        assertThat(accessor.get(entity, accessor.fieldIndex("count")), equalTo((Object) 3));
+        assertThat(accessor.get(entity, accessor.fieldIndex("id")), equalTo((Object) 1L));
+        assertThat(accessor.get(entity, accessor.fieldIndex("date")), equalTo((Object) date));
+        assertThat(accessor.get(entity, accessor.fieldIndex("secret")), equalTo((Object) "secret"));
+        assertThat(accessor.get(entity, accessor.fieldIndex("code")), equalTo((Object) "code"));
+        assertThat(accessor.get(null, accessor.fieldIndex("TYPE")), equalTo((Object) "entity"));
+    }
+
+    @Test
+    public void set_WhenOwnInheritedAndPrivateFields() {
+        ReflectiveEntity entity = new ReflectiveEntity();
+
+        accessor.set(entity, accessor.fieldIndex("count"), 5);
+        accessor.set(entity, accessor.fieldIndex("name"), "name");
+        accessor.set(entity, accessor.fieldIndex("secret"), "secret");
+        accessor.set(entity, accessor.fieldIndex("tags"), Arrays.asList("a", "b"));
+
+        assertThat(entity.count, equalTo(5));
+        assertThat(entity.getName(), equalTo("name"));
+        assertThat(entity.getSecret(), equalTo("secret"));
+        assertThat(accessor.get(entity, accessor.fieldIndex("tags")), equalTo((Object) Arrays.asList("a", "b")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_WhenWrongValueType() {
+        accessor.set(new ReflectiveEntity(), accessor.fieldIndex("count"), "5");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_WhenStaticFinalField() {
+        accessor.set(null, accessor.fieldIndex("TYPE"), "other");
+    }
+
+    @Test
+    public void invoke_WhenPrimitiveAndWrapperOverloads() {
+        ReflectiveEntity entity = new ReflectiveEntity();
+
+        assertThat(accessor.invoke(entity, accessor.methodIndex("describe", int.class), 1), equalTo((Object) "int"));
+        assertThat(accessor.invoke(entity, accessor.methodIndex("describe", Integer.class), 1), equalTo((Object) "Integer"));
+        assertThat(accessor.invoke(entity, accessor.methodIndex("describe", String.class, long[].class), "s", new long[0]),
+                equalTo((Object) "varargs"));
+    }
+
+    @Test
+    public void invoke_WhenPrivateAndGenericMethods() {
+        ReflectiveEntity entity = new ReflectiveEntity(1L, "name", new Date(), "secret");
+
+        assertThat(accessor.invoke(entity, accessor.methodIndex("hidden")), equalTo((Object) "secret"));
+        assertThat(accessor.invoke(entity, accessor.methodIndex("first", java.util.List.class), Arrays.asList("a")),
+                equalTo((Object) "a"));
+    }
+
+    @Test
+    public void invoke_WhenCheckedException() {
+        try {
+            accessor.invoke(new ReflectiveEntity(), accessor.methodIndex("fail"));
+            fail();
+        } catch (UndeclaredThrowableException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+    }
+
+    @Test
+    public void reflectionUtils_WhenAnnotated_ShouldUsePrecompiled() {
+        ReflectiveEntity entity = new ReflectiveEntity();
+
+        ReflectionUtils.setFieldContent(entity, "amount", 7L);
+        ReflectionUtils.setFieldContent(entity, "secret", "secret");
+
+        assertThat(ReflectionUtils.getFieldContent(entity, "amount"), equalTo((Object) 7L));
+        assertThat(ReflectionUtils.getMapFieldNameAndValue(entity).get("secret"), equalTo((Object) "secret"));
+        assertThat(ReflectionUtils.snapshot(entity).get("code"), equalTo((Object) "code"));
+    }
+}
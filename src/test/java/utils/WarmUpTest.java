@@ -0,0 +1,96 @@
+package utils;
+
+import org.junit.Test;
+import org.junit.runner.notification.RunListener;
+import utils.data.Base;
+import utils.data.Child;
+import utils.data.Color;
+import utils.data.Failure;
+import utils.data.Order;
+import utils.data.Tags;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class WarmUpTest {
+
+    @Test
+    public void warmUp_ShouldCacheMetadataAndReportClasses() {
+        WarmUpReport report = ReflectionUtils.warmUp(Arrays.asList(Child.class, Order.class, Runnable.class));
+
+        assertTrue(ClassMetadata.isCached(Child.class));
+        assertTrue(ClassMetadata.isCached(Order.class));
+        assertThat(report.getClassCount(), equalTo(3));
+        assertThat(report.getFailures().size(), equalTo(0));
+
+        WarmUpReport.ClassTiming child = timing(report, Child.class);
+        assertThat(child.getFields(), equalTo(5));
+        assertThat(child.getConstructors(), equalTo(3));
+        assertTrue(child.getMethods() > 0);
+        assertThat(timing(report, Runnable.class).getConstructors(), equalTo(0));
+        assertThat(report.toString(), not(equalTo("")));
+    }
+
+    @Test
+    public void warmUp_WhenJdkParents_ShouldSkipTheirMembers() {
+        WarmUpReport report = ReflectionUtils.warmUp(Arrays.asList(Color.class, Failure.class, Tags.class));
+
+        assertThat(report.getFailures().size(), equalTo(0));
+        assertThat(timing(report, Color.class).getFields(), equalTo(3));
+        assertThat(timing(report, Failure.class).getFields(), equalTo(1));
+        assertThat(timing(report, Tags.class).getFields(), equalTo(1));
+    }
+
+    @Test
+    public void warmUp_OnOwnPool() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            WarmUpReport report = ReflectionUtils.warmUp(Arrays.asList(Base.class, Child.class), pool);
+
+            assertThat(report.getClassCount(), equalTo(2));
+            assertTrue(report.getWallNanos() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void warmUpPackage_ShouldFindClassesOfDirectory() {
+        WarmUpReport report = ReflectionUtils.warmUpPackage("utils.data");
+
+        assertThat(classNames(report), hasItems(Base.class.getName(), Child.class.getName(), Order.Line.class.getName(),
+                Color.class.getName(), Failure.class.getName()));
+        assertThat(report.getFailures().size(), equalTo(0));
+    }
+
+    @Test
+    public void scan_ShouldFindClassesOfJar() {
+        List<Class<?>> classes = ClassScanner.scan("org.junit.runner.notification", getClass().getClassLoader());
+
+        assertThat(classes, hasItems(RunListener.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void warmUp_WhenNull_ShouldThrowException() {
+        ReflectionUtils.warmUp(null);
+    }
+
+    private static WarmUpReport.ClassTiming timing(WarmUpReport report, Class<?> type) {
+        return report.getTimings().stream()
+                .filter(timing -> timing.getClassName().equals(type.getName()))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+
+    private static List<String> classNames(WarmUpReport report) {
+        return report.getTimings().stream().map(WarmUpReport.ClassTiming::getClassName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,29 @@
+package utils.data;
+
+public class ChildDto {
+    private long id;
+    private String name;
+    private String chileName;
+    private long age;
+    private String extra = "extra";
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getChileName() {
+        return chileName;
+    }
+
+    public long getAge() {
+        return age;
+    }
+
+    public String getExtra() {
+        return extra;
+    }
+}
@@ -0,0 +1,15 @@
+package utils.data;
+
+public enum Color {
+    RED("#f00"), GREEN("#0f0");
+
+    private final String hex;
+
+    Color(String hex) {
+        this.hex = hex;
+    }
+
+    public String getHex() {
+        return hex;
+    }
+}
@@ -0,0 +1,19 @@
+package utils.data;
+
+/**
+ * Exception with own fields, its parents are JDK classes
+ */
+public class Failure extends RuntimeException {
+    private int code;
+
+    public Failure() { }
+
+    public Failure(String message, int code) {
+        super(message);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+}
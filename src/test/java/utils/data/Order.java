@@ -0,0 +1,95 @@
+package utils.data;
+
+import java.util.List;
+import java.util.Map;
+
+public class Order {
+    private Customer customer;
+    private List<Line> lines;
+    private Line[] extraLines;
+    private Map<String, String> attributes;
+    private Map<String, Customer> contacts;
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public Line[] getExtraLines() {
+        return extraLines;
+    }
+
+    public void setExtraLines(Line[] extraLines) {
+        this.extraLines = extraLines;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+
+    public Map<String, Customer> getContacts() {
+        return contacts;
+    }
+
+    public static class Customer {
+        private String name;
+        private Address address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+        private String zip;
+
+        public String getZip() {
+            return zip;
+        }
+
+        public void setZip(String zip) {
+            this.zip = zip;
+        }
+    }
+
+    public static class Line {
+        private double price;
+
+        public Line() { }
+
+        public Line(double price) {
+            this.price = price;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+    }
+}
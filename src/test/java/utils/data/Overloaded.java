@@ -0,0 +1,45 @@
+package utils.data;
+
+public class Overloaded extends Base {
+
+    public String describe(Object value) {
+        return "object";
+    }
+
+    public String describe(String value) {
+        return "string";
+    }
+
+    public String describe(Integer value) {
+        return "integer";
+    }
+
+    public String describe(long value) {
+        return "long";
+    }
+
+    public String describe(Object first, Object second) {
+        return "pair";
+    }
+
+    public String number(Number value) {
+        return "number";
+    }
+
+    public String number(double value) {
+        return "double";
+    }
+
+    public String ambiguous(String first, Object second) {
+        return "first";
+    }
+
+    public String ambiguous(Object first, String second) {
+        return "second";
+    }
+
+    @Override
+    public String getName() {
+        return "overloaded";
+    }
+}
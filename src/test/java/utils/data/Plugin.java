@@ -0,0 +1,34 @@
+package utils.data;
+
+/**
+ * Depends on JDK classes only, so {@link utils.ChildLoaders} can load it in an isolated class loader
+ */
+public class Plugin {
+    private String name = "plugin";
+    private Kind kind = Kind.A;
+    private Plugin next;
+
+    public enum Kind { A, B }
+
+    public Plugin() { }
+
+    public Plugin(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Plugin getNext() {
+        return next;
+    }
+}
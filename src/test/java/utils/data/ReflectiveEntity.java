@@ -0,0 +1,60 @@
+package utils.data;
+
+import utils.Reflective;
+
+import java.util.Date;
+import java.util.List;
+
+@Reflective
+public class ReflectiveEntity extends Base {
+    public static final String TYPE = "entity";
+    static int created;
+
+    public int count;
+    long amount;
+    protected List<String> tags;
+    private String secret;
+    final String code;
+
+    public ReflectiveEntity() {
+        this.code = "code";
+    }
+
+    public ReflectiveEntity(Long id, String name, Date date, String secret) {
+        super(id, name, date);
+        this.secret = secret;
+        this.code = "code";
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public String describe(int value) {
+        return "int";
+    }
+
+    public String describe(Integer value) {
+        return "Integer";
+    }
+
+    String describe(String value, long... values) {
+        return "varargs";
+    }
+
+    public static int created() {
+        return created;
+    }
+
+    public <T> T first(List<T> values) {
+        return values.get(0);
+    }
+
+    private String hidden() {
+        return secret;
+    }
+
+    public void fail() throws java.io.IOException {
+        throw new java.io.IOException("fail");
+    }
+}
@@ -0,0 +1,23 @@
+package utils.data;
+
+import java.util.ArrayList;
+
+/**
+ * List with own fields, its parents are JDK classes
+ */
+public class Tags extends ArrayList<String> {
+    private String owner;
+
+    public Tags() { }
+
+    public Tags(String owner, String... tags) {
+        this.owner = owner;
+        for (String tag : tags) {
+            add(tag);
+        }
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}